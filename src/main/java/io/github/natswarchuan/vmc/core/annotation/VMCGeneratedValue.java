@@ -0,0 +1,51 @@
+package io.github.natswarchuan.vmc.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Chỉ định cách sinh giá trị cho trường khóa chính, dùng cùng với {@link VMCPrimaryKey}.
+ *
+ * <p>Với các chiến lược khác {@link VMCGenerationType#IDENTITY}, khóa được gán cho thực thể ngay
+ * trước khi chèn, trong tiến trình ứng dụng, thay vì đọc lại từ cơ sở dữ liệu sau mỗi câu lệnh
+ * INSERT. Nhờ đó cả đồ thị đối tượng có khóa trước khi câu lệnh SQL nào được gửi, và các câu lệnh
+ * INSERT có thể được gửi theo lô. Thực thể đã có khóa chính (khác {@code null} và khác 0) khi lưu
+ * lần đầu vẫn được coi là đã tồn tại.
+ *
+ * <p><b>Ví dụ:</b>
+ *
+ * <pre>
+ * &#64;VMCPrimaryKey
+ * &#64;VMCGeneratedValue(strategy = VMCGenerationType.SNOWFLAKE)
+ * private Long id;
+ * </pre>
+ *
+ * @author NatswarChuan
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VMCGeneratedValue {
+  /**
+   * (Tùy chọn) Chiến lược sinh khóa.
+   *
+   * @return Chiến lược sinh khóa. Mặc định là {@link VMCGenerationType#IDENTITY}.
+   */
+  VMCGenerationType strategy() default VMCGenerationType.IDENTITY;
+
+  /**
+   * (Tùy chọn) Tên chuỗi trong bảng chuỗi, chỉ dùng với {@link VMCGenerationType#HILO}.
+   *
+   * @return Tên chuỗi. Mặc định (chuỗi rỗng) là tên bảng của thực thể.
+   */
+  String sequenceName() default "";
+
+  /**
+   * (Tùy chọn) Số giá trị được đặt trước trong mỗi lần truy cập bảng chuỗi, chỉ dùng với {@link
+   * VMCGenerationType#HILO}.
+   *
+   * @return Kích thước khối. Mặc định là 50.
+   */
+  int allocationSize() default 50;
+}
@@ -0,0 +1,34 @@
+package io.github.natswarchuan.vmc.core.annotation;
+
+/**
+ * Các chiến lược sinh khóa chính được hỗ trợ bởi {@link VMCGeneratedValue}.
+ *
+ * @author NatswarChuan
+ */
+public enum VMCGenerationType {
+  /**
+   * Khóa do cơ sở dữ liệu sinh ra (ví dụ {@code AUTO_INCREMENT}) và được đọc lại sau mỗi câu lệnh
+   * INSERT. Đây là hành vi mặc định khi không có {@link VMCGeneratedValue}.
+   */
+  IDENTITY,
+
+  /**
+   * Khóa kiểu số được cấp từ các khối dành riêng trong bảng chuỗi ({@code vmc.sequence-table}):
+   * mỗi lần hết khối, một khối {@link VMCGeneratedValue#allocationSize()} giá trị mới được đặt
+   * trước bằng một giao dịch riêng.
+   */
+  HILO,
+
+  /**
+   * Khóa {@code long} 64 bit dạng Snowflake (thời gian theo mili giây, mã máy {@code
+   * vmc.snowflake-worker-id}, số thứ tự), sinh ra trong tiến trình mà không cần khóa (lock-free).
+   */
+  SNOWFLAKE,
+
+  /**
+   * Khóa {@link java.util.UUID} phiên bản 7 (RFC 9562), có thứ tự theo thời gian nên chèn vào chỉ
+   * mục B-tree hiệu quả hơn UUID ngẫu nhiên. Trường khóa có thể là {@code UUID} hoặc {@code
+   * String}.
+   */
+  UUID_V7
+}
@@ -21,4 +21,17 @@ import java.lang.annotation.*;
  */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
-public @interface VMCManyToOne {}
+public @interface VMCManyToOne {
+  /**
+   * (Tùy chọn) Độ sâu tải khi proxy tải lười của mối quan hệ này được khởi tạo.
+   *
+   * <p>{@code 0} (mặc định): chỉ tải các cột của thực thể đích; các mối quan hệ của nó tiếp tục
+   * được tải lười. {@code 1} trở lên: tải kèm (eager) các mối quan hệ trực tiếp của thực thể đích,
+   * trừ quan hệ ngược trỏ về thực thể hiện tại; các quan hệ ở mức sâu hơn vẫn tuân theo cấu hình
+   * {@code fetchDepth} của chính chúng. Không ảnh hưởng khi quan hệ được chỉ định trong {@code
+   * with()}.
+   *
+   * @return Độ sâu tải.
+   */
+  int fetchDepth() default 0;
+}
@@ -13,10 +13,12 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.lang.NonNull;
 import org.springframework.util.StringUtils;
@@ -29,7 +31,12 @@ import org.springframework.util.StringUtils;
  * tự như cơ chế của Spring Data.
  */
 @Configuration
-@ComponentScan("io.github.natswarchuan.vmc.core")
+@ComponentScan(
+    value = "io.github.natswarchuan.vmc.core",
+    excludeFilters =
+        @ComponentScan.Filter(
+            type = FilterType.CUSTOM,
+            classes = AutoConfigurationExcludeFilter.class))
 @MapperScan("io.github.natswarchuan.vmc.core.persistence.mapper")
 @Slf4j
 public class VMCAutoConfiguration implements BeanDefinitionRegistryPostProcessor {
@@ -0,0 +1,144 @@
+package io.github.natswarchuan.vmc.core.config;
+
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Định nghĩa các hệ quản trị cơ sở dữ liệu (dialect) mà framework có thể tối ưu câu lệnh cho.
+ *
+ * <p>Dialect được cấu hình qua thuộc tính {@code vmc.dialect} (mặc định {@link #MYSQL}) và chỉ được
+ * dùng để chọn các cú pháp không có trong SQL chuẩn chung, ví dụ như hàm cửa sổ (window function)
+ * hoặc câu lệnh upsert.
+ *
+ * @author NatswarChuan
+ */
+public enum VMCDialect {
+  /**
+   * MySQL 8.0 trở lên. Upsert dùng bí danh hàng ({@code AS new}) nên cần MySQL 8.0.19 trở lên; với
+   * phiên bản cũ hơn hãy dùng {@link #MYSQL_5}.
+   */
+  MYSQL(true),
+
+  /** MySQL 5.x, không hỗ trợ hàm cửa sổ. */
+  MYSQL_5(false),
+
+  /** MariaDB 10.2 trở lên. */
+  MARIADB(true),
+
+  /** PostgreSQL. */
+  POSTGRESQL(true);
+
+  private final boolean supportsWindowFunctions;
+
+  VMCDialect(boolean supportsWindowFunctions) {
+    this.supportsWindowFunctions = supportsWindowFunctions;
+  }
+
+  /**
+   * Cho biết dialect có hỗ trợ hàm cửa sổ như {@code COUNT(*) OVER()} hay không.
+   *
+   * @return {@code true} nếu hỗ trợ.
+   */
+  public boolean supportsWindowFunctions() {
+    return supportsWindowFunctions;
+  }
+
+  /**
+   * Cho biết giá trị {@code NULL} được xếp trước hay sau các giá trị khác khi sắp xếp mà không chỉ
+   * định {@code NULLS FIRST/LAST}. MySQL/MariaDB coi {@code NULL} là nhỏ nhất, còn PostgreSQL coi
+   * {@code NULL} là lớn nhất.
+   *
+   * @param descending {@code true} nếu sắp xếp giảm dần.
+   * @return {@code true} nếu {@code NULL} đứng đầu theo hướng sắp xếp đã cho.
+   */
+  public boolean nullsSortFirst(boolean descending) {
+    return this == POSTGRESQL ? descending : !descending;
+  }
+
+  /**
+   * Tạo mệnh đề nối vào sau một câu lệnh {@code INSERT} để biến nó thành một câu lệnh upsert: khi
+   * bản ghi với cùng khóa đã tồn tại, các cột được chỉ định sẽ được cập nhật bằng giá trị vừa chèn.
+   *
+   * <ul>
+   *   <li>MySQL 8.0.19+: {@code AS new ON DUPLICATE KEY UPDATE col = new.col, ...}
+   *   <li>MySQL 5.x/MariaDB: {@code ON DUPLICATE KEY UPDATE col = VALUES(col), ...}
+   *   <li>PostgreSQL: {@code ON CONFLICT (key) DO UPDATE SET col = EXCLUDED.col, ...}
+   * </ul>
+   *
+   * <p>Hàm {@code VALUES(col)} trong {@code ON DUPLICATE KEY UPDATE} đã bị đánh dấu lỗi thời từ
+   * MySQL 8.0.20, nên dialect {@link #MYSQL} dùng bí danh hàng; MariaDB không hỗ trợ bí danh hàng
+   * và vẫn dùng {@code VALUES(col)}.
+   *
+   * <p>Khi câu lệnh không chứa giá trị khóa chính ({@code keyGenerated}), hai họ dialect xử lý khác
+   * nhau: {@code ON DUPLICATE KEY UPDATE} của MySQL/MariaDB được kích hoạt bởi bất kỳ ràng buộc
+   * duy nhất nào của bảng, còn {@code ON CONFLICT (key)} của PostgreSQL không bao giờ xảy ra vì
+   * khóa chính luôn được sinh mới, nên câu lệnh luôn chèn một bản ghi mới. Để cùng một lời gọi
+   * upsert không cho kết quả khác nhau tùy dialect, trường hợp này bị từ chối với {@link
+   * #POSTGRESQL}.
+   *
+   * @param keyColumn Cột khóa chính dùng để phát hiện xung đột.
+   * @param updateColumns Các cột được cập nhật khi xung đột (không bao gồm cột khóa).
+   * @param keyGenerated {@code true} nếu câu lệnh không chứa giá trị khóa chính (khóa do cơ sở dữ
+   *     liệu sinh ra); trên MySQL/MariaDB, khóa của bản ghi đã tồn tại khi đó vẫn được trả về như
+   *     một khóa sinh ra.
+   * @return Mệnh đề upsert, nối ngay sau danh sách {@code VALUES (...)}, bắt đầu bằng một khoảng
+   *     trắng.
+   * @throws VMCException nếu {@code keyGenerated} là {@code true} với {@link #POSTGRESQL}.
+   */
+  public String upsertClause(String keyColumn, List<String> updateColumns, boolean keyGenerated) {
+    List<String> assignments = new ArrayList<>();
+    if (this == POSTGRESQL) {
+      if (keyGenerated) {
+        throw new VMCException(
+            HttpStatus.BAD_REQUEST,
+            "Upsert on PostgreSQL requires a primary key value: ON CONFLICT ("
+                + keyColumn
+                + ") can never match a row whose key is generated by the database.");
+      }
+      for (String column : updateColumns) {
+        assignments.add(column + " = EXCLUDED." + column);
+      }
+      if (assignments.isEmpty()) {
+        return " ON CONFLICT (" + keyColumn + ") DO NOTHING";
+      }
+      return " ON CONFLICT (" + keyColumn + ") DO UPDATE SET " + String.join(", ", assignments);
+    }
+    if (keyGenerated) {
+      assignments.add(keyColumn + " = LAST_INSERT_ID(" + keyColumn + ")");
+    }
+    for (String column : updateColumns) {
+      assignments.add(
+          column + (this == MYSQL ? " = new." + column : " = VALUES(" + column + ")"));
+    }
+    if (assignments.isEmpty()) {
+      // Câu lệnh không làm thay đổi bản ghi đã tồn tại nhưng vẫn bỏ qua lỗi trùng khóa
+      assignments.add(keyColumn + " = " + keyColumn);
+    }
+    String rowAlias = this == MYSQL && !updateColumns.isEmpty() ? " AS new" : "";
+    return rowAlias + " ON DUPLICATE KEY UPDATE " + String.join(", ", assignments);
+  }
+
+  /**
+   * Tạo mệnh đề nối vào sau một câu lệnh {@code INSERT} để bỏ qua các bản ghi trùng khóa thay vì
+   * báo lỗi.
+   *
+   * <ul>
+   *   <li>MySQL/MariaDB: {@code ON DUPLICATE KEY UPDATE col = col}
+   *   <li>PostgreSQL: {@code ON CONFLICT DO NOTHING}
+   * </ul>
+   *
+   * <p>Trên MySQL/MariaDB, mệnh đề này được dùng thay cho {@code INSERT IGNORE}, vốn cũng bỏ qua
+   * các lỗi khác như vi phạm khóa ngoại hoặc dữ liệu bị cắt.
+   *
+   * @param column Một cột của bảng, được gán lại chính nó khi trùng khóa trên MySQL/MariaDB.
+   * @return Mệnh đề bỏ qua trùng khóa, bắt đầu bằng một khoảng trắng.
+   */
+  public String ignoreDuplicatesClause(String column) {
+    if (this == POSTGRESQL) {
+      return " ON CONFLICT DO NOTHING";
+    }
+    return " ON DUPLICATE KEY UPDATE " + column + " = " + column;
+  }
+}
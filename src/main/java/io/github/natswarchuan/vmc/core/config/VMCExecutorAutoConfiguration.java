@@ -0,0 +1,58 @@
+package io.github.natswarchuan.vmc.core.config;
+
+import io.github.natswarchuan.vmc.core.persistence.executor.JdbcQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.executor.MyBatisQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import javax.sql.DataSource;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Cấu hình tự động đăng ký backend thực thi SQL ({@link VMCQueryExecutor}) có sẵn của framework.
+ *
+ * <p>Lớp này được nạp qua {@code AutoConfiguration.imports} chứ không qua {@code @ComponentScan},
+ * nên các điều kiện {@code @ConditionalOnMissingBean} chỉ được đánh giá sau khi mọi bean của ứng
+ * dụng đã được đăng ký. Nhờ vậy, một bean {@link VMCQueryExecutor} do ứng dụng tự khai báo sẽ thay
+ * thế hoàn toàn backend có sẵn.
+ *
+ * @author NatswarChuan
+ */
+@AutoConfiguration(after = VMCAutoConfiguration.class)
+public class VMCExecutorAutoConfiguration {
+
+  /**
+   * Đăng ký backend MyBatis, là backend mặc định khi không cấu hình {@code vmc.executor}.
+   *
+   * @param mapper Mapper MyBatis chung dùng để thực thi SQL động.
+   * @param sqlSessionFactory Factory của MyBatis.
+   * @return Backend MyBatis.
+   */
+  @Bean
+  @ConditionalOnMissingBean(VMCQueryExecutor.class)
+  @ConditionalOnProperty(
+      prefix = "vmc",
+      name = "executor",
+      havingValue = "mybatis",
+      matchIfMissing = true)
+  public MyBatisQueryExecutor myBatisQueryExecutor(
+      GenericQueryExecutorMapper mapper, SqlSessionFactory sqlSessionFactory) {
+    return new MyBatisQueryExecutor(mapper, sqlSessionFactory);
+  }
+
+  /**
+   * Đăng ký backend JDBC thuần, kích hoạt bằng thuộc tính {@code vmc.executor=jdbc}.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   * @return Backend JDBC.
+   */
+  @Bean
+  @ConditionalOnMissingBean(VMCQueryExecutor.class)
+  @ConditionalOnProperty(prefix = "vmc", name = "executor", havingValue = "jdbc")
+  public JdbcQueryExecutor jdbcQueryExecutor(DataSource dataSource) {
+    return new JdbcQueryExecutor(dataSource);
+  }
+}
@@ -0,0 +1,140 @@
+package io.github.natswarchuan.vmc.core.config;
+
+import io.github.natswarchuan.vmc.core.query.enums.VMCFetchStrategy;
+import io.github.natswarchuan.vmc.core.query.enums.VMCPaginationMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Các thuộc tính cấu hình của framework VMC, được đọc từ tiền tố {@code vmc.*}.
+ *
+ * <p><b>Ví dụ cấu hình:</b>
+ *
+ * <pre>
+ * vmc.executor=jdbc
+ * vmc.batch-size=500
+ * vmc.fetch-size=-2147483648
+ * vmc.dialect=postgresql
+ * vmc.pagination-mode=single-round-trip
+ * vmc.fetch-strategy=split
+ * vmc.lazy-batch-size=100
+ * vmc.in-list-padding=true
+ * vmc.in-list-chunk-size=1000
+ * vmc.write-behind=true
+ * vmc.sequence-table=vmc_sequences
+ * vmc.snowflake-worker-id=1
+ * vmc.set-based-join-table-sync=true
+ * </pre>
+ *
+ * @author NatswarChuan
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "vmc")
+public class VMCProperties {
+
+  /**
+   * Kích thước lô (batch) mặc định cho {@code saveAll}/{@code saveAllDtos}.
+   *
+   * <p>Giá trị nhỏ hơn hoặc bằng 1 sẽ tắt chế độ ghi theo lô và lưu từng thực thể như trước. Có thể
+   * ghi đè cho từng lời gọi thông qua {@code SaveOptions.batchSize(int)}.
+   */
+  private int batchSize = 0;
+
+  /**
+   * Kích thước fetch mặc định cho các truy vấn dạng con trỏ ({@code cursor()}, {@code stream()},
+   * {@code forEach()}).
+   *
+   * <p>Giá trị {@code 0} dùng mặc định của driver. Với MySQL Connector/J, đặt {@code
+   * -2147483648} ({@link Integer#MIN_VALUE}) để driver trả về từng hàng thay vì nạp toàn bộ kết
+   * quả, hoặc một giá trị dương kết hợp với {@code useCursorFetch=true}. Có thể ghi đè cho từng
+   * truy vấn thông qua {@code VMCQueryBuilder.fetchSize(int)}.
+   */
+  private int fetchSize = 0;
+
+  /** Hệ quản trị cơ sở dữ liệu đang sử dụng, dùng để chọn các cú pháp SQL đặc thù. */
+  private VMCDialect dialect = VMCDialect.MYSQL;
+
+  /**
+   * Chế độ phân trang mặc định của {@code paginate}; có thể ghi đè cho từng truy vấn thông qua
+   * {@code VMCQueryBuilder.paginationMode(VMCPaginationMode)}.
+   */
+  private VMCPaginationMode paginationMode = VMCPaginationMode.SEPARATE_COUNT;
+
+  /**
+   * Chiến lược tải mặc định cho các quan hệ collection trong {@code with()}; có thể ghi đè cho từng
+   * truy vấn hoặc từng quan hệ trên {@code VMCQueryBuilder}.
+   */
+  private VMCFetchStrategy fetchStrategy = VMCFetchStrategy.JOIN;
+
+  /**
+   * Số thực thể tối đa được khởi tạo cùng lúc khi một collection tải lười hoặc một proxy ToOne tải
+   * lười được truy cập.
+   *
+   * <p>Các collection và proxy tải lười của những thực thể trả về từ cùng một truy vấn dùng chung
+   * một ngữ cảnh: lần truy cập đầu tiên tải mối quan hệ cho tối đa ngần này thực thể bằng một truy
+   * vấn {@code IN}. Giá trị nhỏ hơn hoặc bằng 1 sẽ tải riêng cho từng thực thể như trước.
+   */
+  private int lazyBatchSize = 100;
+
+  /**
+   * Bật việc làm đầy (padding) các danh sách {@code IN} tới kích thước là lũy thừa của 2 bằng cách
+   * lặp lại giá trị cuối cùng.
+   *
+   * <p>Mỗi kích thước danh sách khác nhau tạo ra một chuỗi SQL khác nhau; khi bật, số dạng câu
+   * lệnh chỉ tăng theo logarit của kích thước danh sách, giúp cache prepared statement của driver
+   * và cache SQL của framework hoạt động hiệu quả với các truy vấn {@code whereIn}, tải lười theo
+   * lô và truy vấn đệ quy.
+   */
+  private boolean inListPadding = false;
+
+  /**
+   * Số giá trị tối đa trong một danh sách {@code IN} do framework tự tạo từ một tập ID có kích
+   * thước tùy ý (truy vấn đệ quy, tải quan hệ theo lô, đồng bộ quan hệ).
+   *
+   * <p>Tập ID lớn hơn được chia thành nhiều câu lệnh, mỗi câu lệnh tối đa ngần này giá trị, và kết
+   * quả được gộp lại. Giá trị nhỏ hơn hoặc bằng 0 sẽ không chia. Không áp dụng cho {@code
+   * whereIn()} do người dùng gọi trực tiếp.
+   */
+  private int inListChunkSize = 1000;
+
+  /**
+   * Bật chế độ ghi trễ (write-behind) trong các giao dịch.
+   *
+   * <p>Khi bật, các câu lệnh INSERT/UPDATE/DELETE sinh ra bởi {@code save}/{@code remove} bên
+   * trong một giao dịch được xếp hàng và gửi theo lô, theo thứ tự phụ thuộc giữa các bảng, khi
+   * giao dịch commit, trước câu lệnh kế tiếp hoặc khi gọi {@code VMCPersistenceManager.flush()}.
+   * Khóa chính tự tăng của thực thể mới chỉ có sau khi flush. Xem {@code VMCUnitOfWork}.
+   */
+  private boolean writeBehind = false;
+
+  /**
+   * Tên bảng chuỗi dùng bởi chiến lược sinh khóa {@code HILO} của {@code @VMCGeneratedValue}.
+   *
+   * <p>Bảng cần hai cột {@code sequence_name} (khóa chính) và {@code next_val} kiểu số nguyên lớn.
+   */
+  private String sequenceTable = "vmc_sequences";
+
+  /**
+   * Mã máy (0-1023) của chiến lược sinh khóa {@code SNOWFLAKE}.
+   *
+   * <p>Mỗi tiến trình ứng dụng ghi đồng thời vào cùng một bảng phải dùng một mã khác nhau để các
+   * khóa sinh ra không trùng nhau.
+   */
+  private int snowflakeWorkerId = 0;
+
+  /**
+   * Đồng bộ bảng trung gian của quan hệ Many-to-Many bằng các câu lệnh theo tập hợp thay vì đọc
+   * các liên kết hiện có rồi so sánh.
+   *
+   * <p>Khi bật, mỗi thực thể sở hữu được đồng bộ bằng một câu lệnh {@code DELETE ... NOT IN} cho
+   * các liên kết không còn mong muốn và một câu lệnh {@code INSERT} bỏ qua trùng khóa cho toàn bộ
+   * tập mong muốn; trong {@code saveAll}, các câu lệnh của nhiều thực thể được gửi chung. Bảng
+   * trung gian phải có khóa chính hoặc ràng buộc duy nhất trên hai cột khóa ngoại, nếu không các
+   * liên kết sẽ bị chèn lặp.
+   */
+  private boolean setBasedJoinTableSync = false;
+}
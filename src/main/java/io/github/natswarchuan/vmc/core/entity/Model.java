@@ -4,17 +4,15 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.mapping.EntityRowMapper;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.persistence.VMCPersistenceManager;
 import io.github.natswarchuan.vmc.core.persistence.service.RemoveOptions;
 import io.github.natswarchuan.vmc.core.persistence.service.SaveOptions;
 import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import io.github.natswarchuan.vmc.core.util.DataConverter;
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
-import org.springframework.http.HttpStatus;
 
 /**
  * Lớp trừu tượng cơ sở cho tất cả các thực thể (entity) trong framework.
@@ -57,40 +55,36 @@ public abstract class Model {
    */
   @JsonIgnore private transient Object primaryKey;
 
+  /**
+   * Trạng thái đã biết của thực thể trong cơ sở dữ liệu (tên cột -> giá trị), được chụp lại khi
+   * thực thể được nạp từ một hàng dữ liệu và cập nhật sau mỗi lần ghi thành công.
+   *
+   * <p>Trạng thái này được dùng để kiểm tra thay đổi (dirty checking): câu lệnh UPDATE chỉ ghi các
+   * cột có giá trị khác với trạng thái đã biết, và không được thực thi nếu không có cột nào thay
+   * đổi. Giá trị {@code null} nghĩa là trạng thái chưa biết (thực thể mới tạo), khi đó mọi cột đều
+   * được ghi.
+   */
+  @JsonIgnore private transient Map<String, Object> loadedState;
+
   /**
    * Gán một Map các thuộc tính cho thực thể và đồng bộ hóa các trường tương ứng.
    *
    * <p>Phương thức này nhận một Map (thường là kết quả từ một hàng trong cơ sở dữ liệu), lưu nó vào
    * biến {@link #attributes}, và sau đó duyệt qua Map để gán giá trị cho các trường (field) được
-   * định nghĩa trong lớp thực thể. Quá trình này sử dụng {@link MetadataCache} để tìm ra ánh xạ
-   * giữa tên cột và tên trường, và {@link DataConverter} để chuyển đổi kiểu dữ liệu nếu cần thiết.
+   * định nghĩa trong lớp thực thể. Việc gán được thực hiện bởi bộ ánh xạ đã biên dịch sẵn của lớp
+   * ({@link MetadataCache#getRowMapper(Class)}), vốn đã chuẩn bị sẵn ánh xạ cột -> trường và bộ
+   * chuyển đổi kiểu của {@link DataConverter}.
+   *
+   * <p>Trạng thái của các cột sau khi gán được chụp lại làm trạng thái đã biết của thực thể (xem
+   * {@link #getLoadedState()}).
    *
    * @param attributes Một Map chứa dữ liệu, với key là tên cột và value là giá trị tương ứng.
    */
   public void setAttributes(Map<String, Object> attributes) {
     this.attributes = attributes;
-
-    EntityMetadata metadata = MetadataCache.getMetadata(this.getClass());
-    Map<String, String> columnToFieldMap =
-        metadata.getFieldToColumnMap().entrySet().stream()
-            .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
-
-    for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-      String columnName = entry.getKey();
-      String fieldName = columnToFieldMap.get(columnName);
-
-      if (fieldName != null) {
-        try {
-          Field field = findField(this.getClass(), fieldName);
-          field.setAccessible(true);
-
-          Object convertedValue = DataConverter.convertValue(entry.getValue(), field.getType());
-          field.set(this, convertedValue);
-        } catch (Exception e) {
-          // Bỏ qua lỗi một cách có chủ ý. Việc ghi log sẽ tốt hơn.
-        }
-      }
-    }
+    EntityRowMapper rowMapper = MetadataCache.getRowMapper(this.getClass());
+    rowMapper.writeColumns(this, attributes);
+    this.loadedState = rowMapper.captureState(this, attributes);
   }
 
   /**
@@ -128,12 +122,34 @@ public abstract class Model {
     return attributes;
   }
 
+  /**
+   * Lấy trạng thái đã biết của thực thể trong cơ sở dữ liệu, dùng cho việc kiểm tra thay đổi.
+   *
+   * @return Map tên cột -> giá trị tại lần nạp hoặc ghi gần nhất, hoặc {@code null} nếu chưa biết.
+   */
+  @JsonIgnore
+  public Map<String, Object> getLoadedState() {
+    return loadedState;
+  }
+
+  /**
+   * Thiết lập trạng thái đã biết của thực thể trong cơ sở dữ liệu.
+   *
+   * <p>Được gọi bởi tầng persistence sau mỗi lần ghi thành công. Gán {@code null} để buộc lần lưu
+   * tiếp theo ghi lại mọi cột.
+   *
+   * @param loadedState Map tên cột -> giá trị, hoặc {@code null}.
+   */
+  public void setLoadedState(Map<String, Object> loadedState) {
+    this.loadedState = loadedState;
+  }
+
   /**
    * Lấy giá trị của khóa chính cho thực thể này.
    *
    * <p>Phương thức này hoạt động theo cơ chế lazy-loading và caching. Lần đầu tiên được gọi, nó sẽ
-   * sử dụng reflection để tìm trường được chú thích bằng {@code @VMCPrimaryKey}, lấy giá trị của
-   * nó, cache lại và trả về. Các lần gọi tiếp theo sẽ trả về giá trị đã được cache. Nếu việc truy
+   * đọc trường được chú thích bằng {@code @VMCPrimaryKey} qua bộ ánh xạ đã biên dịch sẵn của lớp,
+   * cache lại và trả về. Các lần gọi tiếp theo sẽ trả về giá trị đã được cache. Nếu việc truy
    * cập trường thất bại, nó sẽ thử lấy giá trị từ Map thuộc tính như một phương án dự phòng.
    *
    * @return Giá trị của khóa chính.
@@ -146,9 +162,7 @@ public abstract class Model {
     EntityMetadata metadata = MetadataCache.getMetadata(this.getClass());
     if (metadata != null) {
       try {
-        Field pkField = findField(this.getClass(), metadata.getPrimaryKeyFieldName());
-        pkField.setAccessible(true);
-        this.primaryKey = pkField.get(this);
+        this.primaryKey = MetadataCache.getRowMapper(this.getClass()).readPrimaryKey(this);
       } catch (Exception e) {
         // Dự phòng lấy từ map attributes nếu truy cập trường thất bại
         this.primaryKey = this.getAttribute(metadata.getPrimaryKeyColumnName());
@@ -172,47 +186,8 @@ public abstract class Model {
     EntityMetadata metadata = MetadataCache.getMetadata(this.getClass());
     if (metadata != null) {
       this.setAttribute(metadata.getPrimaryKeyColumnName(), pkValue);
-
-      try {
-        Field pkField = findField(this.getClass(), metadata.getPrimaryKeyFieldName());
-        pkField.setAccessible(true);
-        Object convertedValue = DataConverter.convertValue(pkValue, pkField.getType());
-        pkField.set(this, convertedValue);
-      } catch (Exception e) {
-        throw new VMCException(
-            HttpStatus.INTERNAL_SERVER_ERROR,
-            "Failed to set primary key field '"
-                + metadata.getPrimaryKeyFieldName()
-                + "' on entity "
-                + this.getClass().getSimpleName(),
-            e);
-      }
-    }
-  }
-
-  /**
-   * Tìm một trường (field) trong một lớp hoặc các lớp cha của nó.
-   *
-   * <p>Phương thức này duyệt ngược lên cây kế thừa của lớp để tìm một trường theo tên. Điều này cần
-   * thiết vì các trường có thể được định nghĩa trong các lớp cha.
-   *
-   * @param clazz Lớp bắt đầu tìm kiếm.
-   * @param fieldName Tên của trường cần tìm.
-   * @return Đối tượng {@code Field} nếu tìm thấy.
-   * @throws VMCException nếu không tìm thấy trường trong toàn bộ hệ thống phân cấp lớp.
-   */
-  private Field findField(Class<?> clazz, String fieldName) {
-    Class<?> current = clazz;
-    while (current != null && !current.equals(Object.class)) {
-      try {
-        return current.getDeclaredField(fieldName);
-      } catch (NoSuchFieldException e) {
-        current = current.getSuperclass();
-      }
+      MetadataCache.getRowMapper(this.getClass()).writePrimaryKey(this, pkValue);
     }
-    throw new VMCException(
-        HttpStatus.INTERNAL_SERVER_ERROR,
-        "Field '" + fieldName + "' not found in class " + clazz.getName());
   }
 
   /**
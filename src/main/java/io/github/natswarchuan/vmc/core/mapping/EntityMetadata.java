@@ -1,5 +1,6 @@
 package io.github.natswarchuan.vmc.core.mapping;
 
+import io.github.natswarchuan.vmc.core.annotation.VMCGeneratedValue;
 import java.util.Map;
 import lombok.Getter;
 
@@ -34,6 +35,12 @@ public class EntityMetadata {
    */
   private final Map<String, RelationMetadata> relations;
 
+  /**
+   * Cấu hình sinh khóa chính ({@link VMCGeneratedValue}) của trường khóa chính, hoặc {@code null}
+   * nếu khóa do cơ sở dữ liệu sinh ra.
+   */
+  private final VMCGeneratedValue generatedValue;
+
   /**
    * Khởi tạo một đối tượng EntityMetadata mới.
    *
@@ -49,11 +56,32 @@ public class EntityMetadata {
       String pkFieldName,
       String pkColumnName,
       Map<String, RelationMetadata> relations) {
+    this(tableName, fieldToColumnMap, pkFieldName, pkColumnName, relations, null);
+  }
+
+  /**
+   * Khởi tạo một đối tượng EntityMetadata mới với cấu hình sinh khóa chính.
+   *
+   * @param tableName Tên bảng.
+   * @param fieldToColumnMap Ánh xạ từ trường sang cột.
+   * @param pkFieldName Tên trường khóa chính.
+   * @param pkColumnName Tên cột khóa chính.
+   * @param relations Siêu dữ liệu về các mối quan hệ.
+   * @param generatedValue Cấu hình sinh khóa chính, hoặc {@code null}.
+   */
+  public EntityMetadata(
+      String tableName,
+      Map<String, String> fieldToColumnMap,
+      String pkFieldName,
+      String pkColumnName,
+      Map<String, RelationMetadata> relations,
+      VMCGeneratedValue generatedValue) {
     this.tableName = tableName;
     this.fieldToColumnMap = fieldToColumnMap;
     this.primaryKeyFieldName = pkFieldName;
     this.primaryKeyColumnName = pkColumnName;
     this.relations = relations;
+    this.generatedValue = generatedValue;
   }
 
   /**
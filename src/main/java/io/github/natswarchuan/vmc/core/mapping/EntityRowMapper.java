@@ -0,0 +1,393 @@
+package io.github.natswarchuan.vmc.core.mapping;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import io.github.natswarchuan.vmc.core.util.DataConverter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Bộ ánh xạ hàng dữ liệu đã được biên dịch sẵn cho một lớp thực thể.
+ *
+ * <p>Mọi công việc phụ thuộc vào lớp thực thể (tìm trường trong cây kế thừa, gọi {@code
+ * setAccessible}, đảo ngược Map trường -> cột, chọn bộ chuyển đổi kiểu) được thực hiện một lần khi
+ * tạo bộ ánh xạ. Việc khởi tạo thực thể và ghi/đọc trường sau đó đi qua các {@link MethodHandle}
+ * đã được chuẩn bị sẵn thay vì reflection trên từng hàng.
+ *
+ * <p>Các instance được tạo và lưu trữ bởi {@link MetadataCache#getRowMapper(Class)} và an toàn cho
+ * luồng (thread-safe).
+ *
+ * @author NatswarChuan
+ */
+public final class EntityRowMapper {
+
+  /** Giá trị đánh dấu một nhãn cột không thuộc về bí danh đang xét. */
+  private static final String NO_COLUMN = "";
+
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Model.class, Object.class);
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Model.class);
+
+  private final Class<? extends Model> modelClass;
+  private final MethodHandle constructor;
+  private final Map<String, FieldAccessor> accessorsByField;
+  private final Map<String, FieldAccessor> accessorsByColumn;
+  private final FieldAccessor primaryKeyAccessor;
+
+  /** Tên cột khóa ngoại của các quan hệ ở phía sở hữu. */
+  private final List<String> joinColumns;
+
+  /**
+   * Bộ đệm phân giải nhãn cột theo từng bí danh: bí danh -> (nhãn cột trong hàng -> tên cột của
+   * thực thể, hoặc {@link #NO_COLUMN}).
+   */
+  private final Map<String, Map<String, String>> columnsByLabelPerAlias = new ConcurrentHashMap<>();
+
+  /**
+   * Biên dịch một bộ ánh xạ cho lớp thực thể.
+   *
+   * @param modelClass Lớp thực thể.
+   * @param metadata Siêu dữ liệu của lớp thực thể.
+   * @throws VMCException nếu không thể truy cập các trường của lớp thực thể.
+   */
+  EntityRowMapper(Class<? extends Model> modelClass, EntityMetadata metadata) {
+    this.modelClass = modelClass;
+    this.constructor = compileConstructor(modelClass);
+    this.accessorsByField = new HashMap<>();
+    this.accessorsByColumn = new HashMap<>();
+    for (Map.Entry<String, String> entry : metadata.getFieldToColumnMap().entrySet()) {
+      FieldAccessor accessor = compileAccessor(modelClass, entry.getKey());
+      accessorsByField.put(entry.getKey(), accessor);
+      accessorsByColumn.put(entry.getValue(), accessor);
+    }
+    this.joinColumns = new ArrayList<>();
+    for (Map.Entry<String, RelationMetadata> entry : metadata.getRelations().entrySet()) {
+      accessorsByField.put(entry.getKey(), compileAccessor(modelClass, entry.getKey()));
+      if (entry.getValue().isOwningSideOfAssociation()) {
+        joinColumns.add(entry.getValue().getJoinColumnName());
+      }
+    }
+    this.primaryKeyAccessor = accessorsByField.get(metadata.getPrimaryKeyFieldName());
+  }
+
+  /**
+   * Tạo một instance rỗng của lớp thực thể.
+   *
+   * @return Instance mới.
+   * @throws VMCException nếu lớp không có constructor không tham số hoặc constructor ném ngoại lệ.
+   */
+  public Model newInstance() {
+    if (constructor == null) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Entity " + modelClass.getSimpleName() + " must have a no-argument constructor.");
+    }
+    try {
+      return (Model) constructor.invokeExact();
+    } catch (Throwable e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Could not instantiate model: " + modelClass.getSimpleName(),
+          e);
+    }
+  }
+
+  /**
+   * Ánh xạ các cột thuộc về một bí danh trong hàng dữ liệu thành một thực thể.
+   *
+   * <p>Nhãn cột được phân giải theo bí danh một lần và lưu vào bộ đệm, nên mỗi hàng chỉ tốn một
+   * phép tra cứu cho mỗi cột thay vì so khớp tiền tố và cắt chuỗi.
+   *
+   * @param row Dữ liệu của một hàng, key là nhãn cột ({@code alias_column}).
+   * @param alias Bí danh của bảng, hoặc {@code null} nếu nhãn cột chính là tên cột.
+   * @return Thực thể đã được điền dữ liệu (chưa thiết lập quan hệ), hoặc {@code null} nếu không có
+   *     cột nào của bí danh mang giá trị khác {@code null}.
+   */
+  public Model mapRow(Map<String, Object> row, String alias) {
+    String prefix = (alias != null) ? alias + "_" : "";
+    Map<String, String> columnsByLabel =
+        columnsByLabelPerAlias.computeIfAbsent(prefix, k -> new ConcurrentHashMap<>());
+
+    Map<String, Object> attributes = new HashMap<>();
+    boolean hasData = false;
+    for (Map.Entry<String, Object> entry : row.entrySet()) {
+      String label = entry.getKey();
+      String column = columnsByLabel.get(label);
+      if (column == null) {
+        column = label.startsWith(prefix) ? label.substring(prefix.length()) : NO_COLUMN;
+        columnsByLabel.put(label, column);
+      }
+      if (column != NO_COLUMN) {
+        Object value = entry.getValue();
+        attributes.put(column, value);
+        if (value != null) {
+          hasData = true;
+        }
+      }
+    }
+    if (!hasData) {
+      return null;
+    }
+    Model model = newInstance();
+    model.setAttributes(attributes);
+    return model;
+  }
+
+  /**
+   * Gán giá trị các cột đã ánh xạ vào các trường tương ứng của thực thể.
+   *
+   * <p>Các cột không có trường tương ứng được bỏ qua. Giống như hành vi trước đây của {@link
+   * Model#setAttributes(Map)}, một giá trị không thể gán (ví dụ {@code null} cho trường nguyên
+   * thủy) cũng được bỏ qua.
+   *
+   * @param model Thực thể đích.
+   * @param attributes Map tên cột -> giá trị.
+   */
+  public void writeColumns(Model model, Map<String, Object> attributes) {
+    for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+      FieldAccessor accessor = accessorsByColumn.get(entry.getKey());
+      if (accessor != null) {
+        try {
+          accessor.write(model, entry.getValue());
+        } catch (Throwable e) {
+          // Bỏ qua lỗi một cách có chủ ý, giống hành vi gán trường trước đây.
+        }
+      }
+    }
+  }
+
+  /**
+   * Chụp lại trạng thái của một thực thể vừa được nạp từ một hàng dữ liệu.
+   *
+   * <p>Với các cột được ánh xạ tới trường, giá trị là giá trị của trường sau khi gán (đã chuyển đổi
+   * kiểu); với các cột khóa ngoại của quan hệ ở phía sở hữu, giá trị là giá trị thô trong hàng.
+   * Mảng được sao chép để thay đổi tại chỗ vẫn được phát hiện. Chỉ các cột có trong hàng được chụp
+   * lại: với truy vấn chọn một phần cột, các trường còn lại mang giá trị khởi tạo chứ không phải
+   * giá trị trong cơ sở dữ liệu, nên chúng luôn được coi là đã thay đổi.
+   *
+   * @param model Thực thể đã được gán giá trị các cột.
+   * @param attributes Map tên cột -> giá trị của hàng dữ liệu.
+   * @return Map tên cột -> giá trị.
+   */
+  public Map<String, Object> captureState(Model model, Map<String, Object> attributes) {
+    Map<String, Object> state = new HashMap<>();
+    for (Map.Entry<String, FieldAccessor> entry : accessorsByColumn.entrySet()) {
+      if (attributes.containsKey(entry.getKey())) {
+        Object value = readField(model, entry.getValue());
+        state.put(entry.getKey(), copyArray(value));
+      }
+    }
+    for (String joinColumn : joinColumns) {
+      if (attributes.containsKey(joinColumn)) {
+        state.put(joinColumn, attributes.get(joinColumn));
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Sao chép một giá trị nếu nó là mảng (ví dụ {@code byte[]}), giữ nguyên các giá trị khác.
+   *
+   * @param value Giá trị cần sao chép.
+   * @return Bản sao của mảng, hoặc chính giá trị.
+   */
+  public static Object copyArray(Object value) {
+    if (value != null && value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+      System.arraycopy(value, 0, copy, 0, length);
+      return copy;
+    }
+    return value;
+  }
+
+  /**
+   * Gán giá trị (đã chuyển đổi kiểu) cho trường khóa chính.
+   *
+   * @param model Thực thể đích.
+   * @param value Giá trị khóa chính.
+   * @throws VMCException nếu không thể gán giá trị.
+   */
+  public void writePrimaryKey(Model model, Object value) {
+    try {
+      primaryKeyAccessor.write(model, value);
+    } catch (Throwable e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Failed to set primary key field on entity " + modelClass.getSimpleName(),
+          e);
+    }
+  }
+
+  /**
+   * Đọc giá trị của trường khóa chính.
+   *
+   * @param model Thực thể nguồn.
+   * @return Giá trị của trường khóa chính.
+   * @throws VMCException nếu không thể đọc giá trị.
+   */
+  public Object readPrimaryKey(Model model) {
+    return readField(model, primaryKeyAccessor);
+  }
+
+  /**
+   * Đọc giá trị của một trường cột hoặc trường quan hệ.
+   *
+   * @param model Thực thể nguồn.
+   * @param fieldName Tên trường.
+   * @return Giá trị của trường.
+   * @throws VMCException nếu trường không được ánh xạ hoặc không thể đọc.
+   */
+  public Object readField(Model model, String fieldName) {
+    return readField(model, accessor(fieldName));
+  }
+
+  /**
+   * Gán trực tiếp (không chuyển đổi kiểu) một giá trị cho trường cột hoặc trường quan hệ.
+   *
+   * @param model Thực thể đích.
+   * @param fieldName Tên trường.
+   * @param value Giá trị cần gán.
+   * @throws VMCException nếu trường không được ánh xạ hoặc không thể gán.
+   */
+  public void writeField(Model model, String fieldName, Object value) {
+    FieldAccessor accessor = accessor(fieldName);
+    try {
+      accessor.setter.invokeExact(model, value);
+    } catch (Throwable e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Could not set field '" + fieldName + "' on entity " + modelClass.getSimpleName(),
+          e);
+    }
+  }
+
+  /**
+   * Lấy kiểu khai báo của một trường cột hoặc trường quan hệ.
+   *
+   * @param fieldName Tên trường.
+   * @return Kiểu của trường.
+   * @throws VMCException nếu trường không được ánh xạ.
+   */
+  public Class<?> fieldType(String fieldName) {
+    return accessor(fieldName).type;
+  }
+
+  private FieldAccessor accessor(String fieldName) {
+    FieldAccessor accessor = accessorsByField.get(fieldName);
+    if (accessor == null) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Field '" + fieldName + "' not found in class " + modelClass.getName());
+    }
+    return accessor;
+  }
+
+  private Object readField(Model model, FieldAccessor accessor) {
+    try {
+      return (Object) accessor.getter.invokeExact(model);
+    } catch (Throwable e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Could not read field '" + accessor.name + "' on entity " + modelClass.getSimpleName(),
+          e);
+    }
+  }
+
+  /**
+   * Chuẩn bị handle cho constructor không tham số của lớp thực thể.
+   *
+   * @param modelClass Lớp thực thể.
+   * @return Handle có kiểu {@code ()Model}, hoặc {@code null} nếu lớp không có constructor phù hợp.
+   */
+  private static MethodHandle compileConstructor(Class<? extends Model> modelClass) {
+    try {
+      Constructor<? extends Model> ctor = modelClass.getDeclaredConstructor();
+      ctor.setAccessible(true);
+      return MethodHandles.lookup()
+          .unreflectConstructor(ctor)
+          .asType(MethodType.methodType(Model.class));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Chuẩn bị getter/setter cho một trường, tìm trong lớp thực thể và các lớp cha của nó.
+   *
+   * @param modelClass Lớp thực thể.
+   * @param fieldName Tên trường.
+   * @return Bộ truy cập trường.
+   * @throws VMCException nếu không tìm thấy hoặc không thể truy cập trường.
+   */
+  private static FieldAccessor compileAccessor(Class<?> modelClass, String fieldName) {
+    Field field = null;
+    for (Class<?> current = modelClass;
+        current != null && !current.equals(Object.class);
+        current = current.getSuperclass()) {
+      try {
+        field = current.getDeclaredField(fieldName);
+        break;
+      } catch (NoSuchFieldException e) {
+        // Tiếp tục tìm ở lớp cha.
+      }
+    }
+    if (field == null) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Field '" + fieldName + "' not found in class " + modelClass.getName());
+    }
+    try {
+      field.setAccessible(true);
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      return new FieldAccessor(
+          fieldName,
+          field.getType(),
+          lookup.unreflectGetter(field).asType(GETTER_TYPE),
+          lookup.unreflectSetter(field).asType(SETTER_TYPE),
+          DataConverter.converterFor(field.getType()));
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Could not access field '" + fieldName + "' in class " + modelClass.getName(),
+          e);
+    }
+  }
+
+  /** Getter, setter và bộ chuyển đổi kiểu đã được chuẩn bị cho một trường. */
+  private static final class FieldAccessor {
+    private final String name;
+    private final Class<?> type;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final Function<Object, Object> converter;
+
+    private FieldAccessor(
+        String name,
+        Class<?> type,
+        MethodHandle getter,
+        MethodHandle setter,
+        Function<Object, Object> converter) {
+      this.name = name;
+      this.type = type;
+      this.getter = getter;
+      this.setter = setter;
+      this.converter = converter;
+    }
+
+    private void write(Model model, Object value) throws Throwable {
+      setter.invokeExact(model, converter.apply(value));
+    }
+  }
+}
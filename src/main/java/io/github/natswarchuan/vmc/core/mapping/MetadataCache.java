@@ -25,6 +25,7 @@ import org.springframework.http.HttpStatus;
  */
 public class MetadataCache {
   private static final Map<Class<?>, EntityMetadata> CACHE = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, EntityRowMapper> ROW_MAPPERS = new ConcurrentHashMap<>();
 
   /**
    * Lấy siêu dữ liệu cho một lớp thực thể từ cache.
@@ -53,6 +54,7 @@ public class MetadataCache {
 
           final AtomicReference<String> pkFieldNameRef = new AtomicReference<>();
           final AtomicReference<String> pkColumnNameRef = new AtomicReference<>();
+          final AtomicReference<VMCGeneratedValue> generatedValueRef = new AtomicReference<>();
 
           Stream<Field> fieldStream = Stream.empty();
           Class<?> currentClass = clazz;
@@ -70,6 +72,7 @@ public class MetadataCache {
                   VMCPrimaryKey pkAnn = field.getAnnotation(VMCPrimaryKey.class);
                   pkFieldNameRef.set(field.getName());
                   pkColumnNameRef.set(pkAnn.name());
+                  generatedValueRef.set(field.getAnnotation(VMCGeneratedValue.class));
                   fieldToColumnMap.put(field.getName(), pkAnn.name());
                 } else if (field.isAnnotationPresent(VMCColumn.class)) {
                   fieldToColumnMap.put(
@@ -91,6 +94,7 @@ public class MetadataCache {
                           .mappedBy(ann.mappedBy())
                           .joinColumnName(joinColumnName)
                           .foreignKeyNullable(isNullable)
+                          .fetchDepth(ann.fetchDepth())
                           .build());
                 } else if (field.isAnnotationPresent(VMCOneToMany.class)) {
                   VMCOneToMany ann = field.getAnnotation(VMCOneToMany.class);
@@ -103,6 +107,7 @@ public class MetadataCache {
                           .mappedBy(ann.mappedBy())
                           .build());
                 } else if (field.isAnnotationPresent(VMCManyToOne.class)) {
+                  VMCManyToOne ann = field.getAnnotation(VMCManyToOne.class);
                   relations.put(
                       field.getName(),
                       RelationMetadata.builder()
@@ -111,6 +116,7 @@ public class MetadataCache {
                           .targetEntity((Class<?>) field.getType())
                           .joinColumnName(joinColumnName)
                           .foreignKeyNullable(isNullable)
+                          .fetchDepth(ann.fetchDepth())
                           .build());
                 } else if (field.isAnnotationPresent(VMCManyToMany.class)) {
                   VMCManyToMany ann = field.getAnnotation(VMCManyToMany.class);
@@ -134,10 +140,34 @@ public class MetadataCache {
           }
 
           return new EntityMetadata(
-              tableName, fieldToColumnMap, pkFieldName, pkColumnNameRef.get(), relations);
+              tableName,
+              fieldToColumnMap,
+              pkFieldName,
+              pkColumnNameRef.get(),
+              relations,
+              generatedValueRef.get());
         });
   }
 
+  /**
+   * Lấy bộ ánh xạ hàng đã được biên dịch sẵn cho một lớp thực thể từ cache.
+   *
+   * <p>Bộ ánh xạ được tạo một lần cho mỗi lớp thực thể ở lần gọi đầu tiên.
+   *
+   * @param modelClass Lớp thực thể.
+   * @return Đối tượng {@link EntityRowMapper} tương ứng với lớp thực thể.
+   * @throws VMCException nếu lớp không phải là một thực thể hợp lệ.
+   */
+  public static EntityRowMapper getRowMapper(Class<? extends Model> modelClass) {
+    EntityRowMapper rowMapper = ROW_MAPPERS.get(modelClass);
+    if (rowMapper == null) {
+      rowMapper =
+          ROW_MAPPERS.computeIfAbsent(
+              modelClass, clazz -> new EntityRowMapper(modelClass, getMetadata(modelClass)));
+    }
+    return rowMapper;
+  }
+
   /**
    * Phân tích và trích xuất siêu dữ liệu từ annotation {@link VMCJoinTable}.
    *
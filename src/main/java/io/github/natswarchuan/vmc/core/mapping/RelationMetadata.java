@@ -35,6 +35,12 @@ public class RelationMetadata {
   /** Cho biết cột khóa ngoại có thể nhận giá trị NULL hay không. */
   private final boolean foreignKeyNullable;
 
+  /**
+   * Độ sâu tải khi proxy tải lười của quan hệ ToOne được khởi tạo: {@code 0} chỉ tải các cột của
+   * thực thể đích, lớn hơn {@code 0} tải kèm các quan hệ trực tiếp của nó.
+   */
+  private final int fetchDepth;
+
   /** Siêu dữ liệu của bảng liên kết, chỉ được sử dụng cho quan hệ Many-to-Many. */
   private final JoinTableMetadata joinTable;
 
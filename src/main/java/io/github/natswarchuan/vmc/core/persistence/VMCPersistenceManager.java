@@ -1,5 +1,6 @@
 package io.github.natswarchuan.vmc.core.persistence;
 
+import io.github.natswarchuan.vmc.core.config.VMCProperties;
 import io.github.natswarchuan.vmc.core.dto.BaseDto;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
@@ -9,7 +10,8 @@ import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
 import io.github.natswarchuan.vmc.core.persistence.handler.CascadeRemoveHandler;
 import io.github.natswarchuan.vmc.core.persistence.handler.CrudExecutor;
 import io.github.natswarchuan.vmc.core.persistence.handler.RelationshipSynchronizer;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.lazy.AbstractLazyLoadingCollection;
 import io.github.natswarchuan.vmc.core.persistence.service.RemoveOptions;
 import io.github.natswarchuan.vmc.core.persistence.service.SaveOptions;
 import java.lang.reflect.Field;
@@ -17,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,7 +39,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Component
 public class VMCPersistenceManager {
 
-  private final GenericQueryExecutorMapper queryExecutor;
+  private final VMCQueryExecutor queryExecutor;
+  private final VMCProperties properties;
   private final CrudExecutor crudExecutor;
   private final RelationshipSynchronizer relationshipSynchronizer;
   private final CascadeRemoveHandler cascadeRemoveHandler;
@@ -44,10 +48,12 @@ public class VMCPersistenceManager {
   /**
    * Khởi tạo một instance mới của VMCPersistenceManager.
    *
-   * @param queryExecutor Mapper để thực thi các câu lệnh SQL cấp thấp.
+   * @param queryExecutor Backend thực thi các câu lệnh SQL cấp thấp.
+   * @param properties Các thuộc tính cấu hình của framework.
    */
-  public VMCPersistenceManager(GenericQueryExecutorMapper queryExecutor) {
+  public VMCPersistenceManager(VMCQueryExecutor queryExecutor, VMCProperties properties) {
     this.queryExecutor = queryExecutor;
+    this.properties = properties;
     this.crudExecutor = new CrudExecutor();
     this.relationshipSynchronizer = new RelationshipSynchronizer(this);
     this.cascadeRemoveHandler = new CascadeRemoveHandler();
@@ -61,12 +67,17 @@ public class VMCPersistenceManager {
    */
   @Transactional
   public void save(Model model, SaveOptions options) {
+    joinUnitOfWork();
     saveGraph(model, options, new IdentityHashMap<>());
   }
 
   /**
    * Lưu một tập hợp các đồ thị đối tượng.
    *
+   * <p>Nếu kích thước lô (từ {@link SaveOptions#batchSize(int)} hoặc thuộc tính {@code
+   * vmc.batch-size}) lớn hơn 1, các câu lệnh INSERT và UPDATE cùng bảng sẽ được gom lại và thực thi
+   * theo lô thay vì từng thực thể một.
+   *
    * @param models Một {@code Iterable} chứa các thực thể gốc cần lưu.
    * @param options Các tùy chọn để kiểm soát hành vi lưu.
    */
@@ -75,12 +86,110 @@ public class VMCPersistenceManager {
     if (models == null) {
       return;
     }
+    joinUnitOfWork();
     IdentityHashMap<Model, Model> processed = new IdentityHashMap<>();
+    int batchSize = resolveBatchSize(options);
+    if (batchSize > 1) {
+      List<Model> roots = new ArrayList<>();
+      models.forEach(roots::add);
+      saveAllBatched(roots, options, processed, new IdentityHashMap<>(), batchSize);
+      return;
+    }
     for (Model model : models) {
       saveGraph(model, options, processed);
     }
   }
 
+  /**
+   * Ghi một thực thể bằng một câu lệnh upsert duy nhất, không cần biết trước bản ghi đã tồn tại hay
+   * chưa.
+   *
+   * <p>Khác với {@link #save}, vốn quyết định INSERT hay UPDATE chỉ dựa trên khóa chính có null hay
+   * không, phương thức này phù hợp cho các thực thể có khóa tự nhiên hoặc khóa được gán trước: câu
+   * lệnh {@code INSERT ... ON DUPLICATE KEY UPDATE} (hoặc {@code ON CONFLICT ... DO UPDATE} tùy
+   * theo {@code vmc.dialect}) chèn bản ghi mới hoặc cập nhật bản ghi đã có trong cùng một lượt gửi.
+   * Các thực thể ở phía "sở hữu" của các quan hệ To-One và các quan hệ trong {@code SaveOptions}
+   * được lưu như với {@link #save}.
+   *
+   * <p>Thực thể chưa có khóa chính (khóa do cơ sở dữ liệu sinh ra) chỉ được hỗ trợ trên
+   * MySQL/MariaDB, nơi {@code ON DUPLICATE KEY UPDATE} được kích hoạt bởi bất kỳ ràng buộc duy nhất
+   * nào; các thực thể này được gửi từng câu lệnh một để khóa trả về được gán đúng. Trên PostgreSQL,
+   * {@code ON CONFLICT (pk)} không thể phát hiện bản ghi đã tồn tại khi không có khóa, nên lời gọi
+   * bị từ chối.
+   *
+   * @param model Thực thể cần ghi.
+   * @param options Các tùy chọn lưu.
+   * @throws VMCException nếu thực thể chưa có khóa chính và {@code vmc.dialect=postgresql}.
+   */
+  @Transactional
+  public void upsert(Model model, SaveOptions options) {
+    upsertAll(Collections.singletonList(model), options);
+  }
+
+  /**
+   * Ghi một tập hợp các thực thể bằng các câu lệnh upsert, được gom theo lô.
+   *
+   * <p>Các thực thể cùng lớp sinh ra cùng một câu lệnh được gửi theo từng lô có kích thước lấy từ
+   * {@link SaveOptions#batchSize(int)} hoặc thuộc tính {@code vmc.batch-size}.
+   *
+   * @param models Một {@code Iterable} chứa các thực thể cần ghi.
+   * @param options Các tùy chọn lưu.
+   * @see #upsert(Model, SaveOptions)
+   */
+  @Transactional
+  public void upsertAll(Iterable<? extends Model> models, SaveOptions options) {
+    if (models == null) {
+      return;
+    }
+    try {
+      Map<Model, Model> processedEntities = new IdentityHashMap<>();
+      Map<Model, Model> scheduledEntities = new IdentityHashMap<>();
+      Map<Class<?>, List<Model>> modelsByClass = new LinkedHashMap<>();
+      for (Model model : models) {
+        if (model == null || scheduledEntities.containsKey(model)) {
+          continue;
+        }
+        scheduledEntities.put(model, model);
+        Class<?> modelClass = getUnproxiedClass(model.getClass());
+        modelsByClass.computeIfAbsent(modelClass, k -> new ArrayList<>()).add(model);
+      }
+
+      for (Map.Entry<Class<?>, List<Model>> group : modelsByClass.entrySet()) {
+        EntityMetadata metadata = MetadataCache.getMetadata(group.getKey());
+        for (Model model : group.getValue()) {
+          for (Model related : getOwningAssociations(model, metadata)) {
+            saveGraph(related, options, processedEntities);
+          }
+        }
+      }
+
+      int batchSize = Math.max(1, resolveBatchSize(options));
+      for (Map.Entry<Class<?>, List<Model>> group : modelsByClass.entrySet()) {
+        EntityMetadata metadata = MetadataCache.getMetadata(group.getKey());
+        List<Model> toUpsert = new ArrayList<>();
+        for (Model model : group.getValue()) {
+          // Thực thể gốc cũng là quan hệ sở hữu của thực thể khác thì đã được lưu ở bước trên
+          if (!processedEntities.containsKey(model)) {
+            toUpsert.add(model);
+            processedEntities.put(model, model);
+          }
+        }
+        crudExecutor.upsertAll(toUpsert, metadata, batchSize, properties.getDialect());
+      }
+
+      for (Map.Entry<Class<?>, List<Model>> group : modelsByClass.entrySet()) {
+        EntityMetadata metadata = MetadataCache.getMetadata(group.getKey());
+        for (Model model : group.getValue()) {
+          cascadeRelations(model, metadata, options, processedEntities);
+        }
+      }
+    } catch (VMCException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during upsert operation.", e);
+    }
+  }
+
   /**
    * Lưu một thực thể từ một đối tượng DTO.
    *
@@ -97,6 +206,8 @@ public class VMCPersistenceManager {
     }
     E entity = dto.toEntity();
     save(entity, options);
+    // DTO trả về cần khóa chính sinh ra của thực thể
+    flush();
     return (D) dto.toDto(entity);
   }
 
@@ -124,6 +235,7 @@ public class VMCPersistenceManager {
         });
 
     saveAll(entitiesToSave, options);
+    flush();
 
     List<D> savedDtos = new ArrayList<>();
     for (int i = 0; i < entitiesToSave.size(); i++) {
@@ -160,6 +272,9 @@ public class VMCPersistenceManager {
       return;
     }
     try {
+      joinUnitOfWork();
+      // Thực thể có thể vừa được lưu trong cùng giao dịch và chưa có khóa chính
+      VMCUnitOfWork.flushCurrent();
       EntityMetadata metadata = MetadataCache.getMetadata(getUnproxiedClass(model.getClass()));
       Object pkValue = getPrimaryKeyValue(model, metadata);
       if (pkValue == null) {
@@ -172,7 +287,12 @@ public class VMCPersistenceManager {
           String.format(
               "DELETE FROM %s WHERE %s = #{params.pkValue}",
               metadata.getTableName(), metadata.getPrimaryKeyColumnName());
-      queryExecutor.delete(sql, Map.of("pkValue", pkValue));
+      VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+      if (unitOfWork != null) {
+        unitOfWork.scheduleStatement(sql, Map.of("pkValue", pkValue));
+      } else {
+        queryExecutor.delete(sql, Map.of("pkValue", pkValue));
+      }
 
     } catch (Exception e) {
       throw new VMCException(
@@ -182,6 +302,18 @@ public class VMCPersistenceManager {
     }
   }
 
+  /**
+   * Gửi ngay các thao tác ghi đang chờ của giao dịch hiện tại xuống cơ sở dữ liệu.
+   *
+   * <p>Chỉ có tác dụng khi {@code vmc.write-behind=true}: các thao tác của {@code save}/{@code
+   * remove} khi đó được xếp hàng đến khi giao dịch commit. Gọi phương thức này khi cần khóa chính
+   * tự tăng của các thực thể vừa lưu, hoặc khi mã bên ngoài framework (ví dụ JDBC trực tiếp) cần
+   * thấy dữ liệu vừa ghi.
+   */
+  public void flush() {
+    VMCUnitOfWork.flushCurrent();
+  }
+
   /**
    * Lưu một đồ thị đối tượng một cách đệ quy.
    *
@@ -208,64 +340,301 @@ public class VMCPersistenceManager {
     }
 
     try {
+      joinUnitOfWork();
       EntityMetadata metadata = MetadataCache.getMetadata(getUnproxiedClass(model.getClass()));
 
-      for (RelationMetadata relMeta : metadata.getRelations().values()) {
-        if (relMeta.isOwningSideOfAssociation()) {
-          Field field = findField(model.getClass(), relMeta.getFieldName());
-          field.setAccessible(true);
-          Object relatedValue = field.get(model);
-          if (relatedValue instanceof Model) {
-            saveGraph((Model) relatedValue, options, processedEntities);
-          }
-        }
+      for (Model related : getOwningAssociations(model, metadata)) {
+        saveGraph(related, options, processedEntities);
       }
 
-      Object pkValue = getPrimaryKeyValue(model, metadata);
-      boolean isNew =
-          (pkValue == null || (pkValue instanceof Number && ((Number) pkValue).longValue() == 0));
-      if (isNew) {
+      if (isNew(getPrimaryKeyValue(model, metadata))) {
         crudExecutor.insert(model, metadata);
       } else {
         crudExecutor.update(model, metadata);
       }
       processedEntities.put(model, model);
 
-      Set<String> relationsToCascade = options.getRelationsToCascade();
-      for (String relationName : relationsToCascade) {
-        RelationMetadata relMeta = metadata.getRelations().get(relationName);
-        if (relMeta == null) {
+      cascadeRelations(model, metadata, options, processedEntities);
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during save graph operation.", e);
+    }
+  }
+
+  /**
+   * Lưu một danh sách các thực thể gốc theo chế độ ghi theo lô.
+   *
+   * <p>Thứ tự thực hiện tương tự {@link #saveGraph}, nhưng theo từng tầng: trước tiên các thực thể
+   * ở phía "sở hữu" của các quan hệ To-One được lưu (cũng theo lô), sau đó các thực thể gốc được
+   * nhóm theo lớp và ghi bằng {@link CrudExecutor#insertAll}/{@link CrudExecutor#updateAll}, cuối
+   * cùng các quan hệ được chỉ định trong {@code SaveOptions} được đồng bộ cho từng thực thể. Các
+   * thực thể mới được chèn theo tầng phụ thuộc, nên một thực thể gốc tham chiếu đến thực thể gốc
+   * khác trong cùng danh sách được chèn sau khi thực thể đó đã có khóa chính. Khi
+   * {@code vmc.set-based-join-table-sync=true}, các câu lệnh bảng trung gian của mọi thực thể gốc
+   * được gửi chung sau cùng.
+   *
+   * @param models Danh sách các thực thể cần lưu.
+   * @param options Các tùy chọn lưu.
+   * @param processedEntities Một {@code IdentityHashMap} để theo dõi các thực thể đã được xử lý.
+   * @param scheduledEntities Các thực thể đã được xếp lịch ở tầng này hoặc tầng ngoài, dùng để
+   *     tránh vòng lặp vô hạn giữa các quan hệ To-One.
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   */
+  private void saveAllBatched(
+      List<Model> models,
+      SaveOptions options,
+      Map<Model, Model> processedEntities,
+      Map<Model, Model> scheduledEntities,
+      int batchSize) {
+    try {
+      Map<Class<?>, List<Model>> pendingByClass = new LinkedHashMap<>();
+      List<Model> owningAssociations = new ArrayList<>();
+      for (Model model : models) {
+        if (model == null
+            || processedEntities.containsKey(model)
+            || scheduledEntities.containsKey(model)) {
           continue;
         }
+        scheduledEntities.put(model, model);
+        Class<?> modelClass = getUnproxiedClass(model.getClass());
+        pendingByClass.computeIfAbsent(modelClass, k -> new ArrayList<>()).add(model);
+        for (Model related : getOwningAssociations(model, MetadataCache.getMetadata(modelClass))) {
+          if (!processedEntities.containsKey(related) && !scheduledEntities.containsKey(related)) {
+            owningAssociations.add(related);
+          }
+        }
+      }
 
-        Field field = findField(model.getClass(), relationName);
-        field.setAccessible(true);
-        Object relatedValue = field.get(model);
-        if (relatedValue == null) {
-          continue;
+      if (!owningAssociations.isEmpty()) {
+        saveAllBatched(
+            owningAssociations, options, processedEntities, scheduledEntities, batchSize);
+      }
+
+      Map<Model, EntityMetadata> toInsert = new IdentityHashMap<>();
+      Map<EntityMetadata, List<Model>> toUpdate = new LinkedHashMap<>();
+      for (Map.Entry<Class<?>, List<Model>> group : pendingByClass.entrySet()) {
+        EntityMetadata metadata = MetadataCache.getMetadata(group.getKey());
+        for (Model model : group.getValue()) {
+          if (processedEntities.containsKey(model)) {
+            continue;
+          }
+          if (isNew(getPrimaryKeyValue(model, metadata))) {
+            toInsert.put(model, metadata);
+          } else {
+            toUpdate.computeIfAbsent(metadata, k -> new ArrayList<>()).add(model);
+          }
+          processedEntities.put(model, model);
         }
+      }
 
-        if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_ONE) {
-          if (relMeta.isInverseSide()) {
-            Model relatedModel = (Model) relatedValue;
-            saveGraph(relatedModel, options, processedEntities);
+      // Một thực thể gốc có thể tham chiếu (qua quan hệ To-One) đến một thực thể gốc khác trong
+      // cùng danh sách; thực thể được tham chiếu phải được chèn ở lô trước để có khóa chính.
+      Map<Model, Integer> levels = new IdentityHashMap<>();
+      int maxLevel = 0;
+      for (Model model : toInsert.keySet()) {
+        maxLevel = Math.max(maxLevel, insertLevelOf(model, toInsert, levels));
+      }
+      for (int level = 0; level <= maxLevel; level++) {
+        for (Map.Entry<Class<?>, List<Model>> group : pendingByClass.entrySet()) {
+          List<Model> levelModels = new ArrayList<>();
+          for (Model model : group.getValue()) {
+            if (levels.get(model) != null && levels.get(model) == level) {
+              levelModels.add(model);
+            }
           }
-        } else if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY) {
-          if (relMeta.isInverseSide()) {
-            relationshipSynchronizer.synchronizeOneToMany(
-                model, relMeta, (Collection<?>) relatedValue, options, processedEntities);
+          if (!levelModels.isEmpty()) {
+            crudExecutor.insertAll(
+                levelModels, MetadataCache.getMetadata(group.getKey()), batchSize);
           }
-        } else if (relMeta.getType() == RelationMetadata.RelationType.MANY_TO_MANY) {
-          relationshipSynchronizer.synchronizeManyToMany(
-              model, relMeta, (Collection<?>) relatedValue, options, processedEntities);
         }
       }
+      for (Map.Entry<EntityMetadata, List<Model>> group : toUpdate.entrySet()) {
+        crudExecutor.updateAll(group.getValue(), group.getKey(), batchSize);
+      }
+
+      RelationshipSynchronizer.LinkBatch linkBatch = relationshipSynchronizer.newLinkBatch();
+      for (Map.Entry<Class<?>, List<Model>> group : pendingByClass.entrySet()) {
+        EntityMetadata metadata = MetadataCache.getMetadata(group.getKey());
+        for (Model model : group.getValue()) {
+          cascadeRelations(model, metadata, options, processedEntities, linkBatch);
+        }
+      }
+      linkBatch.flush();
     } catch (Exception e) {
       throw new VMCException(
-          HttpStatus.INTERNAL_SERVER_ERROR, "Error during save graph operation.", e);
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during batch save operation.", e);
+    }
+  }
+
+  /**
+   * Tính tầng chèn của một thực thể mới trong {@link #saveAllBatched}: 0 nếu nó không tham chiếu
+   * đến thực thể mới nào khác trong cùng lô, ngược lại lớn hơn tầng của các thực thể đó một đơn vị.
+   * Các vòng tham chiếu được cắt tại thực thể đang được tính.
+   *
+   * @param model Thực thể cần tính.
+   * @param toInsert Các thực thể mới của lô, cùng metadata của chúng.
+   * @param levels Các tầng đã tính; giá trị {@code -1} đánh dấu thực thể đang được tính.
+   * @return Tầng của thực thể, hoặc {@code -1} nếu thực thể đang được tính (vòng tham chiếu).
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private int insertLevelOf(
+      Model model, Map<Model, EntityMetadata> toInsert, Map<Model, Integer> levels)
+      throws Exception {
+    Integer known = levels.get(model);
+    if (known != null) {
+      return known;
+    }
+    levels.put(model, -1);
+    int level = 0;
+    for (Model related : getOwningAssociations(model, toInsert.get(model))) {
+      if (related != model && toInsert.containsKey(related)) {
+        int relatedLevel = insertLevelOf(related, toInsert, levels);
+        if (relatedLevel >= 0) {
+          level = Math.max(level, relatedLevel + 1);
+        }
+      }
+    }
+    levels.put(model, level);
+    return level;
+  }
+
+  /**
+   * Lấy các thực thể liên quan ở phía "sở hữu" của các mối quan hệ To-One.
+   *
+   * <p>Các thực thể này phải được lưu trước thực thể hiện tại để khóa ngoại của chúng tồn tại.
+   *
+   * @param model Thực thể hiện tại.
+   * @param metadata Metadata của thực thể.
+   * @return Danh sách các thực thể liên quan khác null.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private List<Model> getOwningAssociations(Model model, EntityMetadata metadata)
+      throws Exception {
+    List<Model> associations = new ArrayList<>();
+    for (RelationMetadata relMeta : metadata.getRelations().values()) {
+      if (relMeta.isOwningSideOfAssociation()) {
+        Field field = findField(model.getClass(), relMeta.getFieldName());
+        field.setAccessible(true);
+        Object relatedValue = field.get(model);
+        if (relatedValue instanceof Model) {
+          associations.add((Model) relatedValue);
+        }
+      }
+    }
+    return associations;
+  }
+
+  /**
+   * Đồng bộ hóa các mối quan hệ To-Many và phía nghịch đảo của To-One được chỉ định trong {@code
+   * SaveOptions}.
+   *
+   * <p>Các collection tải lười chưa được khởi tạo được bỏ qua; các collection theo dõi thay đổi
+   * được đánh dấu là đã đồng bộ sau khi lưu.
+   *
+   * @param model Thực thể đã được lưu.
+   * @param metadata Metadata của thực thể.
+   * @param options Các tùy chọn lưu.
+   * @param processedEntities Một {@code IdentityHashMap} để theo dõi các thực thể đã được xử lý.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void cascadeRelations(
+      Model model, EntityMetadata metadata, SaveOptions options, Map<Model, Model> processedEntities)
+      throws Exception {
+    cascadeRelations(model, metadata, options, processedEntities, null);
+  }
+
+  /**
+   * Đồng bộ hóa các mối quan hệ được chỉ định trong {@code SaveOptions}, gom các câu lệnh đồng bộ
+   * bảng trung gian theo tập hợp vào một lô dùng chung.
+   *
+   * @param model Thực thể đã được lưu.
+   * @param metadata Metadata của thực thể.
+   * @param options Các tùy chọn lưu.
+   * @param processedEntities Một {@code IdentityHashMap} để theo dõi các thực thể đã được xử lý.
+   * @param linkBatch Lô dùng chung của nhiều thực thể gốc, hoặc {@code null} để thực thi ngay.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void cascadeRelations(
+      Model model,
+      EntityMetadata metadata,
+      SaveOptions options,
+      Map<Model, Model> processedEntities,
+      RelationshipSynchronizer.LinkBatch linkBatch)
+      throws Exception {
+    Set<String> relationsToCascade = options.getRelationsToCascade();
+    for (String relationName : relationsToCascade) {
+      RelationMetadata relMeta = metadata.getRelations().get(relationName);
+      if (relMeta == null) {
+        continue;
+      }
+
+      Field field = findField(model.getClass(), relationName);
+      field.setAccessible(true);
+      Object relatedValue = field.get(model);
+      if (relatedValue == null) {
+        continue;
+      }
+      if (relatedValue instanceof AbstractLazyLoadingCollection
+          && !((AbstractLazyLoadingCollection<?>) relatedValue).isInitialized()) {
+        // Collection chưa từng được tải thì không thể bị thay đổi
+        continue;
+      }
+
+      if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_ONE) {
+        if (relMeta.isInverseSide()) {
+          Model relatedModel = (Model) relatedValue;
+          saveGraph(relatedModel, options, processedEntities);
+        }
+      } else if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY) {
+        if (relMeta.isInverseSide()) {
+          relationshipSynchronizer.synchronizeOneToMany(
+              model, relMeta, (Collection<?>) relatedValue, options, processedEntities);
+        }
+      } else if (relMeta.getType() == RelationMetadata.RelationType.MANY_TO_MANY) {
+        relationshipSynchronizer.synchronizeManyToMany(
+            model, relMeta, (Collection<?>) relatedValue, options, processedEntities, linkBatch);
+      }
+      if (relatedValue instanceof AbstractLazyLoadingCollection) {
+        ((AbstractLazyLoadingCollection<?>) relatedValue).markSynchronized();
+      }
     }
   }
 
+  /**
+   * Gắn một {@link VMCUnitOfWork} vào giao dịch hiện tại nếu chế độ ghi trễ được bật.
+   *
+   * <p>Không làm gì nếu {@code vmc.write-behind=false}, nếu không có giao dịch đang hoạt động, hoặc
+   * nếu giao dịch đã có hàng đợi.
+   */
+  private void joinUnitOfWork() {
+    if (properties.isWriteBehind()) {
+      VMCUnitOfWork.join(crudExecutor, queryExecutor, properties.getBatchSize());
+    }
+  }
+
+  /**
+   * Xác định kích thước lô hiệu lực cho một thao tác lưu.
+   *
+   * @param options Các tùy chọn lưu.
+   * @return Kích thước lô từ {@code options} nếu có, ngược lại là giá trị cấu hình mặc định.
+   */
+  private int resolveBatchSize(SaveOptions options) {
+    if (options != null && options.getBatchSize() != null) {
+      return options.getBatchSize();
+    }
+    return properties.getBatchSize();
+  }
+
+  /**
+   * Kiểm tra xem một giá trị khóa chính có biểu thị thực thể chưa được lưu hay không.
+   *
+   * @param pkValue Giá trị khóa chính.
+   * @return {@code true} nếu khóa là {@code null} hoặc bằng 0.
+   */
+  private boolean isNew(Object pkValue) {
+    return pkValue == null || (pkValue instanceof Number && ((Number) pkValue).longValue() == 0);
+  }
+
   /**
    * Lấy giá trị khóa chính của một thực thể bằng reflection.
    *
@@ -0,0 +1,497 @@
+package io.github.natswarchuan.vmc.core.persistence;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.handler.CrudExecutor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hàng đợi ghi trễ (write-behind) của một giao dịch, được bật bằng thuộc tính {@code
+ * vmc.write-behind=true}.
+ *
+ * <p>Trong một giao dịch Spring đang hoạt động, các câu lệnh INSERT/UPDATE sinh ra bởi {@code
+ * save}, các liên kết bảng trung gian, các câu lệnh hủy liên kết khóa ngoại và câu lệnh DELETE của
+ * {@code remove} không được gửi ngay mà được xếp vào hàng đợi. Khi hàng đợi được đẩy xuống cơ sở
+ * dữ liệu (flush), thứ tự xếp hàng được giữ nguyên giữa các câu lệnh DELETE/UPDATE thô và các
+ * thao tác trên thực thể; hàng đợi được chia thành các đoạn liên tiếp:
+ *
+ * <ul>
+ *   <li>Một đoạn câu lệnh thô được thực thi theo thứ tự; các câu lệnh liên tiếp giống nhau được
+ *       gửi trong một lô.
+ *   <li>Một đoạn thao tác trên thực thể được thực thi theo từng tầng phụ thuộc: một thực thể phụ
+ *       thuộc vào các thực thể ở phía "sở hữu" của quan hệ To-One đang chờ INSERT, một liên kết
+ *       bảng trung gian phụ thuộc vào hai thực thể hai đầu. Trong mỗi tầng, INSERT rồi UPDATE được
+ *       gom theo lớp và gửi bằng {@link CrudExecutor#insertAll}/{@link CrudExecutor#updateAll},
+ *       các liên kết được gom theo câu lệnh và gửi bằng {@link VMCQueryExecutor#updateBatch}.
+ * </ul>
+ *
+ * <p>Nhờ đó một câu lệnh hủy liên kết được xếp sau một liên kết (hoặc sau UPDATE của một thực thể
+ * con) luôn được thực thi sau nó, giống như khi ghi ngay.
+ *
+ * <p>Tham số của các thao tác trên thực thể chỉ được tính khi flush, nên khóa ngoại trỏ đến thực
+ * thể cha vừa được INSERT ở tầng trước đã có giá trị, và các thay đổi thực hiện trên thực thể sau
+ * khi {@code save} vẫn được ghi.
+ *
+ * <p>Hàng đợi được flush trước khi giao dịch commit, trước mọi câu lệnh khác được gửi qua các
+ * backend có sẵn ({@code MyBatisQueryExecutor}, {@code JdbcQueryExecutor}) — nhờ đó truy vấn
+ * trong cùng giao dịch luôn thấy dữ liệu vừa ghi — và khi gọi {@link
+ * VMCPersistenceManager#flush()}. Khóa chính tự tăng của thực thể mới chỉ có sau khi flush; mã cần
+ * đọc khóa ngay sau {@code save} phải gọi {@code flush()}. Khi giao dịch rollback, hàng đợi bị hủy.
+ *
+ * @author NatswarChuan
+ */
+public class VMCUnitOfWork implements TransactionSynchronization {
+
+  /** Loại của một thao tác đang chờ. */
+  private enum Kind {
+    INSERT,
+    UPDATE,
+    LINK,
+    STATEMENT
+  }
+
+  /** Một thao tác trên thực thể, một liên kết bảng trung gian hoặc một câu lệnh thô đang chờ. */
+  private static final class Operation {
+    private final Kind kind;
+    private final Model model;
+    private final EntityMetadata metadata;
+    private final String sql;
+    private final Model related;
+    private final Map<String, Object> params;
+
+    private Operation(
+        Kind kind,
+        Model model,
+        EntityMetadata metadata,
+        String sql,
+        Model related,
+        Map<String, Object> params) {
+      this.kind = kind;
+      this.model = model;
+      this.metadata = metadata;
+      this.sql = sql;
+      this.related = related;
+      this.params = params;
+    }
+  }
+
+  private final CrudExecutor crudExecutor;
+  private final VMCQueryExecutor queryExecutor;
+  private final int batchSize;
+
+  /** Các thao tác và câu lệnh thô đang chờ, theo thứ tự được xếp. */
+  private final List<Operation> operations = new ArrayList<>();
+
+  /**
+   * Thao tác INSERT/UPDATE đang chờ của mỗi thực thể trong đoạn thao tác cuối cùng của hàng đợi,
+   * theo định danh đối tượng. Được làm rỗng khi một câu lệnh thô được xếp, để thực thể được lưu lại
+   * sau câu lệnh đó nhận một thao tác mới.
+   */
+  private final Map<Model, Operation> entityOperations = new IdentityHashMap<>();
+
+  /** Các thực thể đang chờ INSERT trong toàn bộ hàng đợi, theo định danh đối tượng. */
+  private final Map<Model, Operation> pendingInserts = new IdentityHashMap<>();
+
+  private boolean flushing = false;
+
+  /**
+   * Khởi tạo một hàng đợi ghi trễ.
+   *
+   * @param crudExecutor Trình thực thi INSERT/UPDATE dùng khi flush.
+   * @param queryExecutor Backend thực thi các câu lệnh thô và liên kết.
+   * @param batchSize Số câu lệnh tối đa trong một lô; giá trị nhỏ hơn hoặc bằng 0 gửi mỗi nhóm
+   *     trong một lô.
+   */
+  private VMCUnitOfWork(CrudExecutor crudExecutor, VMCQueryExecutor queryExecutor, int batchSize) {
+    this.crudExecutor = crudExecutor;
+    this.queryExecutor = queryExecutor;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Lấy hàng đợi của giao dịch hiện tại, tạo mới và gắn vào giao dịch nếu chưa có.
+   *
+   * @param crudExecutor Trình thực thi INSERT/UPDATE dùng khi flush.
+   * @param queryExecutor Backend thực thi các câu lệnh thô và liên kết.
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   * @return Hàng đợi của giao dịch, hoặc {@code null} nếu không có giao dịch đang hoạt động.
+   */
+  static VMCUnitOfWork join(
+      CrudExecutor crudExecutor, VMCQueryExecutor queryExecutor, int batchSize) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || !TransactionSynchronizationManager.isActualTransactionActive()) {
+      return null;
+    }
+    VMCUnitOfWork unitOfWork =
+        (VMCUnitOfWork) TransactionSynchronizationManager.getResource(VMCUnitOfWork.class);
+    if (unitOfWork == null) {
+      unitOfWork = new VMCUnitOfWork(crudExecutor, queryExecutor, batchSize);
+      TransactionSynchronizationManager.bindResource(VMCUnitOfWork.class, unitOfWork);
+      TransactionSynchronizationManager.registerSynchronization(unitOfWork);
+    }
+    return unitOfWork;
+  }
+
+  /**
+   * Lấy hàng đợi đang nhận thao tác của giao dịch hiện tại.
+   *
+   * @return Hàng đợi, hoặc {@code null} nếu ghi trễ không hoạt động hoặc hàng đợi đang flush (các
+   *     thao tác phát sinh trong lúc flush được thực thi ngay).
+   */
+  public static VMCUnitOfWork current() {
+    VMCUnitOfWork unitOfWork =
+        (VMCUnitOfWork) TransactionSynchronizationManager.getResource(VMCUnitOfWork.class);
+    return unitOfWork == null || unitOfWork.flushing ? null : unitOfWork;
+  }
+
+  /**
+   * Flush hàng đợi của giao dịch hiện tại nếu có. Được gọi trước mỗi câu lệnh bởi các backend
+   * {@link VMCQueryExecutor} có sẵn.
+   */
+  public static void flushCurrent() {
+    VMCUnitOfWork unitOfWork = current();
+    if (unitOfWork != null) {
+      unitOfWork.flush();
+    }
+  }
+
+  /**
+   * Xếp lịch INSERT một thực thể mới. Không làm gì nếu thực thể đã có thao tác đang chờ.
+   *
+   * @param model Thực thể cần chèn.
+   * @param metadata Metadata của thực thể.
+   */
+  public void scheduleInsert(Model model, EntityMetadata metadata) {
+    scheduleEntity(Kind.INSERT, model, metadata);
+  }
+
+  /**
+   * Xếp lịch UPDATE một thực thể đã tồn tại. Không làm gì nếu thực thể đã có thao tác đang chờ.
+   *
+   * @param model Thực thể cần cập nhật.
+   * @param metadata Metadata của thực thể.
+   */
+  public void scheduleUpdate(Model model, EntityMetadata metadata) {
+    scheduleEntity(Kind.UPDATE, model, metadata);
+  }
+
+  /**
+   * Kiểm tra một thực thể có đang chờ INSERT trong hàng đợi hay không.
+   *
+   * <p>Thực thể có khóa chính sinh phía ứng dụng đã có khóa trước khi được chèn; phương thức này
+   * cho biết bản ghi của nó chưa tồn tại trong cơ sở dữ liệu.
+   *
+   * @param model Thực thể cần kiểm tra.
+   * @return {@code true} nếu thực thể có thao tác INSERT đang chờ.
+   */
+  public boolean isPendingInsert(Model model) {
+    return pendingInserts.containsKey(model);
+  }
+
+  /**
+   * Xếp lịch chèn một liên kết vào bảng trung gian.
+   *
+   * @param sql Câu lệnh INSERT với hai tham số {@code #{params.ownerId}} và {@code
+   *     #{params.relatedId}}.
+   * @param owner Thực thể sở hữu.
+   * @param related Thực thể liên quan.
+   */
+  public void scheduleLink(String sql, Model owner, Model related) {
+    operations.add(new Operation(Kind.LINK, owner, null, sql, related, null));
+  }
+
+  /**
+   * Xếp lịch một câu lệnh UPDATE/DELETE có tham số cố định.
+   *
+   * @param sql Câu lệnh SQL.
+   * @param params Map tham số.
+   */
+  public void scheduleStatement(String sql, Map<String, Object> params) {
+    operations.add(new Operation(Kind.STATEMENT, null, null, sql, null, params));
+    entityOperations.clear();
+  }
+
+  /** Gửi tất cả các thao tác đang chờ xuống cơ sở dữ liệu. */
+  @Override
+  public void flush() {
+    if (flushing || operations.isEmpty()) {
+      return;
+    }
+    flushing = true;
+    try {
+      List<Operation> pending = new ArrayList<>(operations);
+      operations.clear();
+      entityOperations.clear();
+      pendingInserts.clear();
+
+      int from = 0;
+      while (from < pending.size()) {
+        boolean statement = pending.get(from).kind == Kind.STATEMENT;
+        int to = from + 1;
+        while (to < pending.size() && (pending.get(to).kind == Kind.STATEMENT) == statement) {
+          to++;
+        }
+        if (statement) {
+          executeStatements(pending.subList(from, to));
+        } else {
+          executeOperations(pending.subList(from, to));
+        }
+        from = to;
+      }
+    } catch (VMCException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error while flushing pending writes.", e);
+    } finally {
+      flushing = false;
+    }
+  }
+
+  @Override
+  public void beforeCommit(boolean readOnly) {
+    flush();
+  }
+
+  @Override
+  public void suspend() {
+    TransactionSynchronizationManager.unbindResourceIfPossible(VMCUnitOfWork.class);
+  }
+
+  @Override
+  public void resume() {
+    TransactionSynchronizationManager.bindResource(VMCUnitOfWork.class, this);
+  }
+
+  @Override
+  public void afterCompletion(int status) {
+    TransactionSynchronizationManager.unbindResourceIfPossible(VMCUnitOfWork.class);
+    operations.clear();
+    entityOperations.clear();
+    pendingInserts.clear();
+  }
+
+  /**
+   * Xếp lịch một thao tác INSERT/UPDATE, bỏ qua nếu thực thể đã có thao tác đang chờ.
+   *
+   * @param kind Loại thao tác.
+   * @param model Thực thể.
+   * @param metadata Metadata của thực thể.
+   */
+  private void scheduleEntity(Kind kind, Model model, EntityMetadata metadata) {
+    if (entityOperations.containsKey(model)) {
+      return;
+    }
+    Operation operation = new Operation(kind, model, metadata, null, null, null);
+    entityOperations.put(model, operation);
+    if (kind == Kind.INSERT) {
+      pendingInserts.put(model, operation);
+    }
+    operations.add(operation);
+  }
+
+  /**
+   * Thực thi một đoạn câu lệnh thô theo thứ tự, gom các câu lệnh liên tiếp giống nhau thành một
+   * lô.
+   *
+   * @param pending Các câu lệnh đang chờ.
+   */
+  private void executeStatements(List<Operation> pending) {
+    int from = 0;
+    while (from < pending.size()) {
+      String sql = pending.get(from).sql;
+      int to = from + 1;
+      while (to < pending.size() && pending.get(to).sql.equals(sql)) {
+        to++;
+      }
+      List<Map<String, Object>> batch = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        batch.add(pending.get(i).params);
+      }
+      if (batch.size() == 1) {
+        queryExecutor.update(sql, batch.get(0));
+      } else {
+        executeBatches(sql, batch);
+      }
+      from = to;
+    }
+  }
+
+  /**
+   * Thực thi một đoạn thao tác trên thực thể và liên kết theo từng tầng phụ thuộc.
+   *
+   * @param pending Các thao tác của đoạn, theo thứ tự được xếp.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void executeOperations(List<Operation> pending) throws Exception {
+    Map<Model, Operation> segmentInserts = new IdentityHashMap<>();
+    for (Operation operation : pending) {
+      if (operation.kind == Kind.INSERT) {
+        segmentInserts.put(operation.model, operation);
+      }
+    }
+
+    Map<Operation, Integer> levels = new IdentityHashMap<>();
+    int maxLevel = 0;
+    for (Operation operation : pending) {
+      maxLevel = Math.max(maxLevel, levelOf(operation, segmentInserts, levels));
+    }
+
+    for (int level = 0; level <= maxLevel; level++) {
+      Map<EntityMetadata, List<Model>> inserts = new LinkedHashMap<>();
+      Map<EntityMetadata, List<Model>> updates = new LinkedHashMap<>();
+      List<Operation> links = new ArrayList<>();
+      for (Operation operation : pending) {
+        if (levels.get(operation) != level) {
+          continue;
+        }
+        if (operation.kind == Kind.INSERT) {
+          inserts.computeIfAbsent(operation.metadata, k -> new ArrayList<>()).add(operation.model);
+        } else if (operation.kind == Kind.UPDATE) {
+          updates.computeIfAbsent(operation.metadata, k -> new ArrayList<>()).add(operation.model);
+        } else {
+          links.add(operation);
+        }
+      }
+
+      for (Map.Entry<EntityMetadata, List<Model>> group : inserts.entrySet()) {
+        crudExecutor.insertAll(group.getValue(), group.getKey(), effectiveBatchSize(group));
+      }
+      for (Map.Entry<EntityMetadata, List<Model>> group : updates.entrySet()) {
+        crudExecutor.updateAll(group.getValue(), group.getKey(), effectiveBatchSize(group));
+      }
+
+      Map<String, List<Map<String, Object>>> linksBySql = new LinkedHashMap<>();
+      for (Operation link : links) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("ownerId", link.model.getPrimaryKey());
+        params.put("relatedId", link.related.getPrimaryKey());
+        linksBySql.computeIfAbsent(link.sql, k -> new ArrayList<>()).add(params);
+      }
+      for (Map.Entry<String, List<Map<String, Object>>> group : linksBySql.entrySet()) {
+        executeBatches(group.getKey(), group.getValue());
+      }
+    }
+  }
+
+  /**
+   * Tính tầng phụ thuộc của một thao tác: 0 nếu nó không phụ thuộc vào thực thể nào đang chờ
+   * INSERT, ngược lại lớn hơn tầng của các thực thể đó một đơn vị. Các vòng phụ thuộc được cắt tại
+   * thao tác đang được tính.
+   *
+   * @param operation Thao tác cần tính.
+   * @param segmentInserts Các thao tác INSERT của đoạn, theo thực thể.
+   * @param levels Các tầng đã tính; giá trị {@code -1} đánh dấu thao tác đang được tính.
+   * @return Tầng của thao tác, hoặc {@code -1} nếu thao tác đang được tính (vòng phụ thuộc).
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private int levelOf(
+      Operation operation, Map<Model, Operation> segmentInserts, Map<Operation, Integer> levels)
+      throws Exception {
+    Integer known = levels.get(operation);
+    if (known != null) {
+      return known;
+    }
+    levels.put(operation, -1);
+    List<Model> dependencies = new ArrayList<>();
+    if (operation.kind == Kind.LINK) {
+      dependencies.add(operation.model);
+      dependencies.add(operation.related);
+    } else {
+      dependencies.addAll(getOwningAssociations(operation.model, operation.metadata));
+    }
+    int level = 0;
+    for (Model dependency : dependencies) {
+      Operation insert = segmentInserts.get(dependency);
+      if (insert == null) {
+        continue;
+      }
+      int dependencyLevel = levelOf(insert, segmentInserts, levels);
+      if (dependencyLevel >= 0) {
+        level = Math.max(level, dependencyLevel + 1);
+      }
+    }
+    levels.put(operation, level);
+    return level;
+  }
+
+  /**
+   * Gửi một câu lệnh với nhiều bộ tham số theo từng lô.
+   *
+   * @param sql Câu lệnh SQL.
+   * @param batchParams Các bộ tham số.
+   */
+  private void executeBatches(String sql, List<Map<String, Object>> batchParams) {
+    int size = batchSize > 0 ? batchSize : batchParams.size();
+    for (int from = 0; from < batchParams.size(); from += size) {
+      queryExecutor.updateBatch(
+          sql, batchParams.subList(from, Math.min(from + size, batchParams.size())));
+    }
+  }
+
+  /**
+   * Xác định kích thước lô cho một nhóm thực thể.
+   *
+   * @param group Nhóm thực thể cùng lớp.
+   * @return {@code vmc.batch-size} nếu lớn hơn 0, ngược lại là kích thước của nhóm.
+   */
+  private int effectiveBatchSize(Map.Entry<EntityMetadata, List<Model>> group) {
+    return batchSize > 0 ? batchSize : Math.max(1, group.getValue().size());
+  }
+
+  /**
+   * Lấy các thực thể ở phía "sở hữu" của các mối quan hệ To-One của một thực thể.
+   *
+   * @param model Thực thể.
+   * @param metadata Metadata của thực thể.
+   * @return Danh sách các thực thể liên quan khác null.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private List<Model> getOwningAssociations(Model model, EntityMetadata metadata)
+      throws Exception {
+    List<Model> associations = new ArrayList<>();
+    for (RelationMetadata relMeta : metadata.getRelations().values()) {
+      if (relMeta.isOwningSideOfAssociation()) {
+        Field field = findField(model.getClass(), relMeta.getFieldName());
+        field.setAccessible(true);
+        Object relatedValue = field.get(model);
+        if (relatedValue instanceof Model) {
+          associations.add((Model) relatedValue);
+        }
+      }
+    }
+    return associations;
+  }
+
+  /**
+   * Tìm một trường (field) trong một lớp hoặc các lớp cha của nó.
+   *
+   * @param clazz Lớp bắt đầu tìm kiếm.
+   * @param fieldName Tên của trường cần tìm.
+   * @return Đối tượng {@code Field} nếu tìm thấy.
+   * @throws NoSuchFieldException nếu không tìm thấy trường.
+   */
+  private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+    Class<?> current = clazz;
+    while (current != null && !current.equals(Object.class)) {
+      try {
+        return current.getDeclaredField(fieldName);
+      } catch (NoSuchFieldException e) {
+        current = current.getSuperclass();
+      }
+    }
+    throw new NoSuchFieldException(fieldName);
+  }
+}
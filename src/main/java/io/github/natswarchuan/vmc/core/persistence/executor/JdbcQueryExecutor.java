@@ -0,0 +1,396 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import io.github.natswarchuan.vmc.core.persistence.VMCUnitOfWork;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+/**
+ * Triển khai {@link VMCQueryExecutor} bằng JDBC thuần.
+ *
+ * <p>Backend này bỏ qua toàn bộ tầng MyBatis (phân tích câu lệnh, tạo {@code MappedStatement},
+ * type handler). Các placeholder {@code #{params.ten}} được chuyển sang tham số vị trí {@code ?}
+ * thông qua {@link ParsedSql}, kết quả chuyển đổi được cache theo nội dung SQL. Vì chuỗi SQL gửi
+ * tới driver luôn ổn định, driver có thể tái sử dụng các prepared statement đã biên dịch theo nội
+ * dung câu lệnh (ví dụ với MySQL: {@code cachePrepStmts=true&useServerPrepStmts=true}).
+ *
+ * <p>Kết nối được lấy thông qua {@link DataSourceUtils} nên backend tham gia đầy đủ vào các giao
+ * dịch {@code @Transactional} của Spring. Lỗi SQL được dịch sang {@link DataAccessException} giống
+ * như backend MyBatis.
+ *
+ * <p>Các thao tác theo lô ({@link #insertBatch}, {@link #updateBatch}) dùng {@code
+ * addBatch}/{@code executeBatch}; khóa sinh ra được đọc qua {@code getGeneratedKeys}. Với MySQL,
+ * nên bật {@code rewriteBatchedStatements=true} để driver gộp lô thành câu lệnh nhiều hàng.
+ *
+ * <p>Kích hoạt bằng thuộc tính {@code vmc.executor=jdbc}; bean được đăng ký bởi {@code
+ * VMCExecutorAutoConfiguration}.
+ *
+ * @author NatswarChuan
+ */
+public class JdbcQueryExecutor implements VMCQueryExecutor {
+
+  private final DataSource dataSource;
+  private final SQLExceptionTranslator exceptionTranslator;
+
+  /**
+   * Khởi tạo một instance mới của JdbcQueryExecutor.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   */
+  public JdbcQueryExecutor(DataSource dataSource) {
+    this.dataSource = dataSource;
+    this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+  }
+
+  @Override
+  public List<Map<String, Object>> execute(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(parsed.getSql())) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      bindParameters(statement, parsed.bind(params));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return readRows(resultSet);
+      }
+    } catch (SQLException e) {
+      throw translate("execute", parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  @Override
+  public void query(String sql, Map<String, Object> params, Consumer<VMCResultRow> rowHandler) {
+    VMCUnitOfWork.flushCurrent();
+    queryRows(dataSource, exceptionTranslator, sql, params, rowHandler);
+  }
+
+  @Override
+  public int insert(String sql, Map<String, Object> params) {
+    return insert(sql, params, null);
+  }
+
+  @Override
+  public int insert(String sql, Map<String, Object> params, String keyColumn) {
+    VMCUnitOfWork.flushCurrent();
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement =
+        connection.prepareStatement(parsed.getSql(), Statement.RETURN_GENERATED_KEYS)) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      bindParameters(statement, parsed.bind(params));
+      int affectedRows = statement.executeUpdate();
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        if (keys.next()) {
+          params.put("id", readGeneratedKey(keys, keyColumn));
+        }
+      }
+      return affectedRows;
+    } catch (SQLException e) {
+      throw translate("insert", parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  @Override
+  public int update(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return executeUpdate("update", sql, params);
+  }
+
+  @Override
+  public int delete(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return executeUpdate("delete", sql, params);
+  }
+
+  @Override
+  public int[] insertBatch(String sql, List<Map<String, Object>> batchParams) {
+    return insertBatch(sql, batchParams, null);
+  }
+
+  @Override
+  public int[] insertBatch(
+      String sql, List<Map<String, Object>> batchParams, String keyColumn) {
+    VMCUnitOfWork.flushCurrent();
+    return insertRows(dataSource, exceptionTranslator, sql, batchParams, keyColumn);
+  }
+
+  @Override
+  public int[] updateBatch(String sql, List<Map<String, Object>> batchParams) {
+    VMCUnitOfWork.flushCurrent();
+    return updateRows(dataSource, exceptionTranslator, sql, batchParams);
+  }
+
+  @Override
+  public VMCRowCursor openCursor(String sql, Map<String, Object> params, int fetchSize) {
+    VMCUnitOfWork.flushCurrent();
+    return new JdbcRowCursor(dataSource, exceptionTranslator, ParsedSql.of(sql), params, fetchSize);
+  }
+
+  /**
+   * Thực thi một câu lệnh thay đổi dữ liệu (UPDATE/DELETE) không cần lấy khóa sinh ra.
+   *
+   * @param task Tên thao tác, dùng cho thông điệp lỗi.
+   * @param sql Câu lệnh SQL với placeholder có tên.
+   * @param params Map tham số.
+   * @return Số hàng đã bị ảnh hưởng.
+   */
+  private int executeUpdate(String task, String sql, Map<String, Object> params) {
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(parsed.getSql())) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      bindParameters(statement, parsed.bind(params));
+      return statement.executeUpdate();
+    } catch (SQLException e) {
+      throw translate(task, parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  /**
+   * Thực thi một câu lệnh SELECT và chuyển từng hàng cho {@code rowHandler} thông qua một bộ đệm
+   * {@link VMCResultRow} dùng lại cho mọi hàng.
+   *
+   * <p>Nhãn cột chỉ được đọc một lần từ {@link ResultSetMetaData}; mỗi hàng chỉ tốn các lời gọi
+   * {@code getObject} theo chỉ số, không tạo Map.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   * @param exceptionTranslator Bộ dịch lỗi SQL.
+   * @param sql Câu lệnh SQL với placeholder có tên.
+   * @param params Map tham số.
+   * @param rowHandler Hàm xử lý mỗi hàng.
+   */
+  static void queryRows(
+      DataSource dataSource,
+      SQLExceptionTranslator exceptionTranslator,
+      String sql,
+      Map<String, Object> params,
+      Consumer<VMCResultRow> rowHandler) {
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(parsed.getSql())) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      bindParameters(statement, parsed.bind(params));
+      try (ResultSet resultSet = statement.executeQuery()) {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+          labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        VMCResultRow row = new VMCResultRow(labels, new Object[columnCount]);
+        while (resultSet.next()) {
+          for (int i = 0; i < columnCount; i++) {
+            row.setObject(i, resultSet.getObject(i + 1));
+          }
+          rowHandler.accept(row);
+        }
+      }
+    } catch (SQLException e) {
+      throw translate(exceptionTranslator, "query", parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  /**
+   * Thực thi cùng một câu lệnh INSERT cho nhiều bộ tham số bằng {@code addBatch}/{@code
+   * executeBatch} trên kết nối gắn với giao dịch hiện tại, và đặt khóa sinh ra vào khóa {@code
+   * "id"} của từng map tham số theo thứ tự.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   * @param exceptionTranslator Bộ dịch lỗi SQL.
+   * @param sql Câu lệnh SQL với placeholder có tên.
+   * @param batchParams Danh sách các map tham số, phải cho phép ghi.
+   * @param keyColumn Tên cột khóa chính cần đọc, hoặc {@code null} để đọc cột đầu tiên.
+   * @return Số hàng bị ảnh hưởng của từng câu lệnh trong lô.
+   */
+  static int[] insertRows(
+      DataSource dataSource,
+      SQLExceptionTranslator exceptionTranslator,
+      String sql,
+      List<Map<String, Object>> batchParams,
+      String keyColumn) {
+    if (batchParams.isEmpty()) {
+      return new int[0];
+    }
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement =
+        connection.prepareStatement(parsed.getSql(), Statement.RETURN_GENERATED_KEYS)) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      for (Map<String, Object> params : batchParams) {
+        bindParameters(statement, parsed.bind(params));
+        statement.addBatch();
+      }
+      int[] results = statement.executeBatch();
+      try (ResultSet keys = statement.getGeneratedKeys()) {
+        int index = 0;
+        while (keys.next() && index < batchParams.size()) {
+          batchParams.get(index++).put("id", readGeneratedKey(keys, keyColumn));
+        }
+      }
+      return results;
+    } catch (SQLException e) {
+      throw translate(exceptionTranslator, "insertBatch", parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  /**
+   * Thực thi cùng một câu lệnh UPDATE/DELETE cho nhiều bộ tham số bằng {@code addBatch}/{@code
+   * executeBatch} trên kết nối gắn với giao dịch hiện tại.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   * @param exceptionTranslator Bộ dịch lỗi SQL.
+   * @param sql Câu lệnh SQL với placeholder có tên.
+   * @param batchParams Danh sách các map tham số.
+   * @return Số hàng bị ảnh hưởng của từng câu lệnh trong lô.
+   */
+  static int[] updateRows(
+      DataSource dataSource,
+      SQLExceptionTranslator exceptionTranslator,
+      String sql,
+      List<Map<String, Object>> batchParams) {
+    if (batchParams.isEmpty()) {
+      return new int[0];
+    }
+    ParsedSql parsed = ParsedSql.of(sql);
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    try (PreparedStatement statement = connection.prepareStatement(parsed.getSql())) {
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      for (Map<String, Object> params : batchParams) {
+        bindParameters(statement, parsed.bind(params));
+        statement.addBatch();
+      }
+      return statement.executeBatch();
+    } catch (SQLException e) {
+      throw translate(exceptionTranslator, "updateBatch", parsed.getSql(), e);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  /**
+   * Đọc khóa sinh ra của hàng hiện tại trong kết quả {@code getGeneratedKeys()}.
+   *
+   * <p>Khóa được đọc theo tên cột nếu kết quả có cột đó (PostgreSQL trả về mọi cột của hàng vừa
+   * chèn); ngược lại, ví dụ với cột {@code GENERATED_KEY} của MySQL, cột đầu tiên được dùng.
+   *
+   * @param keys Kết quả khóa sinh ra, đang ở một hàng hợp lệ.
+   * @param keyColumn Tên cột khóa chính, hoặc {@code null}.
+   * @return Giá trị khóa; khóa dạng số được chuyển thành {@code Long}.
+   * @throws SQLException nếu không đọc được giá trị.
+   */
+  private static Object readGeneratedKey(ResultSet keys, String keyColumn) throws SQLException {
+    int index = 1;
+    if (keyColumn != null) {
+      ResultSetMetaData metaData = keys.getMetaData();
+      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+        if (keyColumn.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+          index = i;
+          break;
+        }
+      }
+    }
+    Object key = keys.getObject(index);
+    return key instanceof Number ? ((Number) key).longValue() : key;
+  }
+
+  /**
+   * Gán các giá trị tham số theo vị trí cho một prepared statement.
+   *
+   * @param statement Prepared statement cần gán tham số.
+   * @param values Các giá trị theo thứ tự vị trí.
+   * @throws SQLException nếu driver từ chối giá trị.
+   */
+  static void bindParameters(PreparedStatement statement, Object[] values) throws SQLException {
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value == null) {
+        statement.setNull(i + 1, Types.NULL);
+      } else if (value instanceof Enum) {
+        statement.setString(i + 1, ((Enum<?>) value).name());
+      } else {
+        statement.setObject(i + 1, value);
+      }
+    }
+  }
+
+  /**
+   * Đọc toàn bộ các hàng của một {@link ResultSet} thành danh sách các Map.
+   *
+   * <p>Mọi cột đều được đưa vào Map của hàng, kể cả các cột có giá trị {@code null}, để trạng thái
+   * đã biết của thực thể (dùng cho dirty checking) ghi nhận đầy đủ các cột đã được đọc.
+   *
+   * @param resultSet ResultSet cần đọc.
+   * @return Danh sách các hàng.
+   * @throws SQLException nếu có lỗi khi đọc dữ liệu.
+   */
+  private List<Map<String, Object>> readRows(ResultSet resultSet) throws SQLException {
+    ResultSetMetaData metaData = resultSet.getMetaData();
+    int columnCount = metaData.getColumnCount();
+    String[] labels = new String[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      labels[i] = metaData.getColumnLabel(i + 1);
+    }
+
+    List<Map<String, Object>> rows = new ArrayList<>();
+    while (resultSet.next()) {
+      Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+      for (int i = 0; i < columnCount; i++) {
+        row.put(labels[i], resultSet.getObject(i + 1));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * Dịch một {@link SQLException} sang cây ngoại lệ {@link DataAccessException} của Spring.
+   *
+   * @param task Tên thao tác đang thực hiện.
+   * @param sql Câu lệnh SQL gây ra lỗi.
+   * @param e Ngoại lệ gốc.
+   * @return Ngoại lệ đã được dịch.
+   */
+  private DataAccessException translate(String task, String sql, SQLException e) {
+    return translate(exceptionTranslator, task, sql, e);
+  }
+
+  /**
+   * Dịch một {@link SQLException} bằng một bộ dịch lỗi cho trước.
+   *
+   * @param exceptionTranslator Bộ dịch lỗi SQL.
+   * @param task Tên thao tác đang thực hiện.
+   * @param sql Câu lệnh SQL gây ra lỗi.
+   * @param e Ngoại lệ gốc.
+   * @return Ngoại lệ đã được dịch.
+   */
+  static DataAccessException translate(
+      SQLExceptionTranslator exceptionTranslator, String task, String sql, SQLException e) {
+    DataAccessException translated = exceptionTranslator.translate(task, sql, e);
+    return translated != null ? translated : new UncategorizedSQLException(task, sql, e);
+  }
+}
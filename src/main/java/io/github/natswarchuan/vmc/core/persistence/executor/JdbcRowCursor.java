@@ -0,0 +1,135 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.sql.DataSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+/**
+ * Triển khai {@link VMCRowCursor} dựa trên một {@link ResultSet} chỉ đọc, chỉ tiến (forward-only).
+ *
+ * <p>Kết nối được lấy thông qua {@link DataSourceUtils} nên con trỏ dùng chung kết nối của giao
+ * dịch hiện tại (nếu có), và chỉ thực sự trả kết nối về pool khi không có giao dịch nào đang hoạt
+ * động. Kích thước fetch được truyền thẳng cho driver, bao gồm giá trị {@link Integer#MIN_VALUE}
+ * để bật chế độ streaming từng hàng của MySQL. Mỗi hàng được đọc bằng {@code getObject} theo chỉ số
+ * vào một bộ đệm {@link VMCResultRow} duy nhất của con trỏ.
+ *
+ * @author NatswarChuan
+ */
+final class JdbcRowCursor implements VMCRowCursor {
+
+  private final DataSource dataSource;
+  private final SQLExceptionTranslator exceptionTranslator;
+  private final String sql;
+  private final Connection connection;
+  private PreparedStatement statement;
+  private ResultSet resultSet;
+  private VMCResultRow row;
+  private boolean hasPendingRow;
+  private boolean closed;
+
+  /**
+   * Mở một con trỏ mới và thực thi câu lệnh.
+   *
+   * @param dataSource Nguồn dữ liệu dùng để lấy kết nối.
+   * @param exceptionTranslator Bộ dịch lỗi SQL.
+   * @param parsed Câu lệnh SQL đã được chuyển sang tham số vị trí.
+   * @param params Map tham số có tên.
+   * @param fetchSize Kích thước fetch gợi ý cho driver; {@code 0} để dùng mặc định của driver.
+   */
+  JdbcRowCursor(
+      DataSource dataSource,
+      SQLExceptionTranslator exceptionTranslator,
+      ParsedSql parsed,
+      Map<String, Object> params,
+      int fetchSize) {
+    this.dataSource = dataSource;
+    this.exceptionTranslator = exceptionTranslator;
+    this.sql = parsed.getSql();
+    this.connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      this.statement =
+          connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      DataSourceUtils.applyTransactionTimeout(statement, dataSource);
+      if (fetchSize != 0) {
+        statement.setFetchSize(fetchSize);
+      }
+      JdbcQueryExecutor.bindParameters(statement, parsed.bind(params));
+      this.resultSet = statement.executeQuery();
+      ResultSetMetaData metaData = resultSet.getMetaData();
+      String[] labels = new String[metaData.getColumnCount()];
+      for (int i = 0; i < labels.length; i++) {
+        labels[i] = metaData.getColumnLabel(i + 1);
+      }
+      this.row = new VMCResultRow(labels, new Object[labels.length]);
+    } catch (SQLException e) {
+      close();
+      throw translate(e);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (hasPendingRow) {
+      return true;
+    }
+    if (closed) {
+      return false;
+    }
+    try {
+      if (!resultSet.next()) {
+        close();
+        return false;
+      }
+      int columnCount = row.getLabels().length;
+      for (int i = 0; i < columnCount; i++) {
+        row.setObject(i, resultSet.getObject(i + 1));
+      }
+      hasPendingRow = true;
+      return true;
+    } catch (SQLException e) {
+      close();
+      throw translate(e);
+    }
+  }
+
+  @Override
+  public VMCResultRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    hasPendingRow = false;
+    return row;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    JdbcUtils.closeResultSet(resultSet);
+    JdbcUtils.closeStatement(statement);
+    DataSourceUtils.releaseConnection(connection, dataSource);
+  }
+
+  /**
+   * Dịch một {@link SQLException} sang cây ngoại lệ {@link DataAccessException} của Spring.
+   *
+   * @param e Ngoại lệ gốc.
+   * @return Ngoại lệ đã được dịch.
+   */
+  private DataAccessException translate(SQLException e) {
+    DataAccessException translated = exceptionTranslator.translate("cursor", sql, e);
+    return translated != null ? translated : new UncategorizedSQLException("cursor", sql, e);
+  }
+}
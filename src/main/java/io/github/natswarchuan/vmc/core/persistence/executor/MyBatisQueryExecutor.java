@@ -0,0 +1,121 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import io.github.natswarchuan.vmc.core.persistence.VMCUnitOfWork;
+import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+/**
+ * Triển khai {@link VMCQueryExecutor} dựa trên MyBatis.
+ *
+ * <p>Đây là backend mặc định. Mọi lời gọi được chuyển tiếp nguyên vẹn tới {@link
+ * GenericQueryExecutorMapper}, nơi MyBatis tự xử lý các placeholder {@code #{params.ten}}.
+ *
+ * <p><b>Lưu ý:</b> riêng {@link #openCursor} và {@link #query} (dùng để ánh xạ kết quả thành thực
+ * thể, kể cả {@code cursor()}/{@code stream()}/{@code forEach()} của {@code VMCQueryBuilder}) đọc
+ * trực tiếp từ {@code ResultSet} bằng JDBC trên {@code DataSource} của MyBatis, theo chỉ số cột
+ * vào một {@link VMCResultRow} dùng lại cho mọi hàng, không tạo Map cho mỗi hàng. Các lời gọi
+ * này <b>không</b> đi qua MyBatis: {@code TypeHandler}, interceptor/plugin và các thiết lập của
+ * {@code Configuration} (ví dụ {@code mapUnderscoreToCamelCase}, {@code callSettersOnNulls}) không
+ * được áp dụng; giá trị cột được đọc bằng {@code getObject} của driver.
+ * Kết nối được lấy qua {@code DataSourceUtils}, nên chúng dùng chung kết nối với các câu lệnh
+ * MyBatis khác trong cùng giao dịch. {@link #execute}, {@link #insert}, {@link #update} và {@link
+ * #delete} vẫn đi qua mapper MyBatis.
+ *
+ * <p>Tương tự, {@link #insertBatch} và {@link #updateBatch} gửi cả lô bằng {@code
+ * addBatch}/{@code executeBatch} của JDBC trên kết nối của giao dịch hiện tại, dùng chung mã với
+ * {@link JdbcQueryExecutor}. Một phiên MyBatis thông thường không thể chuyển sang {@code
+ * ExecutorType.BATCH} giữa một giao dịch Spring, nên lô không đi qua mapper. Sau mỗi lô, cache cục
+ * bộ của phiên MyBatis trong giao dịch được xóa để các truy vấn {@link #execute} sau đó không trả
+ * về kết quả cũ.
+ *
+ * @author NatswarChuan
+ */
+public class MyBatisQueryExecutor implements VMCQueryExecutor {
+
+  private final GenericQueryExecutorMapper mapper;
+  private final SqlSessionTemplate sqlSession;
+  private final DataSource dataSource;
+  private final SQLExceptionTranslator exceptionTranslator;
+
+  /**
+   * Khởi tạo một instance mới của MyBatisQueryExecutor.
+   *
+   * @param mapper Mapper MyBatis chung dùng để thực thi SQL động.
+   * @param sqlSessionFactory Factory của MyBatis, dùng để lấy {@code DataSource} cho con trỏ và các
+   *     lô, và để xóa cache của phiên trong giao dịch.
+   */
+  public MyBatisQueryExecutor(
+      GenericQueryExecutorMapper mapper, SqlSessionFactory sqlSessionFactory) {
+    this.mapper = mapper;
+    this.sqlSession = new SqlSessionTemplate(sqlSessionFactory);
+    this.dataSource = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+    this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+  }
+
+  @Override
+  public List<Map<String, Object>> execute(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return mapper.execute(sql, params);
+  }
+
+  @Override
+  public void query(String sql, Map<String, Object> params, Consumer<VMCResultRow> rowHandler) {
+    VMCUnitOfWork.flushCurrent();
+    JdbcQueryExecutor.queryRows(dataSource, exceptionTranslator, sql, params, rowHandler);
+  }
+
+  @Override
+  public int insert(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return mapper.insert(sql, params);
+  }
+
+  @Override
+  public int update(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return mapper.update(sql, params);
+  }
+
+  @Override
+  public int delete(String sql, Map<String, Object> params) {
+    VMCUnitOfWork.flushCurrent();
+    return mapper.delete(sql, params);
+  }
+
+  @Override
+  public int[] insertBatch(String sql, List<Map<String, Object>> batchParams) {
+    return insertBatch(sql, batchParams, null);
+  }
+
+  @Override
+  public int[] insertBatch(
+      String sql, List<Map<String, Object>> batchParams, String keyColumn) {
+    VMCUnitOfWork.flushCurrent();
+    int[] results =
+        JdbcQueryExecutor.insertRows(dataSource, exceptionTranslator, sql, batchParams, keyColumn);
+    sqlSession.clearCache();
+    return results;
+  }
+
+  @Override
+  public int[] updateBatch(String sql, List<Map<String, Object>> batchParams) {
+    VMCUnitOfWork.flushCurrent();
+    int[] results =
+        JdbcQueryExecutor.updateRows(dataSource, exceptionTranslator, sql, batchParams);
+    sqlSession.clearCache();
+    return results;
+  }
+
+  @Override
+  public VMCRowCursor openCursor(String sql, Map<String, Object> params, int fetchSize) {
+    VMCUnitOfWork.flushCurrent();
+    return new JdbcRowCursor(dataSource, exceptionTranslator, ParsedSql.of(sql), params, fetchSize);
+  }
+}
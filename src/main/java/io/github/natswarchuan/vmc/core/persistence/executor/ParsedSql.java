@@ -0,0 +1,94 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+/**
+ * Biểu diễn một câu lệnh SQL đã được chuyển từ placeholder có tên sang tham số vị trí.
+ *
+ * <p>Một câu lệnh như {@code SELECT * FROM users WHERE id = #{params.p0}} được chuyển thành {@code
+ * SELECT * FROM users WHERE id = ?} kèm danh sách tên tham số {@code [p0]} theo đúng thứ tự xuất
+ * hiện. Kết quả phân tích được cache theo nội dung chuỗi SQL nên mỗi dạng câu lệnh chỉ được phân
+ * tích một lần, và chuỗi SQL gửi tới driver luôn giống hệt nhau giữa các lần thực thi.
+ *
+ * @author NatswarChuan
+ */
+@Getter
+public final class ParsedSql {
+
+  private static final Pattern PLACEHOLDER_PATTERN =
+      Pattern.compile("#\\{\\s*params\\.(\\w+)\\s*}");
+
+  /** Số lượng câu lệnh tối đa được giữ trong cache trước khi cache bị làm mới. */
+  private static final int MAX_CACHE_SIZE = 2048;
+
+  private static final Map<String, ParsedSql> CACHE = new ConcurrentHashMap<>();
+
+  /** Câu lệnh SQL với các dấu {@code ?} thay cho placeholder. */
+  private final String sql;
+
+  /** Tên các tham số theo đúng thứ tự của các dấu {@code ?}. */
+  private final List<String> parameterNames;
+
+  private ParsedSql(String sql, List<String> parameterNames) {
+    this.sql = sql;
+    this.parameterNames = parameterNames;
+  }
+
+  /**
+   * Lấy (hoặc phân tích rồi cache) dạng tham số vị trí của một câu lệnh SQL.
+   *
+   * @param namedSql Câu lệnh SQL với các placeholder {@code #{params.ten}}.
+   * @return Đối tượng {@code ParsedSql} tương ứng.
+   */
+  public static ParsedSql of(String namedSql) {
+    ParsedSql parsed = CACHE.get(namedSql);
+    if (parsed != null) {
+      return parsed;
+    }
+    if (CACHE.size() >= MAX_CACHE_SIZE) {
+      CACHE.clear();
+    }
+    return CACHE.computeIfAbsent(namedSql, ParsedSql::parse);
+  }
+
+  /**
+   * Phân tích một câu lệnh SQL có placeholder có tên.
+   *
+   * @param namedSql Câu lệnh SQL gốc.
+   * @return Đối tượng {@code ParsedSql} mới.
+   */
+  private static ParsedSql parse(String namedSql) {
+    Matcher matcher = PLACEHOLDER_PATTERN.matcher(namedSql);
+    StringBuilder sql = new StringBuilder(namedSql.length());
+    List<String> names = new ArrayList<>();
+    int lastEnd = 0;
+    while (matcher.find()) {
+      sql.append(namedSql, lastEnd, matcher.start()).append('?');
+      names.add(matcher.group(1));
+      lastEnd = matcher.end();
+    }
+    sql.append(namedSql, lastEnd, namedSql.length());
+    return new ParsedSql(sql.toString(), Collections.unmodifiableList(names));
+  }
+
+  /**
+   * Tạo mảng giá trị tham số theo thứ tự vị trí từ một map tham số có tên.
+   *
+   * @param params Map tham số có tên.
+   * @return Mảng giá trị, phần tử thứ {@code i} ứng với dấu {@code ?} thứ {@code i + 1}.
+   */
+  public Object[] bind(Map<String, Object> params) {
+    Object[] values = new Object[parameterNames.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = params == null ? null : params.get(parameterNames.get(i));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,200 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Giao diện SPI (Service Provider Interface) cho tầng thực thi SQL của framework VMC.
+ *
+ * <p>Mọi câu lệnh do framework sinh ra (truy vấn của {@code VMCQueryBuilder}, các thao tác lưu,
+ * xóa, đồng bộ quan hệ...) đều đi qua giao diện này. Câu lệnh SQL sử dụng cú pháp placeholder
+ * {@code #{params.ten}}, trong đó {@code ten} là một khóa trong map {@code params}. Mỗi backend tự
+ * quyết định cách chuyển đổi placeholder sang cơ chế bind tham số của nó.
+ *
+ * <p>Framework cung cấp sẵn hai triển khai:
+ *
+ * <ul>
+ *   <li>{@link MyBatisQueryExecutor} (mặc định): ủy quyền cho mapper MyBatis chung. Riêng {@link
+ *       #query} và {@link #openCursor} đọc bằng JDBC thuần, bỏ qua type handler và plugin của
+ *       MyBatis.
+ *   <li>{@link JdbcQueryExecutor}: dùng JDBC thuần với tham số vị trí, kích hoạt bằng thuộc tính
+ *       {@code vmc.executor=jdbc}.
+ * </ul>
+ *
+ * <p>Ứng dụng có thể tự cung cấp một bean triển khai giao diện này để thay thế hoàn toàn backend;
+ * khi đó các triển khai có sẵn không được đăng ký.
+ * Khi dùng {@code vmc.write-behind=true}, mỗi phương thức của triển khai nên gọi {@link
+ * io.github.natswarchuan.vmc.core.persistence.VMCUnitOfWork#flushCurrent()} trước khi thực thi,
+ * giống các triển khai có sẵn, để câu lệnh thấy được các thao tác ghi đang chờ.
+ *
+ * @author NatswarChuan
+ */
+public interface VMCQueryExecutor {
+
+  /**
+   * Thực thi một câu lệnh SELECT.
+   *
+   * @param sql Chuỗi câu lệnh SQL với các placeholder {@code #{params.ten}}.
+   * @param params Một Map chứa các tham số cho câu lệnh truy vấn.
+   * @return Một danh sách các Map, trong đó mỗi Map đại diện cho một hàng kết quả (khóa là nhãn
+   *     cột).
+   */
+  List<Map<String, Object>> execute(String sql, Map<String, Object> params);
+
+  /**
+   * Thực thi một câu lệnh SELECT và chuyển từng hàng kết quả, đọc theo chỉ số cột, cho {@code
+   * rowHandler}.
+   *
+   * <p>Dùng cho việc ánh xạ kết quả thành thực thể mà không tạo Map cho mỗi hàng. Triển khai mặc
+   * định nạp kết quả thông qua {@link #execute} rồi nạp từng Map vào một {@link VMCResultRow} dùng
+   * lại; các backend được cung cấp sẵn ghi đè phương thức này để đọc trực tiếp từ {@code ResultSet}
+   * vào một bộ đệm dùng lại cho mọi hàng.
+   *
+   * @param sql Chuỗi câu lệnh SQL với các placeholder {@code #{params.ten}}.
+   * @param params Một Map chứa các tham số cho câu lệnh truy vấn.
+   * @param rowHandler Hàm xử lý được gọi một lần cho mỗi hàng, không được giữ lại hàng đã nhận.
+   */
+  default void query(String sql, Map<String, Object> params, Consumer<VMCResultRow> rowHandler) {
+    VMCResultRow buffer = null;
+    for (Map<String, Object> row : execute(sql, params)) {
+      if (buffer == null || !buffer.fill(row)) {
+        buffer = VMCResultRow.of(row);
+      }
+      rowHandler.accept(buffer);
+    }
+  }
+
+  /**
+   * Thực thi một câu lệnh INSERT.
+   *
+   * <p>Nếu cơ sở dữ liệu sinh ra khóa tự tăng, giá trị đó sẽ được đặt vào khóa {@code "id"} của map
+   * {@code params}.
+   *
+   * @param sql Chuỗi câu lệnh SQL INSERT.
+   * @param params Một Map chứa các tham số cho câu lệnh, phải cho phép ghi.
+   * @return Số hàng đã bị ảnh hưởng.
+   */
+  int insert(String sql, Map<String, Object> params);
+
+  /**
+   * Thực thi một câu lệnh INSERT và đọc khóa sinh ra từ một cột xác định.
+   *
+   * <p>Một số driver (ví dụ PostgreSQL) trả về toàn bộ các cột của hàng vừa chèn làm khóa sinh ra,
+   * nên cột đầu tiên không nhất thiết là khóa chính. Triển khai mặc định bỏ qua {@code keyColumn}
+   * và gọi {@link #insert(String, Map)}.
+   *
+   * @param sql Chuỗi câu lệnh SQL INSERT.
+   * @param params Một Map chứa các tham số cho câu lệnh, phải cho phép ghi.
+   * @param keyColumn Tên cột khóa chính cần đọc, hoặc {@code null} để đọc cột đầu tiên.
+   * @return Số hàng đã bị ảnh hưởng.
+   */
+  default int insert(String sql, Map<String, Object> params, String keyColumn) {
+    return insert(sql, params);
+  }
+
+  /**
+   * Thực thi một câu lệnh UPDATE.
+   *
+   * @param sql Chuỗi câu lệnh SQL UPDATE.
+   * @param params Một Map chứa các tham số cho câu lệnh.
+   * @return Số hàng đã bị ảnh hưởng.
+   */
+  int update(String sql, Map<String, Object> params);
+
+  /**
+   * Thực thi một câu lệnh DELETE.
+   *
+   * @param sql Chuỗi câu lệnh SQL DELETE.
+   * @param params Một Map chứa các tham số cho câu lệnh.
+   * @return Số hàng đã bị ảnh hưởng.
+   */
+  int delete(String sql, Map<String, Object> params);
+
+  /**
+   * Thực thi cùng một câu lệnh INSERT cho nhiều bộ tham số trong một lô (batch).
+   *
+   * <p>Khóa tự tăng sinh ra cho từng hàng được đặt vào khóa {@code "id"} của map tham số tương ứng,
+   * theo đúng thứ tự của danh sách. Triển khai mặc định thực thi từng câu lệnh một; các backend được
+   * cung cấp sẵn gửi cả lô trong một lần.
+   *
+   * @param sql Chuỗi câu lệnh SQL INSERT dùng chung.
+   * @param batchParams Danh sách các map tham số, mỗi map ứng với một hàng và phải cho phép ghi.
+   * @return Số hàng bị ảnh hưởng của từng câu lệnh trong lô.
+   */
+  default int[] insertBatch(String sql, List<Map<String, Object>> batchParams) {
+    int[] results = new int[batchParams.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = insert(sql, batchParams.get(i));
+    }
+    return results;
+  }
+
+  /**
+   * Thực thi cùng một câu lệnh INSERT cho nhiều bộ tham số trong một lô và đọc khóa sinh ra từ một
+   * cột xác định (xem {@link #insert(String, Map, String)}). Triển khai mặc định bỏ qua {@code
+   * keyColumn} và gọi {@link #insertBatch(String, List)}.
+   *
+   * @param sql Chuỗi câu lệnh SQL INSERT dùng chung.
+   * @param batchParams Danh sách các map tham số, mỗi map ứng với một hàng và phải cho phép ghi.
+   * @param keyColumn Tên cột khóa chính cần đọc, hoặc {@code null} để đọc cột đầu tiên.
+   * @return Số hàng bị ảnh hưởng của từng câu lệnh trong lô.
+   */
+  default int[] insertBatch(
+      String sql, List<Map<String, Object>> batchParams, String keyColumn) {
+    return insertBatch(sql, batchParams);
+  }
+
+  /**
+   * Thực thi cùng một câu lệnh UPDATE/DELETE cho nhiều bộ tham số trong một lô (batch).
+   *
+   * @param sql Chuỗi câu lệnh SQL dùng chung.
+   * @param batchParams Danh sách các map tham số.
+   * @return Số hàng bị ảnh hưởng của từng câu lệnh trong lô.
+   */
+  default int[] updateBatch(String sql, List<Map<String, Object>> batchParams) {
+    int[] results = new int[batchParams.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = update(sql, batchParams.get(i));
+    }
+    return results;
+  }
+
+  /**
+   * Mở một con trỏ để đọc tuần tự kết quả của một câu lệnh SELECT.
+   *
+   * <p>Triển khai mặc định nạp toàn bộ kết quả thông qua {@link #execute} rồi duyệt trên bộ nhớ,
+   * nạp từng Map vào một {@link VMCResultRow} dùng lại; các backend được cung cấp sẵn ghi đè
+   * phương thức này để đọc trực tiếp từ {@code ResultSet} theo chỉ số cột với kích thước fetch cho
+   * trước.
+   *
+   * @param sql Chuỗi câu lệnh SQL với các placeholder {@code #{params.ten}}.
+   * @param params Một Map chứa các tham số cho câu lệnh truy vấn.
+   * @param fetchSize Kích thước fetch gợi ý cho driver; {@code 0} để dùng mặc định của driver.
+   * @return Một con trỏ đang mở, phải được đóng sau khi sử dụng.
+   */
+  default VMCRowCursor openCursor(String sql, Map<String, Object> params, int fetchSize) {
+    Iterator<Map<String, Object>> rows = execute(sql, params).iterator();
+    return new VMCRowCursor() {
+      private VMCResultRow buffer;
+
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public VMCResultRow next() {
+        Map<String, Object> row = rows.next();
+        if (buffer == null || !buffer.fill(row)) {
+          buffer = VMCResultRow.of(row);
+        }
+        return buffer;
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import java.util.Map;
+
+/**
+ * Một hàng kết quả được đọc theo chỉ số cột, dùng cho việc ánh xạ kết quả không qua Map trung gian.
+ *
+ * <p>Các executor được cung cấp sẵn tái sử dụng cùng một instance (cùng mảng nhãn cột) cho mọi
+ * hàng của một {@code ResultSet}: người nhận có thể so sánh {@link #getLabels()} bằng tham chiếu
+ * để chỉ tính kế hoạch ánh xạ một lần, nhưng không được giữ lại instance sau khi xử lý xong hàng.
+ *
+ * @author NatswarChuan
+ */
+public final class VMCResultRow {
+
+  private final String[] labels;
+  private final Object[] values;
+
+  /**
+   * Khởi tạo một hàng kết quả.
+   *
+   * @param labels Nhãn của các cột, theo thứ tự trong kết quả.
+   * @param values Bộ đệm giá trị có cùng độ dài với {@code labels}.
+   */
+  public VMCResultRow(String[] labels, Object[] values) {
+    this.labels = labels;
+    this.values = values;
+  }
+
+  /**
+   * Tạo một hàng kết quả từ một hàng dạng Map (ví dụ kết quả của {@link
+   * VMCQueryExecutor#execute}).
+   *
+   * @param row Hàng dạng Map, key là nhãn cột.
+   * @return Hàng kết quả tương ứng.
+   */
+  public static VMCResultRow of(Map<String, Object> row) {
+    String[] labels = new String[row.size()];
+    Object[] values = new Object[row.size()];
+    int index = 0;
+    for (Map.Entry<String, Object> entry : row.entrySet()) {
+      labels[index] = entry.getKey();
+      values[index] = entry.getValue();
+      index++;
+    }
+    return new VMCResultRow(labels, values);
+  }
+
+  /**
+   * Nạp giá trị của một hàng dạng Map vào bộ đệm này theo nhãn cột, để mọi hàng của cùng một kết
+   * quả dùng chung một instance (và cùng mảng nhãn) như với các executor được cung cấp sẵn.
+   *
+   * <p>Cột có nhãn của bộ đệm nhưng không có trong {@code row} nhận giá trị {@code null}.
+   *
+   * @param row Hàng dạng Map, key là nhãn cột.
+   * @return {@code true} nếu mọi cột của {@code row} đều có trong nhãn của bộ đệm; {@code false}
+   *     nếu hàng có cột mà bộ đệm chưa biết, khi đó cần tạo bộ đệm mới bằng {@link #of(Map)}.
+   */
+  public boolean fill(Map<String, Object> row) {
+    int matched = 0;
+    for (int i = 0; i < labels.length; i++) {
+      Object value = row.get(labels[i]);
+      if (value != null || row.containsKey(labels[i])) {
+        matched++;
+      }
+      values[i] = value;
+    }
+    return matched == row.size();
+  }
+
+  /**
+   * Lấy nhãn của các cột. Mảng trả về không được phép bị thay đổi.
+   *
+   * @return Mảng nhãn cột.
+   */
+  public String[] getLabels() {
+    return labels;
+  }
+
+  /**
+   * Lấy giá trị của một cột theo chỉ số.
+   *
+   * @param index Chỉ số cột, bắt đầu từ 0.
+   * @return Giá trị của cột, có thể là {@code null}.
+   */
+  public Object getObject(int index) {
+    return values[index];
+  }
+
+  /**
+   * Gán giá trị cho một cột; chỉ được dùng bởi executor khi đọc hàng tiếp theo vào bộ đệm.
+   *
+   * @param index Chỉ số cột, bắt đầu từ 0.
+   * @param value Giá trị của cột.
+   */
+  void setObject(int index, Object value) {
+    values[index] = value;
+  }
+}
@@ -0,0 +1,25 @@
+package io.github.natswarchuan.vmc.core.persistence.executor;
+
+import java.util.Iterator;
+
+/**
+ * Một con trỏ (cursor) đọc tuần tự các hàng kết quả của một câu lệnh SELECT.
+ *
+ * <p>Khác với {@link VMCQueryExecutor#execute}, con trỏ không nạp toàn bộ kết quả vào bộ nhớ mà
+ * đọc từng hàng khi được yêu cầu. Con trỏ giữ tài nguyên của cơ sở dữ liệu (kết nối, statement,
+ * result set) cho đến khi được đóng, vì vậy luôn phải gọi {@link #close()} sau khi sử dụng, tốt
+ * nhất là thông qua {@code try-with-resources}.
+ *
+ * <p>Các hàng được đọc theo chỉ số cột vào một {@link VMCResultRow} dùng lại: {@link #next()} trả
+ * về cùng một instance (cùng mảng nhãn cột) cho mọi hàng, nên người dùng không tạo Map cho mỗi hàng
+ * và chỉ cần tính kế hoạch ánh xạ một lần. Giá trị của hàng chỉ hợp lệ cho tới lần gọi {@link
+ * #hasNext()} hoặc {@link #next()} tiếp theo; không được giữ lại instance sau đó.
+ *
+ * @author NatswarChuan
+ */
+public interface VMCRowCursor extends Iterator<VMCResultRow>, AutoCloseable {
+
+  /** Đóng con trỏ và giải phóng các tài nguyên cơ sở dữ liệu liên quan. */
+  @Override
+  void close();
+}
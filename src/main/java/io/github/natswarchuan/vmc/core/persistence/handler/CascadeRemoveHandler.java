@@ -6,15 +6,12 @@ import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
 import io.github.natswarchuan.vmc.core.mapping.JoinTableMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
 import io.github.natswarchuan.vmc.core.persistence.service.RemoveOptions;
 import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import java.lang.reflect.Field;
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -28,21 +25,21 @@ import org.springframework.http.HttpStatus;
  */
 public class CascadeRemoveHandler {
 
-  private GenericQueryExecutorMapper queryExecutor;
+  private VMCQueryExecutor queryExecutor;
 
   /** Khởi tạo một instance mới của CascadeRemoveHandler. */
   public CascadeRemoveHandler() {}
 
   /**
-   * Lấy instance của {@code GenericQueryExecutorMapper} một cách lười biếng (lazy).
+   * Lấy instance của {@code VMCQueryExecutor} một cách lười biếng (lazy).
    *
    * <p>Phương thức này đảm bảo rằng bean chỉ được lấy từ Spring context khi cần thiết lần đầu tiên.
    *
-   * @return instance của {@code GenericQueryExecutorMapper}.
+   * @return instance của {@code VMCQueryExecutor}.
    */
-  private GenericQueryExecutorMapper getQueryExecutor() {
+  private VMCQueryExecutor getQueryExecutor() {
     if (this.queryExecutor == null) {
-      this.queryExecutor = BeanUtil.getBean(GenericQueryExecutorMapper.class);
+      this.queryExecutor = BeanUtil.getBean(VMCQueryExecutor.class);
     }
     return this.queryExecutor;
   }
@@ -104,24 +101,12 @@ public class CascadeRemoveHandler {
     String fkColumn = inverseRelMeta.getJoinColumnName();
     Object ownerId = getPrimaryKeyValue(owner, ownerMeta);
 
-    String selectChildrenSql =
+    // Xóa trực tiếp theo khóa ngoại thay vì đọc danh sách ID con rồi xóa bằng IN, nên câu lệnh
+    // không phụ thuộc vào số lượng bản ghi con.
+    String deleteChildrenSql =
         String.format(
-            "SELECT %s FROM %s WHERE %s = #{params.ownerId}",
-            childMeta.getPrimaryKeyColumnName(), childMeta.getTableName(), fkColumn);
-    List<Map<String, Object>> children =
-        getQueryExecutor().execute(selectChildrenSql, Map.of("ownerId", ownerId));
-
-    if (!children.isEmpty()) {
-      List<Object> childIds =
-          children.stream().map(c -> c.values().iterator().next()).collect(Collectors.toList());
-      String deleteChildrenSql =
-          String.format(
-              "DELETE FROM %s WHERE %s IN (%s)",
-              childMeta.getTableName(),
-              childMeta.getPrimaryKeyColumnName(),
-              childIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
-      getQueryExecutor().delete(deleteChildrenSql, Collections.emptyMap());
-    }
+            "DELETE FROM %s WHERE %s = #{params.ownerId}", childMeta.getTableName(), fkColumn);
+    getQueryExecutor().delete(deleteChildrenSql, Map.of("ownerId", ownerId));
   }
 
   /**
@@ -1,128 +1,442 @@
 package io.github.natswarchuan.vmc.core.persistence.handler;
 
+import io.github.natswarchuan.vmc.core.config.VMCDialect;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.mapping.EntityRowMapper;
 import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.VMCUnitOfWork;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.id.VMCIdGenerator;
+import io.github.natswarchuan.vmc.core.persistence.id.VMCIdGeneratorRegistry;
+import io.github.natswarchuan.vmc.core.persistence.lazy.RelationBatchLoader;
+import io.github.natswarchuan.vmc.core.query.clause.PreparedQuery;
 import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import io.github.natswarchuan.vmc.core.util.DataConverter;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import org.springframework.cglib.proxy.Factory;
 import org.springframework.http.HttpStatus;
 
 /**
- * Chịu trách nhiệm thực thi các câu lệnh INSERT và UPDATE cấp thấp.
+ * Chịu trách nhiệm thực thi các câu lệnh INSERT, UPDATE và upsert cấp thấp.
  *
  * <p>Lớp này xây dựng các câu lệnh SQL động và các tham số tương ứng dựa trên metadata của thực
- * thể, sau đó ủy quyền việc thực thi cho {@link GenericQueryExecutorMapper}.
+ * thể, sau đó ủy quyền việc thực thi cho {@link VMCQueryExecutor}. Khi giao dịch hiện tại có một
+ * {@link VMCUnitOfWork} đang nhận thao tác ({@code vmc.write-behind=true}), INSERT và UPDATE được
+ * xếp vào hàng đợi của nó thay vì thực thi ngay.
  *
  * @author NatswarChuan
  */
 public class CrudExecutor {
 
-  private GenericQueryExecutorMapper queryExecutor;
+  private VMCQueryExecutor queryExecutor;
+  private VMCIdGeneratorRegistry idGeneratorRegistry;
 
   /** Khởi tạo một instance mới của CrudExecutor. */
   public CrudExecutor() {}
 
   /**
-   * Lấy instance của {@code GenericQueryExecutorMapper} một cách lười biếng (lazy).
+   * Lấy instance của {@code VMCQueryExecutor} một cách lười biếng (lazy).
    *
-   * @return instance của {@code GenericQueryExecutorMapper}.
+   * @return instance của {@code VMCQueryExecutor}.
    */
-  private GenericQueryExecutorMapper getQueryExecutor() {
+  private VMCQueryExecutor getQueryExecutor() {
     if (this.queryExecutor == null) {
-      this.queryExecutor = BeanUtil.getBean(GenericQueryExecutorMapper.class);
+      this.queryExecutor = BeanUtil.getBean(VMCQueryExecutor.class);
     }
     return this.queryExecutor;
   }
 
+  /**
+   * Lấy instance của {@code VMCIdGeneratorRegistry} một cách lười biếng (lazy).
+   *
+   * @return instance của {@code VMCIdGeneratorRegistry}.
+   */
+  private VMCIdGeneratorRegistry getIdGeneratorRegistry() {
+    if (this.idGeneratorRegistry == null) {
+      this.idGeneratorRegistry = BeanUtil.getBean(VMCIdGeneratorRegistry.class);
+    }
+    return this.idGeneratorRegistry;
+  }
+
   /**
    * Thực thi một thao tác INSERT cho một thực thể.
    *
    * <p>Phương thức này xây dựng câu lệnh INSERT dựa trên các trường có giá trị khác null trong thực
    * thể. Sau khi thực thi, nếu cơ sở dữ liệu trả về một khóa chính tự tăng, nó sẽ được gán lại vào
-   * thực thể.
+   * thực thể. Nếu trường khóa chính có {@code @VMCGeneratedValue} với chiến lược phía ứng dụng,
+   * khóa được sinh và gán trước khi câu lệnh được xây dựng, và được chèn cùng các cột khác.
    *
    * @param model Thực thể cần chèn vào cơ sở dữ liệu.
    * @param metadata Metadata của thực thể.
    */
   public void insert(Model model, EntityMetadata metadata) {
+    assignClientId(model, metadata);
+    VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+    if (unitOfWork != null) {
+      unitOfWork.scheduleInsert(model, metadata);
+      return;
+    }
     try {
-      String tableName = metadata.getTableName();
-      Map<String, Object> params = new HashMap<>();
-      Map<String, String> columnPlaceholders = new LinkedHashMap<>();
-
-      prepareParamsForInsert(model, metadata, params, columnPlaceholders);
-
-      params.put("id", null);
-      if (columnPlaceholders.isEmpty()) {
+      PreparedQuery query = prepareInsert(model, metadata);
+      getQueryExecutor()
+          .insert(query.getSql(), query.getParams(), metadata.getPrimaryKeyColumnName());
+      assignGeneratedId(model, metadata, query.getParams().get("id"));
+      captureInsertedState(model, metadata);
+    } catch (Exception e) {
+      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during insert operation.", e);
+    }
+  }
 
-        String pkColumn = metadata.getPrimaryKeyColumnName();
-        String insertSql =
-            String.format("INSERT INTO %s (%s) VALUES (DEFAULT)", tableName, pkColumn);
-        getQueryExecutor().insert(insertSql, params);
-      } else {
-        String columns = String.join(", ", columnPlaceholders.keySet());
-        String values = String.join(", ", columnPlaceholders.values());
-        String sql = String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columns, values);
-        getQueryExecutor().insert(sql, params);
+  /**
+   * Thực thi thao tác INSERT cho nhiều thực thể cùng loại theo từng lô (batch).
+   *
+   * <p>Các thực thể sinh ra cùng một câu lệnh INSERT (cùng tập cột khác null) được gom thành một
+   * nhóm và gửi đi theo từng lô có kích thước {@code batchSize}. Khóa chính tự tăng trả về được gán
+   * lại cho các thực thể theo đúng thứ tự.
+   *
+   * @param models Danh sách các thực thể cần chèn, tất cả phải thuộc cùng một lớp.
+   * @param metadata Metadata của lớp thực thể.
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   */
+  public void insertAll(List<? extends Model> models, EntityMetadata metadata, int batchSize) {
+    models.forEach(model -> assignClientId(model, metadata));
+    VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+    if (unitOfWork != null) {
+      models.forEach(model -> unitOfWork.scheduleInsert(model, metadata));
+      return;
+    }
+    try {
+      Map<String, List<Model>> modelsBySql = new LinkedHashMap<>();
+      Map<String, List<Map<String, Object>>> paramsBySql = new HashMap<>();
+      for (Model model : models) {
+        PreparedQuery query = prepareInsert(model, metadata);
+        modelsBySql.computeIfAbsent(query.getSql(), k -> new ArrayList<>()).add(model);
+        paramsBySql.computeIfAbsent(query.getSql(), k -> new ArrayList<>()).add(query.getParams());
       }
 
-      Object generatedId = params.get("id");
-      if (generatedId != null) {
-        Field pkField = findField(model.getClass(), metadata.getPrimaryKeyFieldName());
-        pkField.setAccessible(true);
-        pkField.set(model, DataConverter.convertValue(generatedId, pkField.getType()));
+      for (Map.Entry<String, List<Model>> group : modelsBySql.entrySet()) {
+        List<Model> groupModels = group.getValue();
+        List<Map<String, Object>> groupParams = paramsBySql.get(group.getKey());
+        for (int from = 0; from < groupModels.size(); from += batchSize) {
+          int to = Math.min(from + batchSize, groupModels.size());
+          getQueryExecutor()
+              .insertBatch(
+                  group.getKey(),
+                  groupParams.subList(from, to),
+                  metadata.getPrimaryKeyColumnName());
+          for (int i = from; i < to; i++) {
+            assignGeneratedId(groupModels.get(i), metadata, groupParams.get(i).get("id"));
+            captureInsertedState(groupModels.get(i), metadata);
+          }
+        }
       }
     } catch (Exception e) {
-      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during insert operation.", e);
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during batch insert operation.", e);
     }
   }
 
   /**
    * Thực thi một thao tác UPDATE cho một thực thể.
    *
-   * <p>Phương thức này xây dựng câu lệnh UPDATE dựa trên tất cả các trường của thực thể (ngoại trừ
-   * khóa chính) và thực thi nó dựa trên giá trị của khóa chính.
+   * <p>Phương thức này xây dựng câu lệnh UPDATE dựa trên các trường của thực thể (ngoại trừ khóa
+   * chính) và thực thi nó dựa trên giá trị của khóa chính. Nếu thực thể có trạng thái đã biết
+   * ({@link Model#getLoadedState()}), chỉ các cột có giá trị thay đổi được ghi; nếu không có cột
+   * nào thay đổi, không có câu lệnh nào được thực thi.
    *
    * @param model Thực thể cần cập nhật.
    * @param metadata Metadata của thực thể.
    */
   public void update(Model model, EntityMetadata metadata) {
+    VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+    if (unitOfWork != null) {
+      unitOfWork.scheduleUpdate(model, metadata);
+      return;
+    }
+    try {
+      Map<String, Object> state = new HashMap<>();
+      PreparedQuery query = prepareUpdate(model, metadata, state);
+      if (query != null) {
+        getQueryExecutor().update(query.getSql(), query.getParams());
+      }
+      model.setLoadedState(state);
+    } catch (Exception e) {
+      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during update operation.", e);
+    }
+  }
+
+  /**
+   * Thực thi thao tác UPDATE cho nhiều thực thể cùng loại theo từng lô (batch).
+   *
+   * <p>Giống {@link #update}, chỉ các cột thay đổi được ghi và các thực thể không thay đổi được bỏ
+   * qua; các thực thể có cùng tập cột thay đổi được gom vào cùng một lô.
+   *
+   * @param models Danh sách các thực thể cần cập nhật, tất cả phải thuộc cùng một lớp.
+   * @param metadata Metadata của lớp thực thể.
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   */
+  public void updateAll(List<? extends Model> models, EntityMetadata metadata, int batchSize) {
+    VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+    if (unitOfWork != null) {
+      models.forEach(model -> unitOfWork.scheduleUpdate(model, metadata));
+      return;
+    }
     try {
-      String tableName = metadata.getTableName();
-      String pkColumnName = metadata.getPrimaryKeyColumnName();
-      Object pkValue = getPrimaryKeyValue(model, metadata);
+      Map<String, List<Map<String, Object>>> paramsBySql = new LinkedHashMap<>();
+      Map<Model, Map<String, Object>> states = new IdentityHashMap<>();
+      for (Model model : models) {
+        Map<String, Object> state = new HashMap<>();
+        PreparedQuery query = prepareUpdate(model, metadata, state);
+        states.put(model, state);
+        if (query != null) {
+          paramsBySql
+              .computeIfAbsent(query.getSql(), k -> new ArrayList<>())
+              .add(query.getParams());
+        }
+      }
 
-      if (pkValue == null) {
-        throw new VMCException(
-            HttpStatus.BAD_REQUEST, "Cannot update entity with null primary key.");
+      for (Map.Entry<String, List<Map<String, Object>>> group : paramsBySql.entrySet()) {
+        List<Map<String, Object>> groupParams = group.getValue();
+        for (int from = 0; from < groupParams.size(); from += batchSize) {
+          int to = Math.min(from + batchSize, groupParams.size());
+          getQueryExecutor().updateBatch(group.getKey(), groupParams.subList(from, to));
+        }
       }
+      states.forEach(Model::setLoadedState);
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during batch update operation.", e);
+    }
+  }
 
-      Map<String, Object> params = new HashMap<>();
-      List<String> setClauses = new ArrayList<>();
+  /**
+   * Thực thi một thao tác upsert (chèn hoặc cập nhật trong một câu lệnh) cho một thực thể.
+   *
+   * <p>Câu lệnh INSERT được xây dựng giống {@link #insert}, nhưng có thêm cột khóa chính nếu thực
+   * thể đã có khóa (khóa tự nhiên hoặc được gán trước) và mệnh đề upsert của {@code dialect}. Nếu
+   * bản ghi với cùng khóa đã tồn tại, các cột khác null của thực thể được ghi đè lên bản ghi đó;
+   * các trường null giữ nguyên giá trị hiện có.
+   *
+   * @param model Thực thể cần ghi.
+   * @param metadata Metadata của thực thể.
+   * @param dialect Dialect dùng để tạo mệnh đề upsert.
+   */
+  public void upsert(Model model, EntityMetadata metadata, VMCDialect dialect) {
+    // Khóa ngoại của câu lệnh được đọc ngay, nên các thực thể cha đang chờ phải được ghi trước
+    VMCUnitOfWork.flushCurrent();
+    try {
+      PreparedQuery query = prepareUpsert(model, metadata, dialect);
+      getQueryExecutor()
+          .insert(query.getSql(), query.getParams(), metadata.getPrimaryKeyColumnName());
+      assignGeneratedId(model, metadata, query.getParams().get("id"));
+      // Các cột null không được ghi nên trạng thái của bản ghi trong cơ sở dữ liệu là chưa biết
+      model.setLoadedState(null);
+    } catch (VMCException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during upsert operation.", e);
+    }
+  }
 
-      prepareParamsForUpdate(model, metadata, params, setClauses);
+  /**
+   * Thực thi thao tác upsert cho nhiều thực thể cùng loại theo từng lô (batch).
+   *
+   * <p>Các thực thể sinh ra cùng một câu lệnh được gom nhóm và gửi đi theo từng lô có kích thước
+   * {@code batchSize}, tương tự {@link #insertAll}. Riêng các thực thể chưa có khóa chính được gửi
+   * từng câu lệnh một: trong một lô upsert, các hàng bị cập nhật thay vì chèn làm khóa sinh ra trả
+   * về không còn khớp với thứ tự câu lệnh (nhất là khi driver gộp lô với {@code
+   * rewriteBatchedStatements=true}), nên không thể gán lại khóa cho đúng thực thể.
+   *
+   * @param models Danh sách các thực thể cần ghi, tất cả phải thuộc cùng một lớp.
+   * @param metadata Metadata của lớp thực thể.
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   * @param dialect Dialect dùng để tạo mệnh đề upsert.
+   */
+  public void upsertAll(
+      List<? extends Model> models, EntityMetadata metadata, int batchSize, VMCDialect dialect) {
+    VMCUnitOfWork.flushCurrent();
+    try {
+      Map<String, List<Model>> modelsBySql = new LinkedHashMap<>();
+      Map<String, List<Map<String, Object>>> paramsBySql = new HashMap<>();
+      for (Model model : models) {
+        PreparedQuery query = prepareUpsert(model, metadata, dialect);
+        modelsBySql.computeIfAbsent(query.getSql(), k -> new ArrayList<>()).add(model);
+        paramsBySql.computeIfAbsent(query.getSql(), k -> new ArrayList<>()).add(query.getParams());
+      }
 
-      if (setClauses.isEmpty()) {
-        return;
+      for (Map.Entry<String, List<Model>> group : modelsBySql.entrySet()) {
+        List<Model> groupModels = group.getValue();
+        List<Map<String, Object>> groupParams = paramsBySql.get(group.getKey());
+        // Việc câu lệnh có chứa khóa chính hay không nằm trong chuỗi SQL nên cả nhóm giống nhau
+        if (!groupParams.get(0).containsKey("pkValue")) {
+          for (int i = 0; i < groupModels.size(); i++) {
+            getQueryExecutor()
+                .insert(group.getKey(), groupParams.get(i), metadata.getPrimaryKeyColumnName());
+            assignGeneratedId(groupModels.get(i), metadata, groupParams.get(i).get("id"));
+            groupModels.get(i).setLoadedState(null);
+          }
+          continue;
+        }
+        for (int from = 0; from < groupModels.size(); from += batchSize) {
+          int to = Math.min(from + batchSize, groupModels.size());
+          getQueryExecutor()
+              .insertBatch(
+                  group.getKey(),
+                  groupParams.subList(from, to),
+                  metadata.getPrimaryKeyColumnName());
+          for (int i = from; i < to; i++) {
+            groupModels.get(i).setLoadedState(null);
+          }
+        }
       }
+    } catch (VMCException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during batch upsert operation.", e);
+    }
+  }
+
+  /**
+   * Xây dựng câu lệnh INSERT và các tham số tương ứng cho một thực thể.
+   *
+   * <p>Cột khóa chính chỉ được chèn nếu thực thể đã có khóa (được sinh phía ứng dụng).
+   *
+   * @param model Thực thể nguồn.
+   * @param metadata Metadata của thực thể.
+   * @return Câu lệnh đã được chuẩn bị; map tham số có sẵn khóa {@code "id"} để nhận khóa sinh ra.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private PreparedQuery prepareInsert(Model model, EntityMetadata metadata) throws Exception {
+    String tableName = metadata.getTableName();
+    Map<String, Object> params = new HashMap<>();
+    Map<String, String> columnPlaceholders = new LinkedHashMap<>();
 
+    Object pkValue = getPrimaryKeyValue(model, metadata);
+    if (!isNew(pkValue)) {
+      columnPlaceholders.put(metadata.getPrimaryKeyColumnName(), "#{params.pkValue}");
       params.put("pkValue", pkValue);
-      String sql =
-          String.format(
-              "UPDATE %s SET %s WHERE %s = #{params.pkValue}",
-              tableName, String.join(", ", setClauses), pkColumnName);
+    }
+    prepareParamsForInsert(model, metadata, params, columnPlaceholders);
 
-      getQueryExecutor().update(sql, params);
-    } catch (Exception e) {
-      throw new VMCException(HttpStatus.INTERNAL_SERVER_ERROR, "Error during update operation.", e);
+    params.put("id", null);
+    if (columnPlaceholders.isEmpty()) {
+      String pkColumn = metadata.getPrimaryKeyColumnName();
+      return new PreparedQuery(
+          String.format("INSERT INTO %s (%s) VALUES (DEFAULT)", tableName, pkColumn), params);
+    }
+    String columns = String.join(", ", columnPlaceholders.keySet());
+    String values = String.join(", ", columnPlaceholders.values());
+    return new PreparedQuery(
+        String.format("INSERT INTO %s (%s) VALUES (%s)", tableName, columns, values), params);
+  }
+
+  /**
+   * Xây dựng câu lệnh upsert và các tham số tương ứng cho một thực thể.
+   *
+   * @param model Thực thể nguồn.
+   * @param metadata Metadata của thực thể.
+   * @param dialect Dialect dùng để tạo mệnh đề upsert.
+   * @return Câu lệnh đã được chuẩn bị; map tham số có sẵn khóa {@code "id"} để nhận khóa sinh ra
+   *     khi thực thể chưa có khóa chính.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private PreparedQuery prepareUpsert(Model model, EntityMetadata metadata, VMCDialect dialect)
+      throws Exception {
+    assignClientId(model, metadata);
+    String pkColumn = metadata.getPrimaryKeyColumnName();
+    Object pkValue = getPrimaryKeyValue(model, metadata);
+    if (pkValue instanceof Number && ((Number) pkValue).longValue() == 0) {
+      // Khóa bằng 0 được coi là chưa gán, giống như khi lưu thông thường
+      pkValue = null;
+    }
+    Map<String, Object> params = new HashMap<>();
+    Map<String, String> columnPlaceholders = new LinkedHashMap<>();
+
+    if (pkValue != null) {
+      columnPlaceholders.put(pkColumn, "#{params.pkValue}");
+      params.put("pkValue", pkValue);
+    } else {
+      params.put("id", null);
+    }
+    prepareParamsForInsert(model, metadata, params, columnPlaceholders);
+
+    List<String> updateColumns = new ArrayList<>(columnPlaceholders.keySet());
+    updateColumns.remove(pkColumn);
+    String upsertClause = dialect.upsertClause(pkColumn, updateColumns, pkValue == null);
+    if (columnPlaceholders.isEmpty()) {
+      return prepareInsert(model, metadata);
+    }
+    String sql =
+        String.format(
+            "INSERT INTO %s (%s) VALUES (%s)%s",
+            metadata.getTableName(),
+            String.join(", ", columnPlaceholders.keySet()),
+            String.join(", ", columnPlaceholders.values()),
+            upsertClause);
+    return new PreparedQuery(sql, params);
+  }
+
+  /**
+   * Xây dựng câu lệnh UPDATE và các tham số tương ứng cho một thực thể.
+   *
+   * @param model Thực thể nguồn.
+   * @param metadata Metadata của thực thể.
+   * @param state Map nhận trạng thái của thực thể sau khi cập nhật (tên cột -> giá trị).
+   * @return Câu lệnh đã được chuẩn bị, hoặc {@code null} nếu không có cột nào để cập nhật.
+   * @throws Exception nếu có lỗi reflection hoặc khóa chính là null.
+   */
+  private PreparedQuery prepareUpdate(
+      Model model, EntityMetadata metadata, Map<String, Object> state) throws Exception {
+    String tableName = metadata.getTableName();
+    String pkColumnName = metadata.getPrimaryKeyColumnName();
+    Object pkValue = getPrimaryKeyValue(model, metadata);
+
+    if (pkValue == null) {
+      throw new VMCException(HttpStatus.BAD_REQUEST, "Cannot update entity with null primary key.");
+    }
+
+    Map<String, Object> params = new HashMap<>();
+    List<String> setClauses = new ArrayList<>();
+
+    prepareParamsForUpdate(model, metadata, params, setClauses, state);
+
+    if (setClauses.isEmpty()) {
+      return null;
+    }
+
+    params.put("pkValue", pkValue);
+    String sql =
+        String.format(
+            "UPDATE %s SET %s WHERE %s = #{params.pkValue}",
+            tableName, String.join(", ", setClauses), pkColumnName);
+    return new PreparedQuery(sql, params);
+  }
+
+  /**
+   * Gán khóa chính do cơ sở dữ liệu sinh ra vào thực thể, trừ khi thực thể đã có khóa được sinh
+   * phía ứng dụng.
+   *
+   * @param model Thực thể vừa được chèn.
+   * @param metadata Metadata của thực thể.
+   * @param generatedId Giá trị khóa sinh ra, có thể là {@code null}.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void assignGeneratedId(Model model, EntityMetadata metadata, Object generatedId)
+      throws Exception {
+    if (generatedId != null && isNew(getPrimaryKeyValue(model, metadata))) {
+      Field pkField = findField(model.getClass(), metadata.getPrimaryKeyFieldName());
+      pkField.setAccessible(true);
+      pkField.set(model, DataConverter.convertValue(generatedId, pkField.getType()));
     }
   }
 
@@ -176,15 +490,23 @@ public class CrudExecutor {
   /**
    * Chuẩn bị các tham số và mệnh đề SET cho câu lệnh UPDATE.
    *
+   * <p>Nếu thực thể có trạng thái đã biết, các cột có giá trị bằng với trạng thái đó được bỏ qua.
+   *
    * @param model Thực thể nguồn.
    * @param metadata Metadata của thực thể.
    * @param params Map để lưu trữ các giá trị tham số.
    * @param setClauses Danh sách để lưu trữ các mệnh đề "cột = giá trị".
+   * @param state Map nhận giá trị hiện tại của mọi cột (tên cột -> giá trị).
    * @throws Exception nếu có lỗi reflection.
    */
   private void prepareParamsForUpdate(
-      Model model, EntityMetadata metadata, Map<String, Object> params, List<String> setClauses)
+      Model model,
+      EntityMetadata metadata,
+      Map<String, Object> params,
+      List<String> setClauses,
+      Map<String, Object> state)
       throws Exception {
+    Map<String, Object> loadedState = model.getLoadedState();
     for (Map.Entry<String, String> entry : metadata.getFieldToColumnMap().entrySet()) {
       String fieldName = entry.getKey();
       if (fieldName.equals(metadata.getPrimaryKeyFieldName())) {
@@ -194,6 +516,10 @@ public class CrudExecutor {
       Field field = findField(model.getClass(), fieldName);
       field.setAccessible(true);
       Object value = field.get(model);
+      state.put(entry.getValue(), EntityRowMapper.copyArray(value));
+      if (isUnchanged(loadedState, entry.getValue(), value)) {
+        continue;
+      }
       setClauses.add(String.format("%s = #{params.%s}", entry.getValue(), fieldName));
       params.put(fieldName, value);
     }
@@ -205,6 +531,10 @@ public class CrudExecutor {
         Object relatedObject = field.get(model);
         Object fkValue =
             (relatedObject instanceof Model) ? getPrimaryKeyValue((Model) relatedObject) : null;
+        state.put(relMeta.getJoinColumnName(), fkValue);
+        if (isUnchanged(loadedState, relMeta.getJoinColumnName(), fkValue)) {
+          continue;
+        }
         String paramName = relMeta.getFieldName() + "_fk";
         setClauses.add(String.format("%s = #{params.%s}", relMeta.getJoinColumnName(), paramName));
         params.put(paramName, fkValue);
@@ -212,6 +542,91 @@ public class CrudExecutor {
     }
   }
 
+  /**
+   * Kiểm tra giá trị hiện tại của một cột có bằng với trạng thái đã biết hay không.
+   *
+   * @param loadedState Trạng thái đã biết của thực thể, hoặc {@code null}.
+   * @param column Tên cột.
+   * @param value Giá trị hiện tại.
+   * @return {@code true} nếu trạng thái đã biết chứa cột và giá trị không thay đổi.
+   */
+  private boolean isUnchanged(Map<String, Object> loadedState, String column, Object value) {
+    if (loadedState == null || !loadedState.containsKey(column)) {
+      return false;
+    }
+    Object loaded = loadedState.get(column);
+    if (loaded instanceof Number && value instanceof Number) {
+      // Khóa ngoại thô từ JDBC có thể khác kiểu với khóa chính của thực thể liên quan
+      return RelationBatchLoader.normalizeKey(loaded)
+          .equals(RelationBatchLoader.normalizeKey(value));
+    }
+    return Objects.deepEquals(loaded, value);
+  }
+
+  /**
+   * Ghi nhận trạng thái của một thực thể vừa được chèn làm trạng thái đã biết.
+   *
+   * <p>Chỉ các cột mà câu lệnh INSERT đã ghi (các giá trị khác null, xem {@link
+   * #prepareParamsForInsert}) được ghi nhận. Các cột bị bỏ qua có thể nhận giá trị mặc định hoặc
+   * giá trị do trigger gán, nên chúng được coi là chưa biết và sẽ được ghi ở lần cập nhật tiếp theo.
+   *
+   * @param model Thực thể vừa được chèn.
+   * @param metadata Metadata của thực thể.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void captureInsertedState(Model model, EntityMetadata metadata) throws Exception {
+    Map<String, Object> state = new HashMap<>();
+    prepareParamsForUpdate(model, metadata, new HashMap<>(), new ArrayList<>(), state);
+    state.values().removeIf(Objects::isNull);
+    model.setLoadedState(state);
+  }
+
+  /**
+   * Sinh và gán khóa chính phía ứng dụng cho một thực thể chưa có khóa, theo annotation {@code
+   * VMCGeneratedValue} của trường khóa chính.
+   *
+   * @param model Thực thể sắp được chèn.
+   * @param metadata Metadata của thực thể.
+   * @throws VMCException nếu không thể sinh hoặc gán khóa.
+   */
+  private void assignClientId(Model model, EntityMetadata metadata) {
+    if (metadata.getGeneratedValue() == null) {
+      return;
+    }
+    try {
+      if (!isNew(getPrimaryKeyValue(model, metadata))) {
+        return;
+      }
+      VMCIdGenerator generator = getIdGeneratorRegistry().getGenerator(metadata);
+      if (generator == null) {
+        return;
+      }
+      Field pkField = findField(model.getClass(), metadata.getPrimaryKeyFieldName());
+      pkField.setAccessible(true);
+      Object id = generator.nextId();
+      if (pkField.getType() == String.class) {
+        pkField.set(model, id.toString());
+      } else {
+        pkField.set(model, DataConverter.convertValue(id, pkField.getType()));
+      }
+    } catch (VMCException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error while generating primary key.", e);
+    }
+  }
+
+  /**
+   * Kiểm tra xem một giá trị khóa chính có biểu thị thực thể chưa được lưu hay không.
+   *
+   * @param pkValue Giá trị khóa chính.
+   * @return {@code true} nếu khóa là {@code null} hoặc bằng 0.
+   */
+  private boolean isNew(Object pkValue) {
+    return pkValue == null || (pkValue instanceof Number && ((Number) pkValue).longValue() == 0);
+  }
+
   /**
    * Lấy giá trị khóa chính của một thực thể mà không cần truyền metadata.
    *
@@ -220,6 +635,10 @@ public class CrudExecutor {
    * @throws Exception nếu có lỗi.
    */
   private Object getPrimaryKeyValue(Model model) throws Exception {
+    if (model instanceof Factory) {
+      // Proxy tải lười trả lời khóa chính mà không cần tải thực thể đích.
+      return model.getPrimaryKey();
+    }
     EntityMetadata metadata = EntityMetadata.of(getUnproxiedClass(model.getClass()));
     return getPrimaryKeyValue(model, metadata);
   }
@@ -1,5 +1,6 @@
 package io.github.natswarchuan.vmc.core.persistence.handler;
 
+import io.github.natswarchuan.vmc.core.config.VMCProperties;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
@@ -7,18 +8,27 @@ import io.github.natswarchuan.vmc.core.mapping.JoinTableMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
 import io.github.natswarchuan.vmc.core.persistence.VMCPersistenceManager;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.VMCUnitOfWork;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.lazy.AbstractLazyLoadingCollection;
+import io.github.natswarchuan.vmc.core.persistence.lazy.RelationBatchLoader;
 import io.github.natswarchuan.vmc.core.persistence.service.SaveOptions;
+import io.github.natswarchuan.vmc.core.query.helper.InClauseHelper;
 import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.cglib.proxy.Factory;
 import org.springframework.http.HttpStatus;
 
 /**
@@ -30,11 +40,17 @@ import org.springframework.http.HttpStatus;
  * các thao tác INSERT, UPDATE, hoặc DELETE cần thiết để làm cho trạng thái trong cơ sở dữ liệu khớp
  * với trạng thái trong bộ nhớ.
  *
+ * <p>Khi collection là một {@link AbstractLazyLoadingCollection} đã được tải, trạng thái "hiện
+ * tại" là các phần tử đã được tải (hoặc đã được đồng bộ lần gần nhất) của chính collection đó, nên
+ * không cần truy vấn lại cơ sở dữ liệu; một collection không bị thay đổi không sinh ra câu lệnh
+ * liên kết nào.
+ *
  * @author NatswarChuan
  */
 public class RelationshipSynchronizer {
 
-  private GenericQueryExecutorMapper queryExecutor;
+  private VMCQueryExecutor queryExecutor;
+  private VMCProperties properties;
   private final VMCPersistenceManager persistenceManager;
 
   /**
@@ -48,17 +64,29 @@ public class RelationshipSynchronizer {
   }
 
   /**
-   * Lấy instance của {@code GenericQueryExecutorMapper} một cách lười biếng (lazy).
+   * Lấy instance của {@code VMCQueryExecutor} một cách lười biếng (lazy).
    *
-   * @return instance của {@code GenericQueryExecutorMapper}.
+   * @return instance của {@code VMCQueryExecutor}.
    */
-  private GenericQueryExecutorMapper getQueryExecutor() {
+  private VMCQueryExecutor getQueryExecutor() {
     if (this.queryExecutor == null) {
-      this.queryExecutor = BeanUtil.getBean(GenericQueryExecutorMapper.class);
+      this.queryExecutor = BeanUtil.getBean(VMCQueryExecutor.class);
     }
     return this.queryExecutor;
   }
 
+  /**
+   * Lấy instance của {@code VMCProperties} một cách lười biếng (lazy).
+   *
+   * @return instance của {@code VMCProperties}.
+   */
+  private VMCProperties getProperties() {
+    if (this.properties == null) {
+      this.properties = BeanUtil.getBean(VMCProperties.class);
+    }
+    return this.properties;
+  }
+
   /**
    * Đồng bộ hóa một mối quan hệ One-to-Many.
    *
@@ -90,7 +118,10 @@ public class RelationshipSynchronizer {
       }
 
       Object ownerId = getPrimaryKeyValue(owner);
-      if (ownerId == null || (ownerId instanceof Number && ((Number) ownerId).longValue() == 0)) {
+      VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+      if (ownerId == null
+          || (ownerId instanceof Number && ((Number) ownerId).longValue() == 0)
+          || (unitOfWork != null && unitOfWork.isPendingInsert(owner))) {
 
         for (Object item : desiredCollection) {
           Model child = (Model) item;
@@ -108,16 +139,22 @@ public class RelationshipSynchronizer {
           String.format(
               "SELECT %s FROM %s WHERE %s = #{params.ownerId}",
               childMeta.getPrimaryKeyColumnName(), childMeta.getTableName(), fkColumn);
-      List<Map<String, Object>> currentLinks =
-          getQueryExecutor().execute(selectSql, Map.of("ownerId", ownerId));
-      Set<Object> currentChildIds =
-          currentLinks.stream()
-              .map(row -> row.values().iterator().next())
-              .collect(Collectors.toSet());
+      Set<Object> currentChildIds = getCurrentIds(desiredCollection, selectSql, ownerId);
+
+      Set<Object> currentKeys = new HashSet<>();
+      for (Object childId : currentChildIds) {
+        currentKeys.add(RelationBatchLoader.normalizeKey(childId));
+      }
 
       Set<Object> desiredChildIds = new HashSet<>();
       for (Object item : desiredCollection) {
         Model child = (Model) item;
+        Object childId = getPrimaryKeyValue(child);
+        if (childId == null || !currentKeys.contains(RelationBatchLoader.normalizeKey(childId))) {
+          // Bản ghi con chưa trỏ đến thực thể cha (ví dụ đã bị hủy liên kết trước đó) nên khóa
+          // ngoại trong trạng thái đã biết của nó không còn đúng
+          forgetLoadedColumn(child, fkColumn);
+        }
         setInverseSide(child, owner, relMeta);
         persistenceManager.saveGraph(child, options, processedEntities);
         desiredChildIds.add(getPrimaryKeyValue(child));
@@ -125,16 +162,27 @@ public class RelationshipSynchronizer {
 
       Set<Object> idsToDisassociate = new HashSet<>(currentChildIds);
       idsToDisassociate.removeAll(desiredChildIds);
+      if (desiredCollection instanceof AbstractLazyLoadingCollection
+          && !idsToDisassociate.isEmpty()) {
+        for (Object item :
+            ((AbstractLazyLoadingCollection<?>) desiredCollection).getLoadedElements()) {
+          if (idsToDisassociate.contains(getPrimaryKeyValue((Model) item))) {
+            forgetLoadedColumn((Model) item, fkColumn);
+          }
+        }
+      }
 
-      if (!idsToDisassociate.isEmpty()) {
+      for (List<Object> chunk :
+          InClauseHelper.partition(idsToDisassociate, getProperties().getInListChunkSize())) {
+        Map<String, Object> params = new HashMap<>();
         String updateSql =
             String.format(
                 "UPDATE %s SET %s = NULL WHERE %s IN (%s)",
                 childMeta.getTableName(),
                 fkColumn,
                 childMeta.getPrimaryKeyColumnName(),
-                getInClauseValues(idsToDisassociate));
-        getQueryExecutor().update(updateSql, Collections.emptyMap());
+                InClauseHelper.placeholders(chunk, "id", params));
+        executeOrSchedule(updateSql, params);
       }
     } catch (Exception e) {
 
@@ -169,6 +217,33 @@ public class RelationshipSynchronizer {
       Collection<?> relatedCollection,
       SaveOptions options,
       Map<Model, Model> processedEntities) {
+    synchronizeManyToMany(owner, relMeta, relatedCollection, options, processedEntities, null);
+  }
+
+  /**
+   * Đồng bộ hóa một mối quan hệ Many-to-Many, gom các câu lệnh theo tập hợp vào một lô dùng chung.
+   *
+   * <p>Khi {@code vmc.set-based-join-table-sync=true}, các liên kết hiện có không được đọc lại:
+   * một câu lệnh {@code DELETE ... NOT IN} xóa các liên kết không còn mong muốn và một câu lệnh
+   * {@code INSERT} bỏ qua trùng khóa ({@link
+   * io.github.natswarchuan.vmc.core.config.VMCDialect#ignoreDuplicatesClause}) chèn toàn bộ tập
+   * mong muốn. Nếu {@code batch} khác {@code null}, các câu lệnh này được gom vào lô thay vì thực
+   * thi ngay.
+   *
+   * @param owner Thực thể sở hữu.
+   * @param relMeta Metadata của mối quan hệ.
+   * @param relatedCollection Collection các thực thể liên quan "mong muốn".
+   * @param options Các tùy chọn lưu.
+   * @param processedEntities Một map để theo dõi các thực thể đã được xử lý.
+   * @param batch Lô dùng chung của nhiều thực thể sở hữu, hoặc {@code null} để thực thi ngay.
+   */
+  public void synchronizeManyToMany(
+      Model owner,
+      RelationMetadata relMeta,
+      Collection<?> relatedCollection,
+      SaveOptions options,
+      Map<Model, Model> processedEntities,
+      LinkBatch batch) {
     try {
       if (relatedCollection == null) {
         relatedCollection = Collections.emptySet();
@@ -181,23 +256,48 @@ public class RelationshipSynchronizer {
       JoinTableMetadata joinTable = relMeta.getJoinTable();
       Object ownerId = getPrimaryKeyValue(owner);
 
+      VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+      String linkSql =
+          String.format(
+              "INSERT INTO %s (%s, %s) VALUES (#{params.ownerId}, #{params.relatedId})",
+              joinTable.getTableName(),
+              joinTable.getJoinColumn(),
+              joinTable.getInverseJoinColumn());
+      if (unitOfWork != null
+          && (ownerId == null
+              || (ownerId instanceof Number && ((Number) ownerId).longValue() == 0)
+              || unitOfWork.isPendingInsert(owner))) {
+        // Thực thể sở hữu đang chờ INSERT nên chưa có liên kết nào trong bảng trung gian
+        Set<Model> linked = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object item : relatedCollection) {
+          if (linked.add((Model) item)) {
+            unitOfWork.scheduleLink(linkSql, owner, (Model) item);
+          }
+        }
+        return;
+      }
+
+      if (getProperties().isSetBasedJoinTableSync()) {
+        if (!(relatedCollection instanceof AbstractLazyLoadingCollection)
+            || ((AbstractLazyLoadingCollection<?>) relatedCollection).isModified()) {
+          replaceLinks(owner, ownerId, joinTable, relatedCollection, unitOfWork, batch);
+        }
+        return;
+      }
+
       String selectSql =
           String.format(
               "SELECT %s FROM %s WHERE %s = #{params.ownerId}",
               joinTable.getInverseJoinColumn(),
               joinTable.getTableName(),
               joinTable.getJoinColumn());
-      List<Map<String, Object>> currentLinks =
-          getQueryExecutor().execute(selectSql, Map.of("ownerId", ownerId));
-      Set<Object> currentRelatedIds =
-          currentLinks.stream()
-              .map(row -> row.values().iterator().next())
-              .collect(Collectors.toSet());
-
-      Set<Object> desiredRelatedIds = new HashSet<>();
+      Set<Object> currentRelatedIds = getCurrentIds(relatedCollection, selectSql, ownerId);
+
+      Map<Object, Model> desiredRelated = new LinkedHashMap<>();
       for (Object item : relatedCollection) {
-        desiredRelatedIds.add(getPrimaryKeyValue((Model) item));
+        desiredRelated.putIfAbsent(getPrimaryKeyValue((Model) item), (Model) item);
       }
+      Set<Object> desiredRelatedIds = desiredRelated.keySet();
 
       Set<Object> idsToAdd = new HashSet<>(desiredRelatedIds);
       idsToAdd.removeAll(currentRelatedIds);
@@ -205,44 +305,30 @@ public class RelationshipSynchronizer {
       Set<Object> idsToRemove = new HashSet<>(currentRelatedIds);
       idsToRemove.removeAll(desiredRelatedIds);
 
-      if (!idsToRemove.isEmpty()) {
+      for (List<Object> chunk :
+          InClauseHelper.partition(idsToRemove, getProperties().getInListChunkSize())) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("ownerId", ownerId);
         String deleteSql =
             String.format(
                 "DELETE FROM %s WHERE %s = #{params.ownerId} AND %s IN (%s)",
                 joinTable.getTableName(),
                 joinTable.getJoinColumn(),
                 joinTable.getInverseJoinColumn(),
-                getInClauseValues(idsToRemove));
-        getQueryExecutor().delete(deleteSql, Map.of("ownerId", ownerId));
+                InClauseHelper.placeholders(chunk, "id", params));
+        executeOrSchedule(deleteSql, params);
       }
 
-      if (!idsToAdd.isEmpty()) {
-
-        StringBuilder valuesClause = new StringBuilder();
-        Map<String, Object> batchParams = new HashMap<>();
-        batchParams.put("ownerId", ownerId);
-        int i = 0;
-        for (Object childId : idsToAdd) {
-          if (i > 0) {
-            valuesClause.append(", ");
-          }
-          String paramName = "childId" + i;
-          valuesClause.append("(:ownerId, :").append(paramName).append(")");
-          batchParams.put(paramName, childId);
-          i++;
+      if (unitOfWork != null) {
+        for (Object relatedId : idsToAdd) {
+          unitOfWork.scheduleLink(linkSql, owner, desiredRelated.get(relatedId));
         }
-
-        String insertSql =
-            String.format(
-                "INSERT INTO %s (%s, %s) VALUES %s",
-                joinTable.getTableName(),
-                joinTable.getJoinColumn(),
-                joinTable.getInverseJoinColumn(),
-                valuesClause.toString());
-
-        String myBatisSql = insertSql.replaceAll(":(\\w+)", "#{params.$1}");
-
-        getQueryExecutor().insert(myBatisSql, batchParams);
+      } else if (!idsToAdd.isEmpty()) {
+        List<Object[]> pairs = new ArrayList<>();
+        for (Object relatedId : idsToAdd) {
+          pairs.add(new Object[] {ownerId, relatedId});
+        }
+        insertLinks(joinTable, pairs, false);
       }
     } catch (Exception e) {
       throw new VMCException(
@@ -253,22 +339,225 @@ public class RelationshipSynchronizer {
   }
 
   /**
-   * Chuyển đổi một {@code Set} các ID thành một chuỗi để sử dụng trong mệnh đề SQL IN.
+   * Tạo một lô rỗng để gom các câu lệnh đồng bộ bảng trung gian của nhiều thực thể sở hữu.
    *
-   * @param ids Tập hợp các ID.
-   * @return Một chuỗi được định dạng, ví dụ: "1,2,3" hoặc "'a','b','c'".
+   * @return Một {@link LinkBatch} mới; phải gọi {@link LinkBatch#flush()} để gửi các câu lệnh.
    */
-  private String getInClauseValues(Set<Object> ids) {
-    return ids.stream()
-        .map(
-            id -> {
-              if (id instanceof Number) {
-                return id.toString();
-              } else {
-                return "'" + id.toString().replace("'", "''") + "'";
-              }
-            })
-        .collect(Collectors.joining(","));
+  public LinkBatch newLinkBatch() {
+    return new LinkBatch();
+  }
+
+  /**
+   * Gom các câu lệnh đồng bộ bảng trung gian theo tập hợp của nhiều thực thể sở hữu để gửi chung.
+   *
+   * <p>Các câu lệnh DELETE giống nhau được gửi trong một lô ({@link VMCQueryExecutor#updateBatch}),
+   * các liên kết của cùng một bảng trung gian được chèn bằng một câu lệnh INSERT nhiều dòng.
+   */
+  public final class LinkBatch {
+    private final Map<String, List<Map<String, Object>>> deletes = new LinkedHashMap<>();
+    private final Map<JoinTableMetadata, List<Object[]>> links = new LinkedHashMap<>();
+
+    private LinkBatch() {}
+
+    /** Gửi tất cả các câu lệnh đã gom xuống cơ sở dữ liệu. */
+    public void flush() {
+      for (Map.Entry<String, List<Map<String, Object>>> group : deletes.entrySet()) {
+        if (group.getValue().size() == 1) {
+          getQueryExecutor().update(group.getKey(), group.getValue().get(0));
+        } else {
+          getQueryExecutor().updateBatch(group.getKey(), group.getValue());
+        }
+      }
+      for (Map.Entry<JoinTableMetadata, List<Object[]>> group : links.entrySet()) {
+        insertLinks(group.getKey(), group.getValue(), true);
+      }
+      deletes.clear();
+      links.clear();
+    }
+  }
+
+  /**
+   * Thay thế các liên kết của một thực thể sở hữu trong bảng trung gian bằng tập mong muốn mà không
+   * đọc các liên kết hiện có.
+   *
+   * @param owner Thực thể sở hữu.
+   * @param ownerId Khóa chính của thực thể sở hữu.
+   * @param joinTable Metadata của bảng trung gian.
+   * @param relatedCollection Collection các thực thể liên quan "mong muốn".
+   * @param unitOfWork Hàng đợi ghi trễ của giao dịch hiện tại, hoặc {@code null}.
+   * @param batch Lô dùng chung, hoặc {@code null} để thực thi ngay.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private void replaceLinks(
+      Model owner,
+      Object ownerId,
+      JoinTableMetadata joinTable,
+      Collection<?> relatedCollection,
+      VMCUnitOfWork unitOfWork,
+      LinkBatch batch)
+      throws Exception {
+    // Thực thể liên quan đang chờ INSERT chưa có khóa nên được phân biệt theo định danh đối tượng
+    Set<Object> desiredIds = new LinkedHashSet<>();
+    Set<Model> unsaved = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Model> desiredRelated = new ArrayList<>();
+    for (Object item : relatedCollection) {
+      Model related = (Model) item;
+      Object relatedId = getPrimaryKeyValue(related);
+      if (relatedId == null ? unsaved.add(related) : desiredIds.add(relatedId)) {
+        desiredRelated.add(related);
+      }
+    }
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("ownerId", ownerId);
+    StringBuilder deleteSql =
+        new StringBuilder(
+            String.format(
+                "DELETE FROM %s WHERE %s = #{params.ownerId}",
+                joinTable.getTableName(), joinTable.getJoinColumn()));
+    int chunkIndex = 0;
+    for (List<Object> chunk :
+        InClauseHelper.partition(desiredIds, getProperties().getInListChunkSize())) {
+      deleteSql
+          .append(" AND ")
+          .append(joinTable.getInverseJoinColumn())
+          .append(" NOT IN (")
+          .append(InClauseHelper.placeholders(chunk, "id" + chunkIndex++ + "_", params))
+          .append(')');
+    }
+
+    if (unitOfWork != null) {
+      unitOfWork.scheduleStatement(deleteSql.toString(), params);
+      String linkSql =
+          String.format(
+                  "INSERT INTO %s (%s, %s) VALUES (#{params.ownerId}, #{params.relatedId})",
+                  joinTable.getTableName(),
+                  joinTable.getJoinColumn(),
+                  joinTable.getInverseJoinColumn())
+              + getProperties().getDialect().ignoreDuplicatesClause(joinTable.getJoinColumn());
+      for (Model related : desiredRelated) {
+        unitOfWork.scheduleLink(linkSql, owner, related);
+      }
+      return;
+    }
+
+    List<Object[]> pairs = new ArrayList<>();
+    for (Object relatedId : desiredIds) {
+      pairs.add(new Object[] {ownerId, relatedId});
+    }
+    if (batch != null) {
+      batch.deletes.computeIfAbsent(deleteSql.toString(), k -> new ArrayList<>()).add(params);
+      batch.links.computeIfAbsent(joinTable, k -> new ArrayList<>()).addAll(pairs);
+    } else {
+      getQueryExecutor().update(deleteSql.toString(), params);
+      insertLinks(joinTable, pairs, true);
+    }
+  }
+
+  /**
+   * Chèn các liên kết vào bảng trung gian bằng các câu lệnh INSERT nhiều dòng, mỗi câu lệnh tối đa
+   * {@code vmc.in-list-chunk-size} dòng.
+   *
+   * @param joinTable Metadata của bảng trung gian.
+   * @param pairs Các cặp (khóa thực thể sở hữu, khóa thực thể liên quan).
+   * @param ignoreDuplicates {@code true} để bỏ qua các liên kết đã tồn tại thay vì báo lỗi.
+   */
+  private void insertLinks(
+      JoinTableMetadata joinTable, List<Object[]> pairs, boolean ignoreDuplicates) {
+    for (List<Object> chunk :
+        InClauseHelper.partition(pairs, getProperties().getInListChunkSize())) {
+      Map<String, Object> params = new HashMap<>();
+      StringBuilder valuesClause = new StringBuilder();
+      for (int i = 0; i < chunk.size(); i++) {
+        Object[] pair = (Object[]) chunk.get(i);
+        if (i > 0) {
+          valuesClause.append(", ");
+        }
+        valuesClause
+            .append("(#{params.ownerId")
+            .append(i)
+            .append("}, #{params.relatedId")
+            .append(i)
+            .append("})");
+        params.put("ownerId" + i, pair[0]);
+        params.put("relatedId" + i, pair[1]);
+      }
+      String insertSql =
+          String.format(
+              "INSERT INTO %s (%s, %s) VALUES %s",
+              joinTable.getTableName(),
+              joinTable.getJoinColumn(),
+              joinTable.getInverseJoinColumn(),
+              valuesClause);
+      if (ignoreDuplicates) {
+        insertSql += getProperties().getDialect().ignoreDuplicatesClause(joinTable.getJoinColumn());
+      }
+      getQueryExecutor().update(insertSql, params);
+    }
+  }
+
+  /**
+   * Lấy khóa chính của các thực thể liên quan hiện đang được liên kết với thực thể sở hữu.
+   *
+   * <p>Với một collection theo dõi thay đổi ({@link AbstractLazyLoadingCollection}), các khóa được
+   * lấy từ các phần tử đã tải hoặc đã đồng bộ lần gần nhất mà không truy vấn cơ sở dữ liệu. Với
+   * các collection khác, chúng được đọc bằng {@code selectSql}.
+   *
+   * @param collection Collection "mong muốn" của mối quan hệ.
+   * @param selectSql Câu lệnh SELECT cột khóa của các bản ghi đang được liên kết.
+   * @param ownerId Khóa chính của thực thể sở hữu.
+   * @return Tập khóa chính của các thực thể đang được liên kết.
+   * @throws Exception nếu có lỗi reflection.
+   */
+  private Set<Object> getCurrentIds(Collection<?> collection, String selectSql, Object ownerId)
+      throws Exception {
+    if (collection instanceof AbstractLazyLoadingCollection
+        && ((AbstractLazyLoadingCollection<?>) collection).isInitialized()) {
+      Set<Object> ids = new HashSet<>();
+      for (Object item : ((AbstractLazyLoadingCollection<?>) collection).getLoadedElements()) {
+        ids.add(getPrimaryKeyValue((Model) item));
+      }
+      return ids;
+    }
+    List<Map<String, Object>> currentLinks =
+        getQueryExecutor().execute(selectSql, Map.of("ownerId", ownerId));
+    return currentLinks.stream()
+        .map(row -> row.values().iterator().next())
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Xóa một cột khỏi trạng thái đã biết của một thực thể, để cột đó luôn được ghi ở lần cập nhật
+   * kế tiếp.
+   *
+   * @param model Thực thể cần cập nhật trạng thái.
+   * @param column Tên cột.
+   */
+  private void forgetLoadedColumn(Model model, String column) {
+    if (model instanceof Factory) {
+      // Proxy tải lười chưa được khởi tạo không có trạng thái đã biết
+      return;
+    }
+    Map<String, Object> loadedState = model.getLoadedState();
+    if (loadedState != null) {
+      loadedState.remove(column);
+    }
+  }
+
+  /**
+   * Thực thi một câu lệnh UPDATE/DELETE, hoặc xếp nó vào hàng đợi ghi trễ của giao dịch hiện tại
+   * nếu có.
+   *
+   * @param sql Câu lệnh SQL.
+   * @param params Map tham số.
+   */
+  private void executeOrSchedule(String sql, Map<String, Object> params) {
+    VMCUnitOfWork unitOfWork = VMCUnitOfWork.current();
+    if (unitOfWork != null) {
+      unitOfWork.scheduleStatement(sql, params);
+    } else {
+      getQueryExecutor().update(sql, params);
+    }
   }
 
   /**
@@ -300,6 +589,10 @@ public class RelationshipSynchronizer {
     if (model == null) {
       return null;
     }
+    if (model instanceof Factory) {
+      // Proxy tải lười trả lời khóa chính mà không cần tải thực thể đích.
+      return model.getPrimaryKey();
+    }
     EntityMetadata metadata = MetadataCache.getMetadata(getUnproxiedClass(model.getClass()));
     Field pkField = findField(model.getClass(), metadata.getPrimaryKeyFieldName());
     pkField.setAccessible(true);
@@ -0,0 +1,140 @@
+package io.github.natswarchuan.vmc.core.persistence.id;
+
+import io.github.natswarchuan.vmc.core.config.VMCDialect;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sinh khóa {@code long} theo thuật toán hi-lo, cấp phát từ các khối giá trị được đặt trước trong
+ * một bảng chuỗi.
+ *
+ * <p>Bảng chuỗi có dạng:
+ *
+ * <pre>
+ * CREATE TABLE vmc_sequences (
+ *   sequence_name VARCHAR(255) PRIMARY KEY,
+ *   next_val BIGINT NOT NULL
+ * );
+ * </pre>
+ *
+ * <p>{@code next_val} là giá trị nhỏ nhất chưa được cấp. Mỗi lần khối hiện tại hết, bộ sinh tăng
+ * {@code next_val} thêm {@code allocationSize} và dùng khoảng vừa đặt trước cho các lần gọi tiếp
+ * theo mà không truy cập cơ sở dữ liệu. Trên PostgreSQL, việc đặt trước chỉ cần một câu lệnh
+ * {@code UPDATE ... RETURNING}; trên MySQL/MariaDB là một câu lệnh UPDATE và một câu lệnh SELECT
+ * trên hàng vừa bị khóa. Hàng của chuỗi được tạo tự động ở lần đặt trước đầu tiên, bắt đầu từ 1.
+ *
+ * <p>Việc đặt trước chạy trong một giao dịch riêng (nếu có {@link TransactionTemplate}), nên khối
+ * đã cấp không bị trả lại khi giao dịch của thao tác lưu rollback. Các giá trị chưa dùng của khối
+ * bị bỏ qua khi ứng dụng khởi động lại.
+ *
+ * @author NatswarChuan
+ */
+public class HiLoIdGenerator implements VMCIdGenerator {
+
+  private final VMCQueryExecutor queryExecutor;
+  private final TransactionTemplate transactionTemplate;
+  private final VMCDialect dialect;
+  private final String sequenceTable;
+  private final String sequenceName;
+  private final int allocationSize;
+
+  private long next = 0;
+  private long limit = 0;
+
+  /**
+   * Khởi tạo một bộ sinh khóa hi-lo.
+   *
+   * @param queryExecutor Backend thực thi các câu lệnh trên bảng chuỗi.
+   * @param transactionTemplate Template chạy việc đặt trước trong một giao dịch mới, hoặc {@code
+   *     null} để chạy trong giao dịch hiện tại.
+   * @param dialect Dialect của cơ sở dữ liệu.
+   * @param sequenceTable Tên bảng chuỗi.
+   * @param sequenceName Tên chuỗi trong bảng.
+   * @param allocationSize Số giá trị được đặt trước mỗi lần; giá trị nhỏ hơn 1 được coi là 1.
+   */
+  public HiLoIdGenerator(
+      VMCQueryExecutor queryExecutor,
+      TransactionTemplate transactionTemplate,
+      VMCDialect dialect,
+      String sequenceTable,
+      String sequenceName,
+      int allocationSize) {
+    this.queryExecutor = queryExecutor;
+    this.transactionTemplate = transactionTemplate;
+    this.dialect = dialect;
+    this.sequenceTable = sequenceTable;
+    this.sequenceName = sequenceName;
+    this.allocationSize = Math.max(1, allocationSize);
+  }
+
+  @Override
+  public synchronized Object nextId() {
+    if (next >= limit) {
+      long upper;
+      try {
+        upper = reserveInTransaction();
+      } catch (DataIntegrityViolationException e) {
+        // Một tiến trình khác vừa tạo hàng của chuỗi; hàng đã tồn tại ở lần thử lại
+        upper = reserveInTransaction();
+      }
+      next = upper - allocationSize;
+      limit = upper;
+    }
+    return next++;
+  }
+
+  /**
+   * Đặt trước một khối giá trị, trong một giao dịch mới nếu có thể.
+   *
+   * @return Giới hạn trên (không bao gồm) của khối vừa đặt trước.
+   */
+  private long reserveInTransaction() {
+    if (transactionTemplate == null) {
+      return reserve();
+    }
+    return transactionTemplate.execute(status -> reserve());
+  }
+
+  /**
+   * Đặt trước một khối giá trị, tạo hàng của chuỗi nếu chưa có.
+   *
+   * @return Giới hạn trên (không bao gồm) của khối vừa đặt trước.
+   */
+  private long reserve() {
+    Map<String, Object> params = new HashMap<>();
+    params.put("name", sequenceName);
+    params.put("size", allocationSize);
+    String increment =
+        String.format(
+            "UPDATE %s SET next_val = next_val + #{params.size} WHERE sequence_name ="
+                + " #{params.name}",
+            sequenceTable);
+
+    if (dialect == VMCDialect.POSTGRESQL) {
+      List<Map<String, Object>> rows =
+          queryExecutor.execute(increment + " RETURNING next_val", params);
+      if (!rows.isEmpty()) {
+        return ((Number) rows.get(0).values().iterator().next()).longValue();
+      }
+    } else if (queryExecutor.update(increment, params) > 0) {
+      List<Map<String, Object>> rows =
+          queryExecutor.execute(
+              String.format(
+                  "SELECT next_val FROM %s WHERE sequence_name = #{params.name}", sequenceTable),
+              params);
+      return ((Number) rows.get(0).values().iterator().next()).longValue();
+    }
+
+    params.put("initial", 1L + allocationSize);
+    queryExecutor.update(
+        String.format(
+            "INSERT INTO %s (sequence_name, next_val) VALUES (#{params.name}, #{params.initial})",
+            sequenceTable),
+        params);
+    return 1L + allocationSize;
+  }
+}
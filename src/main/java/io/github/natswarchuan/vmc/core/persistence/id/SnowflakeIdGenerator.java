@@ -0,0 +1,73 @@
+package io.github.natswarchuan.vmc.core.persistence.id;
+
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Sinh khóa {@code long} 64 bit theo dạng Snowflake.
+ *
+ * <p>Bố cục khóa: 41 bit thời gian (mili giây kể từ 2020-01-01T00:00:00Z), 10 bit mã máy (worker
+ * id, 0-1023) và 12 bit số thứ tự trong cùng mili giây. Các khóa sinh ra bởi một instance tăng
+ * dần nghiêm ngặt; các instance có mã máy khác nhau không bao giờ sinh trùng khóa.
+ *
+ * <p>Trạng thái (thời gian, số thứ tự) được giữ trong một {@link AtomicLong} và cập nhật bằng
+ * compare-and-set, nên việc sinh khóa không cần khóa (lock-free). Khi hết 4096 số thứ tự trong
+ * một mili giây, hoặc khi đồng hồ hệ thống lùi lại, bộ sinh tiếp tục với mili giây kế tiếp của
+ * trạng thái thay vì chờ đồng hồ.
+ *
+ * @author NatswarChuan
+ */
+public class SnowflakeIdGenerator implements VMCIdGenerator {
+
+  /** Mốc thời gian 2020-01-01T00:00:00Z, tính bằng mili giây. */
+  private static final long EPOCH = 1577836800000L;
+
+  private static final int WORKER_BITS = 10;
+  private static final int SEQUENCE_BITS = 12;
+  private static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long workerId;
+
+  /** Trạng thái hiện tại: {@code (thời gian << SEQUENCE_BITS) | số thứ tự}. */
+  private final AtomicLong state = new AtomicLong();
+
+  /**
+   * Khởi tạo một bộ sinh khóa Snowflake.
+   *
+   * @param workerId Mã máy, từ 0 đến 1023; mỗi tiến trình ứng dụng chạy đồng thời phải có một mã
+   *     riêng.
+   * @throws VMCException nếu mã máy nằm ngoài khoảng cho phép.
+   */
+  public SnowflakeIdGenerator(long workerId) {
+    if (workerId < 0 || workerId > MAX_WORKER_ID) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Snowflake worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+    }
+    this.workerId = workerId;
+  }
+
+  @Override
+  public Object nextId() {
+    while (true) {
+      long now = System.currentTimeMillis() - EPOCH;
+      long previous = state.get();
+      long previousTime = previous >>> SEQUENCE_BITS;
+      long next;
+      if (now > previousTime) {
+        next = now << SEQUENCE_BITS;
+      } else if ((previous & SEQUENCE_MASK) == SEQUENCE_MASK) {
+        next = (previousTime + 1) << SEQUENCE_BITS;
+      } else {
+        next = previous + 1;
+      }
+      if (state.compareAndSet(previous, next)) {
+        return ((next >>> SEQUENCE_BITS) << (WORKER_BITS + SEQUENCE_BITS))
+            | (workerId << SEQUENCE_BITS)
+            | (next & SEQUENCE_MASK);
+      }
+    }
+  }
+}
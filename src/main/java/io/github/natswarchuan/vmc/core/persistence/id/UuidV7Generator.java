@@ -0,0 +1,26 @@
+package io.github.natswarchuan.vmc.core.persistence.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sinh khóa {@link UUID} phiên bản 7 theo RFC 9562.
+ *
+ * <p>48 bit đầu là thời gian Unix theo mili giây, các bit còn lại (trừ các bit phiên bản và biến
+ * thể) là ngẫu nhiên. Vì phần đầu tăng theo thời gian, các khóa mới được chèn vào cuối chỉ mục
+ * B-tree, tránh việc chia trang ngẫu nhiên như với UUID phiên bản 4. Việc sinh khóa không cần
+ * đồng bộ hóa.
+ *
+ * @author NatswarChuan
+ */
+public class UuidV7Generator implements VMCIdGenerator {
+
+  @Override
+  public Object nextId() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long timestamp = System.currentTimeMillis();
+    long mostSigBits = (timestamp << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -0,0 +1,20 @@
+package io.github.natswarchuan.vmc.core.persistence.id;
+
+/**
+ * Bộ sinh khóa chính phía ứng dụng, được chọn theo {@link
+ * io.github.natswarchuan.vmc.core.annotation.VMCGeneratedValue}.
+ *
+ * <p>Các triển khai phải an toàn cho luồng (thread-safe): một instance được dùng chung cho mọi
+ * thực thể có cùng cấu hình.
+ *
+ * @author NatswarChuan
+ */
+public interface VMCIdGenerator {
+
+  /**
+   * Sinh một giá trị khóa chính mới, chưa từng được cấp.
+   *
+   * @return Giá trị khóa chính.
+   */
+  Object nextId();
+}
@@ -0,0 +1,93 @@
+package io.github.natswarchuan.vmc.core.persistence.id;
+
+import io.github.natswarchuan.vmc.core.annotation.VMCGeneratedValue;
+import io.github.natswarchuan.vmc.core.config.VMCProperties;
+import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Chọn và giữ các bộ sinh khóa chính phía ứng dụng cho các thực thể có {@link VMCGeneratedValue}.
+ *
+ * <p>Bộ sinh Snowflake và UUIDv7 được dùng chung cho mọi thực thể; mỗi tên chuỗi hi-lo có một bộ
+ * sinh riêng. Việc đặt trước khối hi-lo chạy trong một giao dịch mới ({@code REQUIRES_NEW}) nếu
+ * ứng dụng có một {@link PlatformTransactionManager} duy nhất.
+ *
+ * @author NatswarChuan
+ */
+@Component
+public class VMCIdGeneratorRegistry {
+
+  private final VMCQueryExecutor queryExecutor;
+  private final VMCProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final SnowflakeIdGenerator snowflakeGenerator;
+  private final UuidV7Generator uuidGenerator = new UuidV7Generator();
+  private final Map<String, HiLoIdGenerator> hiLoGenerators = new ConcurrentHashMap<>();
+
+  /**
+   * Khởi tạo registry.
+   *
+   * @param queryExecutor Backend thực thi các câu lệnh trên bảng chuỗi hi-lo.
+   * @param properties Các thuộc tính cấu hình của framework.
+   * @param transactionManager Trình quản lý giao dịch, dùng cho việc đặt trước khối hi-lo.
+   */
+  public VMCIdGeneratorRegistry(
+      VMCQueryExecutor queryExecutor,
+      VMCProperties properties,
+      ObjectProvider<PlatformTransactionManager> transactionManager) {
+    this.queryExecutor = queryExecutor;
+    this.properties = properties;
+    this.snowflakeGenerator = new SnowflakeIdGenerator(properties.getSnowflakeWorkerId());
+    PlatformTransactionManager manager = transactionManager.getIfUnique();
+    if (manager != null) {
+      this.transactionTemplate = new TransactionTemplate(manager);
+      this.transactionTemplate.setPropagationBehavior(
+          TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    } else {
+      this.transactionTemplate = null;
+    }
+  }
+
+  /**
+   * Lấy bộ sinh khóa cho một lớp thực thể.
+   *
+   * @param metadata Metadata của thực thể.
+   * @return Bộ sinh khóa, hoặc {@code null} nếu khóa do cơ sở dữ liệu sinh ra.
+   */
+  public VMCIdGenerator getGenerator(EntityMetadata metadata) {
+    VMCGeneratedValue generatedValue = metadata.getGeneratedValue();
+    if (generatedValue == null) {
+      return null;
+    }
+    switch (generatedValue.strategy()) {
+      case HILO:
+        String sequenceName =
+            generatedValue.sequenceName().isEmpty()
+                ? metadata.getTableName()
+                : generatedValue.sequenceName();
+        return hiLoGenerators.computeIfAbsent(
+            sequenceName,
+            name ->
+                new HiLoIdGenerator(
+                    queryExecutor,
+                    transactionTemplate,
+                    properties.getDialect(),
+                    properties.getSequenceTable(),
+                    name,
+                    generatedValue.allocationSize()));
+      case SNOWFLAKE:
+        return snowflakeGenerator;
+      case UUID_V7:
+        return uuidGenerator;
+      default:
+        return null;
+    }
+  }
+}
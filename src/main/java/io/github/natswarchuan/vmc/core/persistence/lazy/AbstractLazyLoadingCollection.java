@@ -1,7 +1,10 @@
 package io.github.natswarchuan.vmc.core.persistence.lazy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Một lớp cơ sở trừu tượng cho các collection (bộ sưu tập) hỗ trợ tải lười (lazy loading).
@@ -10,6 +13,13 @@ import java.util.Iterator;
  * collection thực sự bên dưới (delegate). Collection thực sự này chỉ được tạo và điền dữ liệu khi
  * có một thao tác được thực hiện trên nó lần đầu tiên.
  *
+ * <p>Collection ghi nhớ các phần tử đã được tải từ cơ sở dữ liệu (ảnh chụp) và đánh dấu khi nó bị
+ * thay đổi. Khi lưu theo tầng, một collection chưa được khởi tạo được bỏ qua hoàn toàn, và một
+ * collection đã khởi tạo được đồng bộ bằng cách so sánh nội dung hiện tại với ảnh chụp thay vì đọc
+ * lại các liên kết từ cơ sở dữ liệu. Các mối quan hệ được tải ngay (eager) cũng dùng lớp này ở
+ * trạng thái đã khởi tạo sẵn; các phần tử được thêm trong quá trình ánh xạ kết quả đi qua {@link
+ * #addLoaded(Object)} để trở thành một phần của ảnh chụp.
+ *
  * @param <E> Kiểu của các phần tử trong collection.
  * @author NatswarChuan
  */
@@ -27,6 +37,12 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
   /** Cờ đánh dấu trạng thái đã khởi tạo của bộ sưu tập. {@code true} nếu dữ liệu đã được tải. */
   private boolean initialized = false;
 
+  /** Các phần tử đã được tải từ cơ sở dữ liệu hoặc đã được đồng bộ lần gần nhất. */
+  private List<E> loadedElements = new ArrayList<>();
+
+  /** Cờ đánh dấu collection đã bị thay đổi kể từ khi được tải hoặc đồng bộ lần gần nhất. */
+  private boolean modified = false;
+
   /**
    * Khởi tạo một collection với cơ chế tải lười.
    *
@@ -36,6 +52,17 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
     this.loader = loader;
   }
 
+  /**
+   * Khởi tạo một collection đã được tải sẵn, dùng cho các mối quan hệ được tải ngay (eager).
+   *
+   * @param delegate collection rỗng sẽ nhận các phần tử qua {@link #addLoaded(Object)}
+   */
+  protected AbstractLazyLoadingCollection(Collection<E> delegate) {
+    this.loader = null;
+    this.delegate = delegate;
+    this.initialized = true;
+  }
+
   /**
    * Khởi tạo collection nếu nó chưa được khởi tạo.
    *
@@ -48,10 +75,72 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
       if (this.delegate == null) {
         this.delegate = createEmptyCollection();
       }
+      this.loadedElements = new ArrayList<>(this.delegate);
       this.initialized = true;
     }
   }
 
+  /**
+   * Kiểm tra collection đã được khởi tạo (dữ liệu đã được tải) hay chưa.
+   *
+   * @return {@code true} nếu dữ liệu đã được tải.
+   */
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  /**
+   * Kiểm tra collection có bị thay đổi kể từ khi được tải hoặc đồng bộ lần gần nhất hay không.
+   *
+   * @return {@code true} nếu đã có một thao tác thêm, xóa hoặc thay thế phần tử.
+   */
+  public boolean isModified() {
+    return modified;
+  }
+
+  /**
+   * Lấy các phần tử đã được tải từ cơ sở dữ liệu hoặc đã được đồng bộ lần gần nhất.
+   *
+   * @return Danh sách chỉ đọc các phần tử của ảnh chụp.
+   */
+  public List<E> getLoadedElements() {
+    return Collections.unmodifiableList(loadedElements);
+  }
+
+  /**
+   * Thêm một phần tử vừa được đọc từ cơ sở dữ liệu mà không đánh dấu collection là đã thay đổi.
+   *
+   * <p>Được dùng bởi bộ ánh xạ kết quả khi điền các mối quan hệ được tải ngay.
+   *
+   * @param e Phần tử cần thêm.
+   */
+  public void addLoaded(E e) {
+    initialize();
+    if (delegate.add(e)) {
+      loadedElements.add(e);
+    }
+  }
+
+  /**
+   * Đánh dấu nội dung hiện tại là trạng thái đã được đồng bộ với cơ sở dữ liệu. Được gọi sau khi
+   * mối quan hệ được lưu theo tầng.
+   */
+  public void markSynchronized() {
+    if (initialized) {
+      this.loadedElements = new ArrayList<>(delegate);
+      this.modified = false;
+    }
+  }
+
+  /**
+   * Đánh dấu collection là đã thay đổi. Các lớp con gọi phương thức này khi một thao tác thực sự
+   * thay đổi nội dung, hoặc trước khi trả về một view có thể thay đổi nội dung (như {@code
+   * subList()} hay {@code listIterator()}).
+   */
+  protected void markModified() {
+    this.modified = true;
+  }
+
   /**
    * Tạo một collection rỗng mặc định.
    *
@@ -83,7 +172,24 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
   @Override
   public Iterator<E> iterator() {
     initialize();
-    return delegate.iterator();
+    Iterator<E> iterator = delegate.iterator();
+    return new Iterator<E>() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public E next() {
+        return iterator.next();
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        markModified();
+      }
+    };
   }
 
   @Override
@@ -101,13 +207,21 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
   @Override
   public boolean add(E e) {
     initialize();
-    return delegate.add(e);
+    if (delegate.add(e)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
   public boolean remove(Object o) {
     initialize();
-    return delegate.remove(o);
+    if (delegate.remove(o)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
@@ -119,25 +233,40 @@ public abstract class AbstractLazyLoadingCollection<E> implements Collection<E>
   @Override
   public boolean addAll(Collection<? extends E> c) {
     initialize();
-    return delegate.addAll(c);
+    if (delegate.addAll(c)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
   public boolean removeAll(Collection<?> c) {
     initialize();
-    return delegate.removeAll(c);
+    if (delegate.removeAll(c)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
   public boolean retainAll(Collection<?> c) {
     initialize();
-    return delegate.retainAll(c);
+    if (delegate.retainAll(c)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
   public void clear() {
     initialize();
-    delegate.clear();
+    if (!delegate.isEmpty()) {
+      markModified();
+      delegate.clear();
+    }
   }
 
   @Override
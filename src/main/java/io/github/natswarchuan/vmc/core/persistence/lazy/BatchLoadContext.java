@@ -0,0 +1,225 @@
+package io.github.natswarchuan.vmc.core.persistence.lazy;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ngữ cảnh tải theo lô dùng chung cho các collection tải lười được tạo ra từ cùng một kết quả truy
+ * vấn.
+ *
+ * <p>Khi ánh xạ kết quả, mỗi thực thể sở hữu đăng ký khóa chính của mình cho từng mối quan hệ
+ * collection tải lười. Lần đầu một collection được truy cập, ngữ cảnh tải mối quan hệ đó cho thực
+ * thể được truy cập cùng tối đa {@code batchSize - 1} thực thể "anh em" đang chờ bằng một truy vấn
+ * {@code IN} duy nhất (thông qua {@link RelationBatchLoader}); kết quả của các thực thể còn lại
+ * được giữ lại để collection của chúng khởi tạo mà không cần truy vấn thêm.
+ *
+ * <p>Duyệt 500 đơn hàng và truy cập {@code items} của từng đơn vì vậy chỉ tốn {@code
+ * ceil(500 / batchSize)} truy vấn thay vì 500.
+ *
+ * <p>Cơ chế tương tự được áp dụng cho các proxy tải lười của quan hệ ToOne ({@link
+ * LazyLoadInterceptor}): các proxy cùng lớp đích và cùng cột truy vấn được khởi tạo bằng một câu
+ * lệnh {@code WHERE column IN (...)}. Lớp này an toàn cho luồng (thread-safe).
+ *
+ * @author NatswarChuan
+ */
+public class BatchLoadContext {
+
+  private final int batchSize;
+  private final RelationBatchLoader batchLoader = new RelationBatchLoader();
+
+  /** Khóa chính của các thực thể sở hữu chưa được tải, theo thứ tự đăng ký, cho mỗi quan hệ. */
+  private final Map<RelationMetadata, LinkedHashMap<Object, Object>> pending = new HashMap<>();
+
+  /** Kết quả đã tải theo lô nhưng collection tương ứng chưa được khởi tạo, cho mỗi quan hệ. */
+  private final Map<RelationMetadata, Map<Object, List<Model>>> loaded = new HashMap<>();
+
+  /** Giá trị truy vấn của các proxy ToOne chưa được tải, theo nhóm (lớp đích, cột, cách tải). */
+  private final Map<List<Object>, LinkedHashMap<Object, Object>> pendingReferences =
+      new HashMap<>();
+
+  /**
+   * Thực thể đã tải theo lô, theo nhóm và giá trị cột truy vấn; được giữ lại để mọi proxy trỏ đến
+   * cùng một giá trị dùng chung kết quả.
+   */
+  private final Map<List<Object>, Map<Object, Model>> loadedReferences = new HashMap<>();
+
+  /**
+   * Khởi tạo một ngữ cảnh tải theo lô.
+   *
+   * @param batchSize Số thực thể sở hữu tối đa được tải trong một truy vấn.
+   */
+  public BatchLoadContext(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Đăng ký một thực thể sở hữu có collection tải lười cho một mối quan hệ.
+   *
+   * @param relMeta Metadata của mối quan hệ.
+   * @param ownerId Khóa chính của thực thể sở hữu.
+   */
+  public synchronized void register(RelationMetadata relMeta, Object ownerId) {
+    if (ownerId == null) {
+      return;
+    }
+    pending
+        .computeIfAbsent(relMeta, k -> new LinkedHashMap<>())
+        .put(RelationBatchLoader.normalizeKey(ownerId), ownerId);
+  }
+
+  /**
+   * Lấy các thực thể liên quan của một thực thể sở hữu, tải theo lô cùng các thực thể đang chờ nếu
+   * chúng chưa được tải.
+   *
+   * @param relMeta Metadata của mối quan hệ.
+   * @param ownerId Khóa chính của thực thể sở hữu.
+   * @return Danh sách các thực thể liên quan (có thể rỗng).
+   */
+  public synchronized List<Model> load(RelationMetadata relMeta, Object ownerId) {
+    Object key = RelationBatchLoader.normalizeKey(ownerId);
+    Map<Object, List<Model>> loadedForRelation =
+        loaded.computeIfAbsent(relMeta, k -> new HashMap<>());
+    List<Model> related = loadedForRelation.remove(key);
+    if (related != null) {
+      return related;
+    }
+
+    LinkedHashMap<Object, Object> pendingForRelation =
+        pending.computeIfAbsent(relMeta, k -> new LinkedHashMap<>());
+    List<Object> keys = new ArrayList<>();
+    List<Object> ids = new ArrayList<>();
+    pendingForRelation.remove(key);
+    keys.add(key);
+    ids.add(ownerId);
+    Iterator<Map.Entry<Object, Object>> iterator = pendingForRelation.entrySet().iterator();
+    while (iterator.hasNext() && ids.size() < batchSize) {
+      Map.Entry<Object, Object> entry = iterator.next();
+      keys.add(entry.getKey());
+      ids.add(entry.getValue());
+      iterator.remove();
+    }
+
+    Map<Object, List<Model>> relatedByOwner = batchLoader.load(relMeta, ids);
+    // Kết quả của mỗi thực thể sở hữu được giữ lại cho tới khi collection của nó được truy cập và
+    // chỉ được trao cho một collection; collection đang yêu cầu nhận một bản sao riêng để không
+    // dùng chung danh sách với collection khác của cùng thực thể sở hữu
+    for (int i = 0; i < keys.size(); i++) {
+      Object siblingKey = keys.get(i);
+      loadedForRelation.put(
+          siblingKey, relatedByOwner.getOrDefault(siblingKey, new ArrayList<>()));
+    }
+    List<Model> result = relatedByOwner.get(key);
+    return result != null ? new ArrayList<>(result) : new ArrayList<>();
+  }
+
+  /**
+   * Đăng ký một proxy tải lười của quan hệ ToOne.
+   *
+   * @param targetClass Lớp của thực thể đích.
+   * @param queryColumn Cột dùng để truy vấn thực thể đích.
+   * @param queryValue Giá trị của cột truy vấn.
+   * @param excludedRelationName Tên quan hệ ngược được loại trừ, hoặc {@code null}.
+   * @param fetchDepth Độ sâu tải của proxy.
+   */
+  public synchronized void registerReference(
+      Class<? extends Model> targetClass,
+      String queryColumn,
+      Object queryValue,
+      String excludedRelationName,
+      int fetchDepth) {
+    if (queryValue == null) {
+      return;
+    }
+    List<Object> group =
+        referenceGroup(targetClass, queryColumn, excludedRelationName, fetchDepth);
+    Object key = RelationBatchLoader.normalizeKey(queryValue);
+    Map<Object, Model> loadedForGroup = loadedReferences.get(group);
+    if (loadedForGroup != null && loadedForGroup.containsKey(key)) {
+      return;
+    }
+    pendingReferences.computeIfAbsent(group, k -> new LinkedHashMap<>()).put(key, queryValue);
+  }
+
+  /**
+   * Lấy thực thể đích của một proxy ToOne, tải theo lô cùng các proxy đang chờ trong cùng nhóm nếu
+   * nó chưa được tải.
+   *
+   * @param targetClass Lớp của thực thể đích.
+   * @param queryColumn Cột dùng để truy vấn thực thể đích.
+   * @param queryValue Giá trị của cột truy vấn.
+   * @param excludedRelationName Tên quan hệ ngược được loại trừ, hoặc {@code null}.
+   * @param fetchDepth Độ sâu tải của proxy.
+   * @param batchQuery Hàm truy vấn các thực thể đích có {@code queryColumn} thuộc danh sách giá
+   *     trị.
+   * @return Thực thể đích, hoặc {@code null} nếu không tồn tại.
+   */
+  public synchronized Model loadReference(
+      Class<? extends Model> targetClass,
+      String queryColumn,
+      Object queryValue,
+      String excludedRelationName,
+      int fetchDepth,
+      Function<List<Object>, List<? extends Model>> batchQuery) {
+    List<Object> group =
+        referenceGroup(targetClass, queryColumn, excludedRelationName, fetchDepth);
+    Object key = RelationBatchLoader.normalizeKey(queryValue);
+    Map<Object, Model> loadedForGroup =
+        loadedReferences.computeIfAbsent(group, k -> new HashMap<>());
+    if (loadedForGroup.containsKey(key)) {
+      return loadedForGroup.get(key);
+    }
+
+    LinkedHashMap<Object, Object> pendingForGroup =
+        pendingReferences.computeIfAbsent(group, k -> new LinkedHashMap<>());
+    List<Object> keys = new ArrayList<>();
+    List<Object> values = new ArrayList<>();
+    pendingForGroup.remove(key);
+    keys.add(key);
+    values.add(queryValue);
+    Iterator<Map.Entry<Object, Object>> iterator = pendingForGroup.entrySet().iterator();
+    while (iterator.hasNext() && values.size() < batchSize) {
+      Map.Entry<Object, Object> entry = iterator.next();
+      keys.add(entry.getKey());
+      values.add(entry.getValue());
+      iterator.remove();
+    }
+
+    Map<Object, Model> targetsByValue = new HashMap<>();
+    for (Model model : batchQuery.apply(values)) {
+      targetsByValue.putIfAbsent(
+          RelationBatchLoader.normalizeKey(model.getAttribute(queryColumn)), model);
+    }
+    // Nhiều proxy có thể trỏ đến cùng một giá trị nên các thực thể đã tải được giữ lại trong suốt
+    // vòng đời của ngữ cảnh
+    for (int i = 0; i < keys.size(); i++) {
+      loadedForGroup.put(keys.get(i), targetsByValue.get(keys.get(i)));
+    }
+    return targetsByValue.get(key);
+  }
+
+  /**
+   * Tạo khóa nhóm cho các proxy ToOne có thể được tải chung một truy vấn.
+   *
+   * @param targetClass Lớp của thực thể đích.
+   * @param queryColumn Cột dùng để truy vấn.
+   * @param excludedRelationName Tên quan hệ ngược được loại trừ, hoặc {@code null}.
+   * @param fetchDepth Độ sâu tải của proxy.
+   * @return Khóa nhóm.
+   */
+  private static List<Object> referenceGroup(
+      Class<? extends Model> targetClass,
+      String queryColumn,
+      String excludedRelationName,
+      int fetchDepth) {
+    return Arrays.asList(
+        targetClass, queryColumn, fetchDepth > 0 ? excludedRelationName : null, fetchDepth > 0);
+  }
+}
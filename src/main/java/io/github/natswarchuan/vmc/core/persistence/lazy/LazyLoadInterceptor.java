@@ -5,7 +5,10 @@ import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.query.builder.VMCQueryBuilder;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSqlOperator;
+import io.github.natswarchuan.vmc.core.util.DataConverter;
 import java.lang.reflect.Method;
+import java.util.Objects;
+import org.springframework.cglib.proxy.Factory;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
 
@@ -17,6 +20,16 @@ import org.springframework.cglib.proxy.MethodProxy;
  * tượng thực sự (target) chưa được tải, nó sẽ thực hiện một truy vấn đến cơ sở dữ liệu để lấy đối
  * tượng đó. Các lời gọi phương thức sau đó sẽ được ủy quyền cho đối tượng thực sự đã được tải.
  *
+ * <p>Mặc định chỉ các cột của thực thể đích được tải; các mối quan hệ của nó tiếp tục được tải
+ * lười. Với độ sâu tải ({@code fetchDepth}) lớn hơn {@code 0}, các quan hệ trực tiếp của thực thể
+ * đích (trừ quan hệ ngược) được tải kèm trong cùng truy vấn.
+ *
+ * <p>Khi proxy được tạo từ khóa chính của thực thể đích (phía sở hữu của quan hệ), khóa chính đã
+ * được biết trước: getter của khóa chính, {@link Model#getPrimaryKey()}, {@code equals} và {@code
+ * hashCode} được trả lời trực tiếp mà không truy vấn cơ sở dữ liệu. {@code equals}/{@code hashCode}
+ * chỉ được trả lời theo khóa chính nếu lớp đích không tự định nghĩa chúng; hai proxy của cùng một
+ * bản ghi khi đó được coi là bằng nhau.
+ *
  * @author NatswarChuan
  */
 public class LazyLoadInterceptor implements MethodInterceptor {
@@ -24,6 +37,15 @@ public class LazyLoadInterceptor implements MethodInterceptor {
   private final String queryColumn;
   private final Object queryValue;
   private final String excludedRelationName;
+  private final int fetchDepth;
+  private final BatchLoadContext batchContext;
+
+  /** Khóa chính đã biết của thực thể đích, hoặc {@code null} nếu proxy không truy vấn theo nó. */
+  private final Object identifier;
+
+  /** Tên getter của trường khóa chính, hoặc {@code null} nếu khóa chính chưa biết. */
+  private final String identifierGetter;
+
   private Object target = null;
   private boolean initialized = false;
 
@@ -41,10 +63,50 @@ public class LazyLoadInterceptor implements MethodInterceptor {
       String queryColumn,
       Object queryValue,
       String excludedRelationName) {
+    this(targetClass, queryColumn, queryValue, excludedRelationName, 0, null);
+  }
+
+  /**
+   * Khởi tạo một LazyLoadInterceptor mới, tải theo lô cùng các proxy khác được tạo ra từ cùng một
+   * kết quả truy vấn.
+   *
+   * @param targetClass Lớp của thực thể cần được tải lười.
+   * @param queryColumn Tên cột trong cơ sở dữ liệu được dùng để truy vấn.
+   * @param queryValue Giá trị của cột dùng để truy vấn.
+   * @param excludedRelationName Tên của mối quan hệ ngược lại cần được loại trừ khỏi eager loading
+   *     để tránh đệ quy.
+   * @param fetchDepth Độ sâu tải: {@code 0} chỉ tải các cột của thực thể đích, lớn hơn {@code 0}
+   *     tải kèm các quan hệ trực tiếp của nó.
+   * @param batchContext Ngữ cảnh tải theo lô dùng chung, hoặc {@code null} để tải riêng lẻ.
+   */
+  public LazyLoadInterceptor(
+      Class<? extends Model> targetClass,
+      String queryColumn,
+      Object queryValue,
+      String excludedRelationName,
+      int fetchDepth,
+      BatchLoadContext batchContext) {
     this.targetClass = targetClass;
     this.queryColumn = queryColumn;
     this.queryValue = queryValue;
     this.excludedRelationName = excludedRelationName;
+    this.fetchDepth = fetchDepth;
+    this.batchContext = batchContext;
+
+    EntityMetadata targetMetadata = MetadataCache.getMetadata(targetClass);
+    if (queryValue != null
+        && queryColumn != null
+        && queryColumn.equalsIgnoreCase(targetMetadata.getPrimaryKeyColumnName())) {
+      String pkFieldName = targetMetadata.getPrimaryKeyFieldName();
+      this.identifier =
+          DataConverter.convertValue(
+              queryValue, MetadataCache.getRowMapper(targetClass).fieldType(pkFieldName));
+      this.identifierGetter =
+          "get" + Character.toUpperCase(pkFieldName.charAt(0)) + pkFieldName.substring(1);
+    } else {
+      this.identifier = null;
+      this.identifierGetter = null;
+    }
   }
 
   /**
@@ -64,22 +126,40 @@ public class LazyLoadInterceptor implements MethodInterceptor {
       return null;
     }
 
+    if (identifier != null) {
+      String name = method.getName();
+      int argCount = args == null ? 0 : args.length;
+      if (argCount == 0 && !initialized) {
+        if ("getPrimaryKey".equals(name) || name.equals(identifierGetter)) {
+          return identifier;
+        }
+      }
+      if (method.getDeclaringClass() == Object.class) {
+        if ("hashCode".equals(name) && argCount == 0) {
+          return Objects.hash(targetClass, RelationBatchLoader.normalizeKey(identifier));
+        }
+        if ("equals".equals(name) && argCount == 1) {
+          return obj == args[0] || isSameReference(args[0]);
+        }
+      }
+    }
+
     if (target == null && !initialized) {
       initialized = true;
       if (queryValue != null) {
-        EntityMetadata targetMetadata = MetadataCache.getMetadata(targetClass);
-
-        // Eager load tất cả các mối quan hệ NGOẠI TRỪ mối quan hệ ngược lại
-        String[] relationsToLoad =
-            targetMetadata.getRelations().keySet().stream()
-                .filter(name -> !name.equals(this.excludedRelationName))
-                .toArray(String[]::new);
-
-        target =
-            VMCQueryBuilder.from(targetClass)
-                .with(relationsToLoad)
-                .where(queryColumn, VMCSqlOperator.EQUAL, queryValue)
-                .getFirst();
+        if (batchContext != null) {
+          target =
+              batchContext.loadReference(
+                  targetClass,
+                  queryColumn,
+                  queryValue,
+                  excludedRelationName,
+                  fetchDepth,
+                  values -> createTargetQuery().whereIn(queryColumn, values).get());
+        } else {
+          target =
+              createTargetQuery().where(queryColumn, VMCSqlOperator.EQUAL, queryValue).getFirst();
+        }
       }
     }
 
@@ -98,4 +178,45 @@ public class LazyLoadInterceptor implements MethodInterceptor {
 
     return method.invoke(target, args);
   }
+
+  /**
+   * Kiểm tra một đối tượng có phải là proxy tải lười trỏ đến cùng bản ghi hay không.
+   *
+   * @param other Đối tượng cần so sánh.
+   * @return {@code true} nếu {@code other} là proxy của cùng lớp đích với cùng khóa chính.
+   */
+  private boolean isSameReference(Object other) {
+    if (!(other instanceof Factory)) {
+      return false;
+    }
+    Object callback = ((Factory) other).getCallback(0);
+    if (!(callback instanceof LazyLoadInterceptor)) {
+      return false;
+    }
+    LazyLoadInterceptor otherInterceptor = (LazyLoadInterceptor) callback;
+    return targetClass.equals(otherInterceptor.targetClass)
+        && otherInterceptor.identifier != null
+        && RelationBatchLoader.normalizeKey(identifier)
+            .equals(RelationBatchLoader.normalizeKey(otherInterceptor.identifier));
+  }
+
+  /**
+   * Tạo truy vấn để tải thực thể đích.
+   *
+   * @return Một {@link VMCQueryBuilder} cho lớp đích, chưa có điều kiện lọc.
+   */
+  private VMCQueryBuilder createTargetQuery() {
+    if (fetchDepth <= 0) {
+      return VMCQueryBuilder.from(targetClass);
+    }
+    EntityMetadata targetMetadata = MetadataCache.getMetadata(targetClass);
+
+    // Eager load tất cả các mối quan hệ NGOẠI TRỪ mối quan hệ ngược lại
+    String[] relationsToLoad =
+        targetMetadata.getRelations().keySet().stream()
+            .filter(name -> !name.equals(this.excludedRelationName))
+            .toArray(String[]::new);
+
+    return VMCQueryBuilder.from(targetClass).with(relationsToLoad);
+  }
 }
@@ -25,6 +25,11 @@ public class LazyLoadingList<E> extends AbstractLazyLoadingCollection<E> impleme
     super(loader);
   }
 
+  /** Khởi tạo một danh sách rỗng đã được tải sẵn, dùng cho các quan hệ được tải ngay (eager). */
+  public LazyLoadingList() {
+    super(new ArrayList<>());
+  }
+
   @Override
   protected Collection<E> createEmptyCollection() {
     return new ArrayList<>();
@@ -33,7 +38,11 @@ public class LazyLoadingList<E> extends AbstractLazyLoadingCollection<E> impleme
   @Override
   public boolean addAll(int index, Collection<? extends E> c) {
     initialize();
-    return ((List<E>) delegate).addAll(index, c);
+    if (((List<E>) delegate).addAll(index, c)) {
+      markModified();
+      return true;
+    }
+    return false;
   }
 
   @Override
@@ -45,18 +54,21 @@ public class LazyLoadingList<E> extends AbstractLazyLoadingCollection<E> impleme
   @Override
   public E set(int index, E element) {
     initialize();
+    markModified();
     return ((List<E>) delegate).set(index, element);
   }
 
   @Override
   public void add(int index, E element) {
     initialize();
+    markModified();
     ((List<E>) delegate).add(index, element);
   }
 
   @Override
   public E remove(int index) {
     initialize();
+    markModified();
     return ((List<E>) delegate).remove(index);
   }
 
@@ -75,18 +87,21 @@ public class LazyLoadingList<E> extends AbstractLazyLoadingCollection<E> impleme
   @Override
   public ListIterator<E> listIterator() {
     initialize();
+    markModified();
     return ((List<E>) delegate).listIterator();
   }
 
   @Override
   public ListIterator<E> listIterator(int index) {
     initialize();
+    markModified();
     return ((List<E>) delegate).listIterator(index);
   }
 
   @Override
   public List<E> subList(int fromIndex, int toIndex) {
     initialize();
+    markModified();
     return ((List<E>) delegate).subList(fromIndex, toIndex);
   }
 }
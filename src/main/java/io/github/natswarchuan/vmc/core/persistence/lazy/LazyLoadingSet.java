@@ -24,6 +24,11 @@ public class LazyLoadingSet<E> extends AbstractLazyLoadingCollection<E> implemen
     super(loader);
   }
 
+  /** Khởi tạo một tập hợp rỗng đã được tải sẵn, dùng cho các mối quan hệ được tải ngay (eager). */
+  public LazyLoadingSet() {
+    super(new HashSet<>());
+  }
+
   @Override
   protected Collection<E> createEmptyCollection() {
     return new HashSet<>();
@@ -32,6 +32,7 @@ import org.springframework.http.HttpStatus;
 public class ManyToManyLoader implements LazyLoader<Model> {
   private final Model owner;
   private final RelationMetadata relMeta;
+  private final BatchLoadContext batchContext;
 
   /**
    * Khởi tạo một loader mới cho quan hệ Many-to-Many.
@@ -40,8 +41,21 @@ public class ManyToManyLoader implements LazyLoader<Model> {
    * @param relMeta Siêu dữ liệu của mối quan hệ cần tải.
    */
   public ManyToManyLoader(Model owner, RelationMetadata relMeta) {
+    this(owner, relMeta, null);
+  }
+
+  /**
+   * Khởi tạo một loader mới cho quan hệ Many-to-Many, tải theo lô cùng các thực thể sở hữu khác
+   * trong cùng kết quả truy vấn.
+   *
+   * @param owner Thực thể sở hữu mối quan hệ.
+   * @param relMeta Siêu dữ liệu của mối quan hệ cần tải.
+   * @param batchContext Ngữ cảnh tải theo lô dùng chung, hoặc {@code null} để tải riêng lẻ.
+   */
+  public ManyToManyLoader(Model owner, RelationMetadata relMeta, BatchLoadContext batchContext) {
     this.owner = owner;
     this.relMeta = relMeta;
+    this.batchContext = batchContext;
   }
 
   /**
@@ -79,22 +93,11 @@ public class ManyToManyLoader implements LazyLoader<Model> {
     }
 
     Class<? extends Model> targetClass = (Class<? extends Model>) relMeta.getTargetEntity();
-    String targetAlias = targetClass.getSimpleName().substring(0, 1).toLowerCase();
-    String pivotAlias = relMeta.getFieldName() + "_pivot";
-
-    VMCQueryBuilder query = VMCQueryBuilder.from(targetClass, targetAlias).disableRecursion();
-
-    query.join(
-        VMCSqlJoinType.JOIN,
-        joinTable.getTableName(),
-        pivotAlias,
-        targetAlias + "." + targetMetadata.getPrimaryKeyColumnName(),
-        "=",
-        pivotAlias + "." + pivotColumnForTarget);
-
-    query.where(pivotAlias + "." + pivotColumnForOwner, VMCSqlOperator.EQUAL, ownerPkValue);
-
-    Collection<Model> initialCollection = query.get();
+    Collection<Model> initialCollection =
+        batchContext != null
+            ? batchContext.load(relMeta, ownerPkValue)
+            : loadForOwner(
+                targetClass, joinTable, pivotColumnForOwner, pivotColumnForTarget, ownerPkValue);
 
     if (initialCollection.isEmpty()) {
       return initialCollection;
@@ -141,6 +144,42 @@ public class ManyToManyLoader implements LazyLoader<Model> {
     return initialCollection;
   }
 
+  /**
+   * Tải các thực thể liên quan của riêng thực thể sở hữu bằng một truy vấn JOIN qua bảng trung
+   * gian.
+   *
+   * @param targetClass Lớp của thực thể đích.
+   * @param joinTable Metadata của bảng trung gian.
+   * @param pivotColumnForOwner Cột của bảng trung gian tham chiếu tới thực thể sở hữu.
+   * @param pivotColumnForTarget Cột của bảng trung gian tham chiếu tới thực thể đích.
+   * @param ownerPkValue Khóa chính của thực thể sở hữu.
+   * @return Danh sách các thực thể liên quan.
+   */
+  private Collection<Model> loadForOwner(
+      Class<? extends Model> targetClass,
+      JoinTableMetadata joinTable,
+      String pivotColumnForOwner,
+      String pivotColumnForTarget,
+      Object ownerPkValue) {
+    EntityMetadata targetMetadata = MetadataCache.getMetadata(targetClass);
+    String targetAlias = targetClass.getSimpleName().substring(0, 1).toLowerCase();
+    String pivotAlias = relMeta.getFieldName() + "_pivot";
+
+    VMCQueryBuilder query = VMCQueryBuilder.from(targetClass, targetAlias).disableRecursion();
+
+    query.join(
+        VMCSqlJoinType.JOIN,
+        joinTable.getTableName(),
+        pivotAlias,
+        targetAlias + "." + targetMetadata.getPrimaryKeyColumnName(),
+        "=",
+        pivotAlias + "." + pivotColumnForTarget);
+
+    query.where(pivotAlias + "." + pivotColumnForOwner, VMCSqlOperator.EQUAL, ownerPkValue);
+
+    return query.get();
+  }
+
   /**
    * Finds a field in a class or its superclasses.
    *
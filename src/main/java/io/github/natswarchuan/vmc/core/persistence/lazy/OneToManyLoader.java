@@ -21,6 +21,7 @@ import java.util.Collections;
 public class OneToManyLoader implements LazyLoader<Model> {
   private final Model owner;
   private final RelationMetadata relMeta;
+  private final BatchLoadContext batchContext;
 
   /**
    * Khởi tạo một loader mới cho quan hệ One-to-Many.
@@ -29,8 +30,21 @@ public class OneToManyLoader implements LazyLoader<Model> {
    * @param relMeta Siêu dữ liệu của mối quan hệ cần tải.
    */
   public OneToManyLoader(Model owner, RelationMetadata relMeta) {
+    this(owner, relMeta, null);
+  }
+
+  /**
+   * Khởi tạo một loader mới cho quan hệ One-to-Many, tải theo lô cùng các thực thể sở hữu khác
+   * trong cùng kết quả truy vấn.
+   *
+   * @param owner Thực thể sở hữu mối quan hệ.
+   * @param relMeta Siêu dữ liệu của mối quan hệ cần tải.
+   * @param batchContext Ngữ cảnh tải theo lô dùng chung, hoặc {@code null} để tải riêng lẻ.
+   */
+  public OneToManyLoader(Model owner, RelationMetadata relMeta, BatchLoadContext batchContext) {
     this.owner = owner;
     this.relMeta = relMeta;
+    this.batchContext = batchContext;
   }
 
   /**
@@ -50,6 +64,9 @@ public class OneToManyLoader implements LazyLoader<Model> {
     if (ownerId == null) {
       return Collections.emptyList();
     }
+    if (batchContext != null) {
+      return batchContext.load(relMeta, ownerId);
+    }
 
     Class<? extends Model> targetEntityClass = (Class<? extends Model>) relMeta.getTargetEntity();
 
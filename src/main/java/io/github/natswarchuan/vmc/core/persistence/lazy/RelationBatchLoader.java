@@ -0,0 +1,222 @@
+package io.github.natswarchuan.vmc.core.persistence.lazy;
+
+import io.github.natswarchuan.vmc.core.config.VMCProperties;
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.mapping.JoinTableMetadata;
+import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
+import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.query.builder.VMCQueryBuilder;
+import io.github.natswarchuan.vmc.core.query.helper.InClauseHelper;
+import io.github.natswarchuan.vmc.core.query.helper.SqlBuilder;
+import io.github.natswarchuan.vmc.core.util.BeanUtil;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Tải một mối quan hệ dạng collection cho nhiều thực thể sở hữu chỉ với một (One-to-Many) hoặc hai
+ * (Many-to-Many) câu lệnh SQL.
+ *
+ * <p>Thay vì JOIN mối quan hệ vào truy vấn chính (gây bùng nổ tích Descartes khi có nhiều quan hệ
+ * collection) hoặc tải riêng cho từng thực thể (N+1 truy vấn), lớp này tải toàn bộ các thực thể
+ * liên quan bằng điều kiện {@code IN (danh sách ID)} rồi nhóm kết quả theo ID của thực thể sở
+ * hữu:
+ *
+ * <ul>
+ *   <li>One-to-Many: {@code SELECT ... FROM target WHERE fk IN (...)}.
+ *   <li>Many-to-Many: đọc các cặp ID từ bảng trung gian, sau đó tải các thực thể đích bằng {@code
+ *       WHERE pk IN (...)}.
+ * </ul>
+ *
+ * @author NatswarChuan
+ */
+@SuppressWarnings("unchecked")
+public class RelationBatchLoader {
+
+  private VMCQueryExecutor queryExecutor;
+
+  private VMCProperties properties;
+
+  private VMCQueryExecutor getQueryExecutor() {
+    if (this.queryExecutor == null) {
+      this.queryExecutor = BeanUtil.getBean(VMCQueryExecutor.class);
+    }
+    return this.queryExecutor;
+  }
+
+  private VMCProperties getProperties() {
+    if (this.properties == null) {
+      this.properties = BeanUtil.getBean(VMCProperties.class);
+    }
+    return this.properties;
+  }
+
+  /**
+   * Tải một mối quan hệ collection cho nhiều thực thể sở hữu.
+   *
+   * @param relMeta Metadata của mối quan hệ trên lớp sở hữu.
+   * @param ownerIds Khóa chính của các thực thể sở hữu.
+   * @return Map từ khóa chính (đã chuẩn hóa bằng {@link #normalizeKey(Object)}) của thực thể sở hữu
+   *     tới danh sách các thực thể liên quan. Thực thể sở hữu không có phần tử nào sẽ không có mặt
+   *     trong Map.
+   * @throws VMCException nếu mối quan hệ không phải là collection.
+   */
+  public Map<Object, List<Model>> load(RelationMetadata relMeta, Collection<?> ownerIds) {
+    if (ownerIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    int chunkSize = getProperties().getInListChunkSize();
+    if (chunkSize > 0 && ownerIds.size() > chunkSize) {
+      Map<Object, List<Model>> merged = new HashMap<>();
+      for (List<Object> chunk : InClauseHelper.partition(ownerIds, chunkSize)) {
+        merged.putAll(load(relMeta, chunk));
+      }
+      return merged;
+    }
+    if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY) {
+      return loadOneToMany(relMeta, ownerIds);
+    }
+    if (relMeta.getType() == RelationMetadata.RelationType.MANY_TO_MANY) {
+      return loadManyToMany(relMeta, ownerIds);
+    }
+    throw new VMCException(
+        HttpStatus.INTERNAL_SERVER_ERROR,
+        "Cannot batch load relation type: " + relMeta.getType());
+  }
+
+  /**
+   * Chuẩn hóa một giá trị khóa để so khớp giữa khóa chính và khóa ngoại.
+   *
+   * <p>Driver có thể trả về các kiểu số nguyên khác nhau cho cùng một giá trị (ví dụ {@code
+   * Integer} cho cột khóa ngoại {@code INT} và {@code Long} cho khóa chính {@code BIGINT}), nên các
+   * số nguyên được đưa về {@code Long}.
+   *
+   * @param key Giá trị khóa.
+   * @return Giá trị khóa đã được chuẩn hóa.
+   */
+  public static Object normalizeKey(Object key) {
+    if (key instanceof Integer
+        || key instanceof Short
+        || key instanceof Byte
+        || key instanceof BigInteger) {
+      return ((Number) key).longValue();
+    }
+    return key;
+  }
+
+  /**
+   * Tải một mối quan hệ One-to-Many bằng một câu lệnh {@code WHERE fk IN (...)}.
+   *
+   * @param relMeta Metadata của mối quan hệ.
+   * @param ownerIds Khóa chính của các thực thể sở hữu.
+   * @return Map từ khóa chính của thực thể sở hữu tới danh sách các thực thể liên quan.
+   */
+  private Map<Object, List<Model>> loadOneToMany(
+      RelationMetadata relMeta, Collection<?> ownerIds) {
+    EntityMetadata targetMetadata = MetadataCache.getMetadata(relMeta.getTargetEntity());
+    RelationMetadata inverseRelation = targetMetadata.getRelations().get(relMeta.getMappedBy());
+    String foreignKey = inverseRelation.getJoinColumnName();
+
+    List<Model> related =
+        VMCQueryBuilder.from((Class<? extends Model>) relMeta.getTargetEntity())
+            .disableRecursion()
+            .whereIn(foreignKey, ownerIds)
+            .get();
+
+    Map<Object, List<Model>> relatedByOwner = new HashMap<>();
+    for (Model model : related) {
+      Object ownerId = normalizeKey(model.getAttribute(foreignKey));
+      relatedByOwner.computeIfAbsent(ownerId, k -> new ArrayList<>()).add(model);
+    }
+    return relatedByOwner;
+  }
+
+  /**
+   * Tải một mối quan hệ Many-to-Many qua bảng trung gian.
+   *
+   * <p>Các thực thể đích được truy vấn theo từng phần tối đa {@code vmc.in-list-chunk-size} khóa
+   * chính, vì số khóa đích có thể lớn hơn nhiều so với số thực thể sở hữu.
+   *
+   * @param relMeta Metadata của mối quan hệ.
+   * @param ownerIds Khóa chính của các thực thể sở hữu.
+   * @return Map từ khóa chính của thực thể sở hữu tới danh sách các thực thể liên quan.
+   */
+  private Map<Object, List<Model>> loadManyToMany(
+      RelationMetadata relMeta, Collection<?> ownerIds) {
+    EntityMetadata targetMetadata = MetadataCache.getMetadata(relMeta.getTargetEntity());
+    JoinTableMetadata joinTable;
+    String pivotColumnForOwner;
+    String pivotColumnForTarget;
+    if (relMeta.isOwningSide()) {
+      joinTable = relMeta.getJoinTable();
+      pivotColumnForOwner = joinTable.getJoinColumn();
+      pivotColumnForTarget = joinTable.getInverseJoinColumn();
+    } else {
+      RelationMetadata owningSideRelMeta =
+          targetMetadata.getRelations().get(relMeta.getMappedBy());
+      joinTable = owningSideRelMeta.getJoinTable();
+      pivotColumnForOwner = joinTable.getInverseJoinColumn();
+      pivotColumnForTarget = joinTable.getJoinColumn();
+    }
+
+    Map<String, Object> params = new HashMap<>();
+    List<String> placeholders = new ArrayList<>();
+    Collection<?> pivotIds =
+        getProperties().isInListPadding() ? SqlBuilder.padInList(ownerIds) : ownerIds;
+    for (Object ownerId : pivotIds) {
+      String name = "p" + params.size();
+      params.put(name, ownerId);
+      placeholders.add("#{params." + name + "}");
+    }
+    String sql =
+        String.format(
+            "SELECT %s AS owner_id, %s AS target_id FROM %s WHERE %s IN (%s)",
+            pivotColumnForOwner,
+            pivotColumnForTarget,
+            joinTable.getTableName(),
+            pivotColumnForOwner,
+            String.join(",", placeholders));
+    List<Map<String, Object>> pivotRows = getQueryExecutor().execute(sql, params);
+    if (pivotRows.isEmpty()) {
+      return new HashMap<>();
+    }
+
+    Set<Object> targetIds = new LinkedHashSet<>();
+    for (Map<String, Object> row : pivotRows) {
+      targetIds.add(row.get("target_id"));
+    }
+    String targetPk = targetMetadata.getPrimaryKeyColumnName();
+    Map<Object, Model> targetsById = new HashMap<>();
+    for (List<Object> chunk :
+        InClauseHelper.partition(targetIds, getProperties().getInListChunkSize())) {
+      List<Model> targets =
+          VMCQueryBuilder.from((Class<? extends Model>) relMeta.getTargetEntity())
+              .disableRecursion()
+              .whereIn(targetPk, chunk)
+              .get();
+      for (Model target : targets) {
+        targetsById.put(normalizeKey(target.getPrimaryKey()), target);
+      }
+    }
+
+    Map<Object, List<Model>> relatedByOwner = new HashMap<>();
+    for (Map<String, Object> row : pivotRows) {
+      Model target = targetsById.get(normalizeKey(row.get("target_id")));
+      if (target != null) {
+        relatedByOwner
+            .computeIfAbsent(normalizeKey(row.get("owner_id")), k -> new ArrayList<>())
+            .add(target);
+      }
+    }
+    return relatedByOwner;
+  }
+}
@@ -26,6 +26,7 @@ import io.github.natswarchuan.vmc.core.persistence.VMCPersistenceManager;
 public class SaveOptions {
 
   private final Set<String> relationsToCascade = new HashSet<>();
+  private Integer batchSize;
 
   /**
    * Chỉ định một mối quan hệ cần được lưu theo tầng (cascade).
@@ -41,6 +42,30 @@ public class SaveOptions {
     return this;
   }
 
+  /**
+   * Chỉ định kích thước lô (batch) khi lưu nhiều thực thể bằng {@code saveAll}.
+   *
+   * <p>Các câu lệnh INSERT và UPDATE cùng bảng sẽ được gom lại và gửi tới cơ sở dữ liệu theo từng lô
+   * có kích thước này. Giá trị nhỏ hơn hoặc bằng 1 sẽ tắt chế độ ghi theo lô. Nếu không được chỉ
+   * định, giá trị của thuộc tính {@code vmc.batch-size} sẽ được sử dụng.
+   *
+   * @param batchSize Số câu lệnh tối đa trong một lô.
+   * @return Chính instance {@code SaveOptions} này, để cho phép gọi chuỗi (method chaining).
+   */
+  public SaveOptions batchSize(int batchSize) {
+    this.batchSize = batchSize;
+    return this;
+  }
+
+  /**
+   * Lấy kích thước lô đã được chỉ định.
+   *
+   * @return Kích thước lô, hoặc {@code null} nếu dùng giá trị cấu hình mặc định.
+   */
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
   /**
    * Lấy tập hợp các tên mối quan hệ đã được chỉ định để lưu theo tầng.
    *
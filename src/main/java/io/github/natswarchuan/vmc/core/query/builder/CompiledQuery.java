@@ -0,0 +1,181 @@
+package io.github.natswarchuan.vmc.core.query.builder;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
+import io.github.natswarchuan.vmc.core.persistence.executor.ParsedSql;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.lazy.RelationBatchLoader;
+import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
+import io.github.natswarchuan.vmc.core.query.helper.QueryResultMapper;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Một truy vấn đã được biên dịch từ {@link VMCQueryBuilder#compile()}, có thể thực thi nhiều lần
+ * với các giá trị tham số khác nhau.
+ *
+ * <p>Chuỗi SQL, các tham số cố định, các mệnh đề JOIN, danh sách quan hệ cần tải và thứ tự các
+ * vị trí tham số được tính một lần khi biên dịch. Các giá trị được đánh dấu bằng {@link
+ * VMCQueryBuilder#param()} trở thành các vị trí tham số, được gán theo thứ tự placeholder của chúng
+ * trong chuỗi SQL (tức thứ tự xuất hiện trong mệnh đề WHERE) khi gọi {@link #execute(Object...)}.
+ *
+ * <p>Bộ ánh xạ kết quả và bộ thu thập hàng được tạo mới cho mỗi lần thực thi, vì chúng giữ trạng
+ * thái riêng của lần thực thi đó (cache thực thể theo khóa chính, ngữ cảnh tải lười theo lô). Kế
+ * hoạch ánh xạ theo chỉ số cột không được giữ trong instance: nó được lấy từ cache dùng chung theo
+ * nhãn cột của kết quả, nên chỉ được tính ở lần thực thi đầu tiên.
+ *
+ * <p>Instance là bất biến (immutable) và an toàn cho luồng (thread-safe), nên có thể lưu trong một
+ * trường {@code static} và dùng chung.
+ *
+ * <pre>{@code
+ * private static final CompiledQuery<User> BY_EMAIL =
+ *     VMCQueryBuilder.from(User.class)
+ *         .where("email", VMCSqlOperator.EQUAL, VMCQueryBuilder.param())
+ *         .compile();
+ *
+ * List<User> users = BY_EMAIL.execute("a@example.com");
+ * }</pre>
+ *
+ * @param <T> Kiểu của thực thể gốc.
+ * @author NatswarChuan
+ */
+public final class CompiledQuery<T extends Model> {
+
+  /** Giá trị đánh dấu một vị trí tham số, được trả về bởi {@link VMCQueryBuilder#param()}. */
+  static final Object PARAMETER =
+      new Object() {
+        @Override
+        public String toString() {
+          return "VMCQueryBuilder.param()";
+        }
+      };
+
+  private final VMCQueryExecutor queryExecutor;
+  private final Class<? extends Model> modelClass;
+  private final String fromAlias;
+  private final String sql;
+  private final Map<String, Object> fixedParams;
+  private final String[] parameterNames;
+  private final List<JoinClause> joinClauses;
+  private final List<String> withRelations;
+  private final List<RelationMetadata> splitRelations;
+  private final int lazyBatchSize;
+
+  /**
+   * Khởi tạo một truy vấn đã biên dịch.
+   *
+   * @param queryExecutor Trình thực thi truy vấn.
+   * @param modelClass Lớp thực thể gốc.
+   * @param fromAlias Bí danh của bảng gốc.
+   * @param sql Chuỗi SQL đã được tạo.
+   * @param params Các tham số của câu lệnh; các giá trị {@link #PARAMETER} là vị trí tham số.
+   * @param joinClauses Các mệnh đề JOIN của truy vấn.
+   * @param withRelations Tên các quan hệ được tải cùng truy vấn.
+   * @param splitRelations Các quan hệ collection được tải bằng truy vấn riêng.
+   * @param lazyBatchSize Kích thước lô khi tải lười các quan hệ.
+   */
+  CompiledQuery(
+      VMCQueryExecutor queryExecutor,
+      Class<? extends Model> modelClass,
+      String fromAlias,
+      String sql,
+      Map<String, Object> params,
+      List<JoinClause> joinClauses,
+      List<String> withRelations,
+      List<RelationMetadata> splitRelations,
+      int lazyBatchSize) {
+    this.queryExecutor = queryExecutor;
+    this.modelClass = modelClass;
+    this.fromAlias = fromAlias;
+    this.sql = sql;
+    // Thứ tự vị trí tham số là thứ tự placeholder trong chuỗi SQL, không phụ thuộc vào cách đặt tên
+    this.parameterNames =
+        ParsedSql.of(sql).getParameterNames().stream()
+            .filter(name -> params.get(name) == PARAMETER)
+            .distinct()
+            .toArray(String[]::new);
+    Map<String, Object> fixed = new HashMap<>(params);
+    fixed.values().removeIf(v -> v == PARAMETER);
+    this.fixedParams = Collections.unmodifiableMap(fixed);
+    this.joinClauses = List.copyOf(joinClauses);
+    this.withRelations = List.copyOf(withRelations);
+    this.splitRelations = List.copyOf(splitRelations);
+    this.lazyBatchSize = lazyBatchSize;
+  }
+
+  /**
+   * Thực thi truy vấn với các giá trị tham số.
+   *
+   * @param args Giá trị cho các vị trí tham số, theo thứ tự xuất hiện trong mệnh đề WHERE.
+   * @return Danh sách các thực thể gốc.
+   * @throws VMCException nếu số lượng giá trị không khớp với số vị trí tham số.
+   */
+  public List<T> execute(Object... args) {
+    int argCount = args == null ? 0 : args.length;
+    if (argCount != parameterNames.length) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST,
+          "Truy vấn cần "
+              + parameterNames.length
+              + " tham số nhưng nhận được "
+              + argCount
+              + ".");
+    }
+    Map<String, Object> params = new HashMap<>(fixedParams);
+    for (int i = 0; i < argCount; i++) {
+      params.put(parameterNames[i], args[i]);
+    }
+
+    QueryResultMapper mapper =
+        new QueryResultMapper(modelClass, fromAlias, withRelations, lazyBatchSize);
+    QueryResultMapper.RowCollector<T> collector = mapper.newRowCollector(joinClauses);
+    queryExecutor.query(sql, params, collector);
+    List<T> entities = collector.getResults();
+
+    if (!entities.isEmpty() && !splitRelations.isEmpty()) {
+      RelationBatchLoader loader = new RelationBatchLoader();
+      List<Object> ids = entities.stream().map(Model::getPrimaryKey).collect(Collectors.toList());
+      for (RelationMetadata relMeta : splitRelations) {
+        mapper.attachRelation(entities, relMeta.getFieldName(), loader.load(relMeta, ids));
+      }
+    }
+    return entities;
+  }
+
+  /**
+   * Thực thi truy vấn và trả về thực thể đầu tiên.
+   *
+   * <p>Truy vấn không được giới hạn thêm; nên biên dịch với {@code limit(1)} nếu chỉ cần một bản
+   * ghi.
+   *
+   * @param args Giá trị cho các vị trí tham số.
+   * @return Thực thể đầu tiên, hoặc {@code null} nếu không có kết quả.
+   */
+  public T executeFirst(Object... args) {
+    List<T> results = execute(args);
+    return results.isEmpty() ? null : results.get(0);
+  }
+
+  /**
+   * Lấy chuỗi SQL đã được biên dịch.
+   *
+   * @return Chuỗi SQL với các placeholder {@code #{params.ten}}.
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  /**
+   * Lấy số lượng vị trí tham số của truy vấn.
+   *
+   * @return Số giá trị cần truyền cho {@link #execute(Object...)}.
+   */
+  public int getParameterCount() {
+    return parameterNames.length;
+  }
+}
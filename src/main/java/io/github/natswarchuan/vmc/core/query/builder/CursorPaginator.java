@@ -0,0 +1,44 @@
+package io.github.natswarchuan.vmc.core.query.builder;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Một lớp chứa dữ liệu của một trang trong phân trang theo khóa (keyset/seek pagination).
+ *
+ * <p>Khác với {@link Paginator}, lớp này không chứa tổng số bản ghi hay số trang: trang tiếp theo
+ * được xác định bằng token {@link #nextCursor}, được truyền lại cho {@code
+ * VMCQueryBuilder.cursorPaginate} ở lần gọi sau.
+ *
+ * @param <T> Kiểu của dữ liệu trong trang.
+ * @author NatswarChuan
+ */
+@Getter
+public class CursorPaginator<T> {
+
+  /** Danh sách các mục (item) trên trang hiện tại. */
+  private final List<T> data;
+
+  /** Số lượng mục tối đa trên mỗi trang. */
+  private final int perPage;
+
+  /** Token để lấy trang tiếp theo, hoặc {@code null} nếu đây là trang cuối cùng. */
+  private final String nextCursor;
+
+  /** Cho biết còn trang tiếp theo hay không. */
+  private final boolean hasMore;
+
+  /**
+   * Khởi tạo một đối tượng CursorPaginator mới.
+   *
+   * @param data Danh sách dữ liệu cho trang hiện tại.
+   * @param perPage Số bản ghi tối đa trên mỗi trang.
+   * @param nextCursor Token của trang tiếp theo, hoặc {@code null}.
+   */
+  public CursorPaginator(List<T> data, int perPage, String nextCursor) {
+    this.data = data;
+    this.perPage = perPage;
+    this.nextCursor = nextCursor;
+    this.hasMore = nextCursor != null;
+  }
+}
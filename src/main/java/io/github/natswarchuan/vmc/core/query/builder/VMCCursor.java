@@ -0,0 +1,140 @@
+package io.github.natswarchuan.vmc.core.query.builder;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCResultRow;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCRowCursor;
+import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
+import io.github.natswarchuan.vmc.core.query.helper.QueryResultMapper;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Một con trỏ trả về lần lượt từng thực thể gốc của một truy vấn mà không nạp toàn bộ kết quả vào
+ * bộ nhớ.
+ *
+ * <p>Con trỏ đọc các hàng thô từ một {@link VMCRowCursor} và gom các hàng liên tiếp có cùng khóa
+ * chính của thực thể gốc thành một nhóm. Mỗi nhóm được ánh xạ thành một thực thể hoàn chỉnh (bao
+ * gồm các quan hệ được JOIN) thông qua {@link QueryResultMapper}, sau đó nhóm được giải phóng. Vì
+ * vậy các hàng của cùng một thực thể gốc phải nằm liền nhau trong kết quả; {@link VMCQueryBuilder}
+ * đảm bảo điều này bằng cách sắp xếp theo khóa chính gốc khi truy vấn có JOIN tới quan hệ tập hợp.
+ *
+ * <p>Con trỏ hàng trả về cùng một {@link VMCResultRow} được đọc theo chỉ số cột cho mọi hàng, và
+ * mọi hàng được đưa qua cùng một bộ thu thập, nên kế hoạch ánh xạ chỉ được tính một lần cho cả con
+ * trỏ và không có Map nào được tạo cho mỗi hàng.
+ *
+ * <p>Con trỏ giữ kết nối cơ sở dữ liệu cho đến khi được đọc hết hoặc được đóng, vì vậy nên sử dụng
+ * trong {@code try-with-resources}.
+ *
+ * @param <T> Kiểu của thực thể gốc.
+ * @author NatswarChuan
+ */
+public class VMCCursor<T extends Model> implements Iterator<T>, AutoCloseable {
+
+  private final VMCRowCursor rows;
+  private final QueryResultMapper.RowCollector<T> collector;
+  private final String rootPkLabel;
+  private String[] pkLabels;
+  private int rootPkIndex = -1;
+  private VMCResultRow pendingRow;
+  private T nextEntity;
+
+  /**
+   * Khởi tạo một instance mới của VMCCursor.
+   *
+   * @param rows Con trỏ hàng thô đang mở.
+   * @param mapper Bộ ánh xạ kết quả của truy vấn.
+   * @param joinClauses Các mệnh đề JOIN đã được sử dụng trong truy vấn.
+   * @param rootPkLabel Nhãn cột chứa khóa chính của thực thể gốc (ví dụ: {@code u_id}).
+   */
+  VMCCursor(
+      VMCRowCursor rows,
+      QueryResultMapper mapper,
+      List<JoinClause> joinClauses,
+      String rootPkLabel) {
+    this.rows = rows;
+    this.collector = mapper.newRowCollector(joinClauses);
+    this.rootPkLabel = rootPkLabel;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (nextEntity == null) {
+      if (!readNextGroup()) {
+        return false;
+      }
+      List<T> entities = collector.getResults();
+      collector.reset();
+      if (!entities.isEmpty()) {
+        nextEntity = entities.get(0);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T entity = nextEntity;
+    nextEntity = null;
+    return entity;
+  }
+
+  /** Đóng con trỏ và giải phóng kết nối cơ sở dữ liệu. */
+  @Override
+  public void close() {
+    pendingRow = null;
+    nextEntity = null;
+    rows.close();
+  }
+
+  /**
+   * Đọc nhóm các hàng liên tiếp thuộc về cùng một thực thể gốc và đưa chúng vào bộ thu thập.
+   *
+   * <p>Hàng đầu tiên của nhóm kế tiếp đã được đọc vào bộ đệm của con trỏ hàng nhưng chưa được xử lý
+   * được giữ lại trong {@code pendingRow} cho lần gọi sau.
+   *
+   * @return {@code false} nếu đã hết kết quả.
+   */
+  private boolean readNextGroup() {
+    VMCResultRow first = pendingRow;
+    pendingRow = null;
+    if (first == null && rows.hasNext()) {
+      first = rows.next();
+    }
+    if (first == null) {
+      return false;
+    }
+    Object pkValue = rootPkValue(first);
+    collector.accept(first);
+
+    while (rows.hasNext()) {
+      VMCResultRow row = rows.next();
+      if (pkValue == null || !Objects.equals(pkValue, rootPkValue(row))) {
+        pendingRow = row;
+        break;
+      }
+      collector.accept(row);
+    }
+    return true;
+  }
+
+  /**
+   * Đọc khóa chính của thực thể gốc trong một hàng; chỉ số cột chỉ được tìm lại khi mảng nhãn cột
+   * thay đổi.
+   *
+   * @param row Hàng hiện tại.
+   * @return Giá trị khóa chính, hoặc {@code null} nếu hàng không có cột khóa chính.
+   */
+  private Object rootPkValue(VMCResultRow row) {
+    if (row.getLabels() != pkLabels) {
+      pkLabels = row.getLabels();
+      rootPkIndex = Arrays.asList(pkLabels).indexOf(rootPkLabel);
+    }
+    return rootPkIndex < 0 ? null : row.getObject(rootPkIndex);
+  }
+}
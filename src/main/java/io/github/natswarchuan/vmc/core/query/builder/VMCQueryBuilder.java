@@ -1,5 +1,7 @@
 package io.github.natswarchuan.vmc.core.query.builder;
 
+import io.github.natswarchuan.vmc.core.config.VMCDialect;
+import io.github.natswarchuan.vmc.core.config.VMCProperties;
 import io.github.natswarchuan.vmc.core.dto.BaseDto;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
@@ -8,24 +10,41 @@ import io.github.natswarchuan.vmc.core.mapping.JoinTableMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
 import io.github.natswarchuan.vmc.core.persistence.VMCPersistenceManager;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCResultRow;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCRowCursor;
+import io.github.natswarchuan.vmc.core.persistence.lazy.RelationBatchLoader;
 import io.github.natswarchuan.vmc.core.persistence.service.SaveOptions;
 import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
 import io.github.natswarchuan.vmc.core.query.clause.OrderByClause;
 import io.github.natswarchuan.vmc.core.query.clause.PreparedQuery;
 import io.github.natswarchuan.vmc.core.query.clause.WhereClause;
+import io.github.natswarchuan.vmc.core.query.enums.VMCFetchStrategy;
 import io.github.natswarchuan.vmc.core.query.enums.VMCLogicalOperator;
+import io.github.natswarchuan.vmc.core.query.enums.VMCPaginationMode;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSortDirection;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSqlJoinType;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSqlOperator;
+import io.github.natswarchuan.vmc.core.query.helper.InClauseHelper;
+import io.github.natswarchuan.vmc.core.query.helper.KeysetTokenCodec;
 import io.github.natswarchuan.vmc.core.query.helper.QueryResultMapper;
 import io.github.natswarchuan.vmc.core.query.helper.SqlBuilder;
 import jakarta.annotation.PostConstruct;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Cung cấp một API linh hoạt (fluent API) để xây dựng và thực thi các câu lệnh SQL động.
@@ -41,23 +60,45 @@ import org.springframework.stereotype.Component;
 @SuppressWarnings("unchecked")
 public class VMCQueryBuilder {
 
-  private static GenericQueryExecutorMapper queryExecutor;
+  private static VMCQueryExecutor queryExecutor;
   private static VMCPersistenceManager persistenceManager;
+  private static VMCProperties properties;
 
-  @Autowired private GenericQueryExecutorMapper injectedQueryExecutor;
+  /**
+   * Pool luồng dùng để thực thi truy vấn {@code COUNT} song song với truy vấn dữ liệu trong chế độ
+   * {@link VMCPaginationMode#SINGLE_ROUND_TRIP}. Khi pool đã đầy, truy vấn được thực thi ngay trên
+   * luồng gọi.
+   */
+  private static final ExecutorService COUNT_EXECUTOR =
+      new ThreadPoolExecutor(
+          0,
+          Math.max(2, Runtime.getRuntime().availableProcessors()),
+          60L,
+          TimeUnit.SECONDS,
+          new SynchronousQueue<>(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "vmc-count");
+            thread.setDaemon(true);
+            return thread;
+          },
+          new ThreadPoolExecutor.CallerRunsPolicy());
+
+  @Autowired private VMCQueryExecutor injectedQueryExecutor;
   @Autowired private VMCPersistenceManager injectedPersistenceManager;
+  @Autowired private VMCProperties injectedProperties;
 
   /**
    * Khởi tạo các phụ thuộc tĩnh sau khi bean được Spring khởi tạo.
    *
    * <p>Phương thức này sử dụng {@code @PostConstruct} để đảm bảo rằng các trường tĩnh {@code
-   * queryExecutor} và {@code persistenceManager} được gán giá trị từ các bean được tiêm vào, cho
-   * phép các phương thức tĩnh của builder có thể truy cập chúng.
+   * queryExecutor}, {@code persistenceManager} và {@code properties} được gán giá trị từ các bean
+   * được tiêm vào, cho phép các phương thức tĩnh của builder có thể truy cập chúng.
    */
   @PostConstruct
   public void init() {
     VMCQueryBuilder.queryExecutor = injectedQueryExecutor;
     VMCQueryBuilder.persistenceManager = injectedPersistenceManager;
+    VMCQueryBuilder.properties = injectedProperties;
   }
 
   private boolean disableRecursion = false;
@@ -69,6 +110,13 @@ public class VMCQueryBuilder {
   private final List<String> groupByColumns = new ArrayList<>();
   private Integer limit;
   private Integer offset;
+  private Integer fetchSize;
+  private VMCPaginationMode paginationMode;
+  private VMCFetchStrategy fetchStrategy;
+  private final Map<String, VMCFetchStrategy> relationFetchStrategies = new HashMap<>();
+  private boolean forceJoinFetch = false;
+  private String seekCondition;
+  private Map<String, Object> seekParams;
   private final List<JoinClause> joinClauses = new ArrayList<>();
   private final List<String> withRelations = new ArrayList<>();
 
@@ -204,6 +252,33 @@ public class VMCQueryBuilder {
     return this;
   }
 
+  /**
+   * Chỉ định chế độ phân trang cho {@link #paginate(int, int)}, ghi đè giá trị {@code
+   * vmc.pagination-mode}.
+   *
+   * @param paginationMode Chế độ phân trang.
+   * @return Chính instance builder này để gọi chuỗi.
+   */
+  public VMCQueryBuilder paginationMode(VMCPaginationMode paginationMode) {
+    this.paginationMode = paginationMode;
+    return this;
+  }
+
+  /**
+   * Chỉ định kích thước fetch cho các truy vấn dạng con trỏ ({@link #cursor()}, {@link #stream()},
+   * {@link #forEach(Consumer)}).
+   *
+   * <p>Ghi đè giá trị {@code vmc.fetch-size}. Với MySQL, truyền {@link Integer#MIN_VALUE} để bật
+   * chế độ streaming từng hàng.
+   *
+   * @param fetchSize Kích thước fetch gợi ý cho driver.
+   * @return Chính instance builder này để gọi chuỗi.
+   */
+  public VMCQueryBuilder fetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
   /**
    * Thêm một quy tắc sắp xếp vào mệnh đề ORDER BY.
    *
@@ -227,6 +302,35 @@ public class VMCQueryBuilder {
     return this;
   }
 
+  /**
+   * Chỉ định các mối quan hệ cần được tải ngay (eager loading) với một chiến lược tải cụ thể.
+   *
+   * <p>Chiến lược được chỉ định ở đây được ưu tiên hơn {@link #fetchStrategy(VMCFetchStrategy)} và
+   * {@code vmc.fetch-strategy}, và chỉ có tác dụng với các quan hệ collection.
+   *
+   * @param strategy Chiến lược tải cho các quan hệ này.
+   * @param relations Danh sách tên các trường quan hệ.
+   * @return Chính instance builder này để gọi chuỗi.
+   */
+  public VMCQueryBuilder with(VMCFetchStrategy strategy, String... relations) {
+    for (String relation : relations) {
+      this.relationFetchStrategies.put(relation, strategy);
+    }
+    return with(relations);
+  }
+
+  /**
+   * Chỉ định chiến lược tải mặc định cho các quan hệ collection trong {@code with()} của truy vấn
+   * này, ghi đè giá trị {@code vmc.fetch-strategy}.
+   *
+   * @param strategy Chiến lược tải.
+   * @return Chính instance builder này để gọi chuỗi.
+   */
+  public VMCQueryBuilder fetchStrategy(VMCFetchStrategy strategy) {
+    this.fetchStrategy = strategy;
+    return this;
+  }
+
   /**
    * Thêm một mệnh đề JOIN tùy chỉnh vào truy vấn.
    *
@@ -304,6 +408,68 @@ public class VMCQueryBuilder {
     return getInternal();
   }
 
+  /**
+   * Tạo một giá trị đánh dấu vị trí tham số cho truy vấn được biên dịch bằng {@link #compile()}.
+   *
+   * <p>Giá trị này được dùng thay cho giá trị thực trong {@code where()}, {@code orWhere()} hoặc
+   * như một phần tử của {@code whereIn()}; giá trị thực được truyền khi gọi {@link
+   * CompiledQuery#execute(Object...)}. Không được dùng với các phương thức thực thi trực tiếp như
+   * {@link #get()}.
+   *
+   * @return Giá trị đánh dấu vị trí tham số.
+   */
+  public static Object param() {
+    return CompiledQuery.PARAMETER;
+  }
+
+  /**
+   * Biên dịch truy vấn hiện tại thành một {@link CompiledQuery} bất biến, có thể thực thi lại nhiều
+   * lần và dùng chung giữa các luồng.
+   *
+   * <p>Chuỗi SQL, các JOIN của {@code with()} và danh sách quan hệ tải tách truy vấn được tính một
+   * lần tại đây. Truy vấn đệ quy và truy vấn có LIMIT/OFFSET kèm JOIN tới quan hệ tập hợp (cần
+   * thực thi hai giai đoạn) không được hỗ trợ.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @return Truy vấn đã được biên dịch.
+   * @throws VMCException nếu truy vấn không thể biên dịch.
+   */
+  public <T extends Model> CompiledQuery<T> compile() {
+    if (!this.disableRecursion && findRecursiveChildRelation() != null) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST, "Không thể biên dịch truy vấn có quan hệ đệ quy trong with().");
+    }
+    prepareJoinsForWith();
+    if ((limit != null || offset != null) && groupByColumns.isEmpty() && hasRowMultiplyingJoin()) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST,
+          "Không thể biên dịch truy vấn có LIMIT/OFFSET và JOIN tới quan hệ tập hợp.");
+    }
+
+    EntityMetadata metadata = MetadataCache.getMetadata(modelClass);
+    List<RelationMetadata> splitRelations = new ArrayList<>();
+    for (String relationName : new LinkedHashSet<>(withRelations)) {
+      RelationMetadata relMeta = metadata.getRelations().get(relationName);
+      if (relMeta != null && isSplitFetch(relationName, relMeta)) {
+        splitRelations.add(relMeta);
+      }
+    }
+
+    // Danh sách IN của truy vấn biên dịch có kích thước cố định, không cần làm đầy; việc làm đầy
+    // còn lặp lại các vị trí tham số.
+    PreparedQuery preparedQuery = createSqlBuilder().withInListPadding(false).build();
+    return new CompiledQuery<>(
+        queryExecutor,
+        modelClass,
+        fromAlias,
+        preparedQuery.getSql(),
+        preparedQuery.getParams(),
+        joinClauses,
+        withRelations,
+        splitRelations,
+        properties.getLazyBatchSize());
+  }
+
   /**
    * Thực thi truy vấn và ánh xạ kết quả thành các thực thể (phiên bản nội bộ).
    *
@@ -311,9 +477,238 @@ public class VMCQueryBuilder {
    * @return Một danh sách các thực thể.
    */
   private <T extends Model> List<T> getInternal() {
-    List<Map<String, Object>> flatResults = getRaw();
+    prepareJoinsForWith();
+    if ((limit != null || offset != null) && groupByColumns.isEmpty() && hasRowMultiplyingJoin()) {
+      return getTwoPhase();
+    }
+    return hydrate(createSqlBuilder().build(), null);
+  }
+
+  /**
+   * Thực thi một truy vấn, ánh xạ các hàng kết quả thành thực thể gốc và tải các quan hệ được tải
+   * tách truy vấn.
+   *
+   * <p>Các hàng được đọc theo chỉ số cột thông qua {@link VMCQueryExecutor#query} và đưa thẳng vào
+   * bộ thu thập của {@link QueryResultMapper}, không tạo Map trung gian cho mỗi hàng.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @param preparedQuery Truy vấn chính.
+   * @param rowObserver Hàm được gọi cho mỗi hàng trước khi ánh xạ (ví dụ để đọc cột tổng số bản
+   *     ghi), hoặc {@code null}.
+   * @return Danh sách các thực thể gốc.
+   */
+  private <T extends Model> List<T> hydrate(
+      PreparedQuery preparedQuery, Consumer<VMCResultRow> rowObserver) {
     QueryResultMapper mapper = createResultMapper();
-    return mapper.processFlatResults(flatResults, this.joinClauses);
+    QueryResultMapper.RowCollector<T> collector = mapper.newRowCollector(this.joinClauses);
+    queryExecutor.query(
+        preparedQuery.getSql(),
+        preparedQuery.getParams(),
+        rowObserver == null ? collector : rowObserver.andThen(collector));
+    List<T> entities = collector.getResults();
+    loadSplitRelations(entities, mapper);
+    return entities;
+  }
+
+  /**
+   * Tải các quan hệ collection dùng chiến lược {@link VMCFetchStrategy#SPLIT} cho các thực thể gốc.
+   *
+   * <p>Mỗi quan hệ được tải bằng một truy vấn riêng với điều kiện {@code IN} trên khóa chính của
+   * các thực thể gốc (hai truy vấn với Many-to-Many), sau đó được ghép vào các thực thể trong bộ
+   * nhớ.
+   *
+   * @param entities Các thực thể gốc.
+   * @param mapper Bộ ánh xạ kết quả của truy vấn.
+   */
+  private void loadSplitRelations(List<? extends Model> entities, QueryResultMapper mapper) {
+    if (entities.isEmpty() || withRelations.isEmpty()) {
+      return;
+    }
+    EntityMetadata metadata = MetadataCache.getMetadata(modelClass);
+    RelationBatchLoader loader = null;
+    List<Object> ids = null;
+    for (String relationName : new LinkedHashSet<>(withRelations)) {
+      RelationMetadata relMeta = metadata.getRelations().get(relationName);
+      if (relMeta == null || !isSplitFetch(relationName, relMeta)) {
+        continue;
+      }
+      if (loader == null) {
+        loader = new RelationBatchLoader();
+        ids = entities.stream().map(Model::getPrimaryKey).collect(Collectors.toList());
+      }
+      mapper.attachRelation(entities, relationName, loader.load(relMeta, ids));
+    }
+  }
+
+  /**
+   * Kiểm tra xem một quan hệ trong {@code with()} có được tải bằng truy vấn riêng hay không.
+   *
+   * @param relationName Tên trường quan hệ.
+   * @param relMeta Metadata của quan hệ.
+   * @return {@code true} nếu quan hệ là collection (không tự tham chiếu) và dùng chiến lược {@link
+   *     VMCFetchStrategy#SPLIT}.
+   */
+  private boolean isSplitFetch(String relationName, RelationMetadata relMeta) {
+    if (forceJoinFetch || !relMeta.isCollection() || relMeta.getTargetEntity().equals(modelClass)) {
+      return false;
+    }
+    VMCFetchStrategy strategy = relationFetchStrategies.get(relationName);
+    if (strategy == null) {
+      strategy = this.fetchStrategy != null ? this.fetchStrategy : properties.getFetchStrategy();
+    }
+    return strategy == VMCFetchStrategy.SPLIT;
+  }
+
+  /**
+   * Đọc giá trị của cột {@code COUNT(*) OVER()} trong một hàng kết quả.
+   *
+   * @param row Hàng kết quả.
+   * @return Tổng số bản ghi, hoặc {@code 0} nếu không đọc được.
+   */
+  private static long readTotalCount(VMCResultRow row) {
+    String[] labels = row.getLabels();
+    for (int i = 0; i < labels.length; i++) {
+      if (SqlBuilder.TOTAL_COUNT_LABEL.equals(labels[i])) {
+        Object value = row.getObject(i);
+        return (value instanceof Number) ? ((Number) value).longValue() : 0L;
+      }
+    }
+    return 0L;
+  }
+
+  /**
+   * Thực thi truy vấn theo hai giai đoạn để LIMIT/OFFSET áp dụng cho thực thể gốc.
+   *
+   * <p>Khi truy vấn có JOIN tới quan hệ tập hợp, LIMIT/OFFSET trên câu lệnh JOIN sẽ giới hạn số
+   * hàng đã JOIN chứ không phải số thực thể gốc. Giai đoạn đầu chỉ lấy khóa chính của các thực thể
+   * gốc với đầy đủ điều kiện, thứ tự sắp xếp và LIMIT/OFFSET. Giai đoạn hai lấy toàn bộ đồ thị cho
+   * đúng các khóa đó (vẫn giữ các điều kiện WHERE ban đầu) và sắp xếp kết quả theo thứ tự của giai
+   * đoạn đầu.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @return Danh sách các thực thể gốc của trang.
+   */
+  private <T extends Model> List<T> getTwoPhase() {
+    String pkColumn = MetadataCache.getMetadata(modelClass).getPrimaryKeyColumnName();
+    PreparedQuery idQuery = createSqlBuilder().buildRootIdQuery();
+    List<Map<String, Object>> idRows =
+        queryExecutor.execute(idQuery.getSql(), idQuery.getParams());
+    List<Object> ids = new ArrayList<>();
+    for (Map<String, Object> row : idRows) {
+      Object id = row.get(fromAlias + "_" + pkColumn);
+      if (id != null) {
+        ids.add(id);
+      }
+    }
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<String, Object> idParams = new HashMap<>();
+    List<String> placeholders = new ArrayList<>();
+    for (Object id : properties.isInListPadding() ? SqlBuilder.padInList(ids) : ids) {
+      String name = "i" + idParams.size();
+      idParams.put(name, id);
+      placeholders.add("#{params." + name + "}");
+    }
+    SqlBuilder graphBuilder = createSqlBuilder(null, null);
+    graphBuilder.appendCondition(
+        fromAlias + "." + pkColumn + " IN (" + String.join(",", placeholders) + ")", idParams);
+    List<T> entities = hydrate(graphBuilder.build(), null);
+
+    Map<Object, T> entitiesById = new HashMap<>();
+    for (T entity : entities) {
+      entitiesById.put(entity.getPrimaryKey(), entity);
+    }
+    List<T> ordered = new ArrayList<>(entities.size());
+    for (Object id : ids) {
+      T entity = entitiesById.get(id);
+      if (entity != null) {
+        ordered.add(entity);
+      }
+    }
+    return ordered;
+  }
+
+  /**
+   * Thực thi truy vấn và trả về một con trỏ đọc lần lượt từng thực thể gốc.
+   *
+   * <p>Khác với {@link #get()}, kết quả không được nạp toàn bộ vào bộ nhớ: các hàng được đọc tuần
+   * tự từ cơ sở dữ liệu với kích thước fetch đã cấu hình và mỗi thực thể gốc được ánh xạ ngay khi
+   * đọc xong các hàng của nó. Nếu truy vấn có JOIN tới quan hệ tập hợp (qua {@code with()}), khóa
+   * chính của thực thể gốc được thêm vào cuối mệnh đề ORDER BY để các hàng của cùng một thực thể
+   * nằm liền nhau; do đó không nên sắp xếp theo cột của quan hệ tập hợp.
+   *
+   * <p>Con trỏ giữ kết nối cho đến khi được đóng. Với chế độ streaming của MySQL, không thể thực
+   * thi câu lệnh khác trên cùng kết nối (ví dụ: tải lười quan hệ trong cùng giao dịch) khi con trỏ
+   * còn mở. Truy vấn đệ quy không được hỗ trợ. Các quan hệ dùng chiến lược {@link
+   * VMCFetchStrategy#SPLIT} luôn được tải bằng JOIN khi đọc qua con trỏ, và collection tải lười của
+   * các thực thể không được khởi tạo theo lô ({@code vmc.lazy-batch-size}) để con trỏ không giữ lại
+   * các thực thể đã đọc.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @return Một {@link VMCCursor} đang mở, phải được đóng sau khi sử dụng.
+   * @throws VMCException nếu truy vấn chứa một mối quan hệ đệ quy.
+   */
+  public <T extends Model> VMCCursor<T> cursor() {
+    if (!this.disableRecursion && findRecursiveChildRelation() != null) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST, "Recursive relations are not supported by cursor queries.");
+    }
+    this.forceJoinFetch = true;
+    prepareJoinsForWith();
+
+    EntityMetadata metadata = MetadataCache.getMetadata(modelClass);
+    String pkColumn = metadata.getPrimaryKeyColumnName();
+    String qualifiedPk = fromAlias + "." + pkColumn;
+    if (hasRowMultiplyingJoin()
+        && orderByClauses.stream().noneMatch(o -> o.getColumn().equals(qualifiedPk))) {
+      orderByClauses.add(new OrderByClause(qualifiedPk, VMCSortDirection.ASC));
+    }
+
+    PreparedQuery preparedQuery = createSqlBuilder().build();
+    int effectiveFetchSize = this.fetchSize != null ? this.fetchSize : properties.getFetchSize();
+    VMCRowCursor rows =
+        queryExecutor.openCursor(
+            preparedQuery.getSql(), preparedQuery.getParams(), effectiveFetchSize);
+    return new VMCCursor<>(
+        rows,
+        new QueryResultMapper(modelClass, fromAlias, withRelations),
+        this.joinClauses,
+        fromAlias + "_" + pkColumn);
+  }
+
+  /**
+   * Thực thi truy vấn và trả về một {@link Stream} tuần tự các thực thể gốc.
+   *
+   * <p>Stream được xây dựng trên {@link #cursor()} và phải được đóng sau khi sử dụng (ví dụ trong
+   * {@code try-with-resources}) để giải phóng kết nối nếu không được đọc hết.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @return Một stream các thực thể.
+   */
+  public <T extends Model> Stream<T> stream() {
+    VMCCursor<T> cursor = cursor();
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                cursor, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(cursor::close);
+  }
+
+  /**
+   * Thực thi truy vấn và gọi {@code action} cho lần lượt từng thực thể gốc.
+   *
+   * <p>Con trỏ bên dưới luôn được đóng khi phương thức kết thúc, kể cả khi {@code action} ném ra
+   * ngoại lệ.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @param action Hành động thực hiện trên mỗi thực thể.
+   */
+  public <T extends Model> void forEach(Consumer<? super T> action) {
+    try (VMCCursor<T> cursor = cursor()) {
+      cursor.forEachRemaining(action);
+    }
   }
 
   /**
@@ -361,7 +756,16 @@ public class VMCQueryBuilder {
   public long count() {
     prepareJoinsForWith();
     SqlBuilder sqlBuilder = createSqlBuilder();
-    PreparedQuery preparedQuery = sqlBuilder.buildCountQuery();
+    return executeCount(sqlBuilder.buildCountQuery());
+  }
+
+  /**
+   * Thực thi một truy vấn đếm và đọc giá trị của cột {@code count}.
+   *
+   * @param preparedQuery Truy vấn đếm đã được xây dựng.
+   * @return Giá trị đếm, hoặc {@code 0} nếu không có kết quả.
+   */
+  private static long executeCount(PreparedQuery preparedQuery) {
     List<Map<String, Object>> result =
         queryExecutor.execute(preparedQuery.getSql(), preparedQuery.getParams());
 
@@ -372,6 +776,63 @@ public class VMCQueryBuilder {
     return (countValue instanceof Number) ? ((Number) countValue).longValue() : 0L;
   }
 
+  /**
+   * Cập nhật tất cả các bản ghi của bảng gốc thỏa mãn các điều kiện WHERE bằng một câu lệnh {@code
+   * UPDATE} duy nhất, không tải thực thể.
+   *
+   * <p>Các JOIN được thêm bằng {@link #join} được giữ lại để lọc; các quan hệ trong {@code with()}
+   * bị bỏ qua. Các hook, cascade và quan hệ của thực thể không được xử lý.
+   *
+   * <pre>{@code
+   * int archived = VMCQueryBuilder.from(Session.class)
+   *     .where("last_seen_at", VMCSqlOperator.LESS_THAN, cutoff)
+   *     .update(Map.of("status", "ARCHIVED"));
+   * }</pre>
+   *
+   * @param values Map từ tên cột của bảng gốc tới giá trị mới.
+   * @return Số bản ghi bị ảnh hưởng.
+   * @throws VMCException nếu {@code values} rỗng hoặc truy vấn có LIMIT/OFFSET/GROUP BY.
+   */
+  public int update(Map<String, Object> values) {
+    if (values == null || values.isEmpty()) {
+      throw new VMCException(HttpStatus.BAD_REQUEST, "Bulk update requires at least one column.");
+    }
+    checkBulkModification("update");
+    PreparedQuery preparedQuery = createSqlBuilder().buildUpdate(values, properties.getDialect());
+    return queryExecutor.update(preparedQuery.getSql(), preparedQuery.getParams());
+  }
+
+  /**
+   * Xóa tất cả các bản ghi của bảng gốc thỏa mãn các điều kiện WHERE bằng một câu lệnh {@code
+   * DELETE} duy nhất, không tải thực thể.
+   *
+   * <p>Các JOIN được thêm bằng {@link #join} được giữ lại để lọc; các quan hệ trong {@code with()}
+   * bị bỏ qua. Xóa theo tầng ({@code RemoveOptions}) không được áp dụng; các ràng buộc khóa ngoại
+   * của cơ sở dữ liệu vẫn có hiệu lực.
+   *
+   * @return Số bản ghi đã bị xóa.
+   * @throws VMCException nếu truy vấn có LIMIT/OFFSET/GROUP BY.
+   */
+  public int delete() {
+    checkBulkModification("delete");
+    PreparedQuery preparedQuery = createSqlBuilder().buildDelete(properties.getDialect());
+    return queryExecutor.delete(preparedQuery.getSql(), preparedQuery.getParams());
+  }
+
+  /**
+   * Kiểm tra truy vấn có thể được chuyển thành một câu lệnh UPDATE/DELETE theo tập hợp hay không.
+   *
+   * @param operation Tên thao tác, dùng trong thông báo lỗi.
+   * @throws VMCException nếu truy vấn có LIMIT, OFFSET hoặc GROUP BY.
+   */
+  private void checkBulkModification(String operation) {
+    if (limit != null || offset != null || !groupByColumns.isEmpty()) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST,
+          "Bulk " + operation + " does not support LIMIT, OFFSET or GROUP BY.");
+    }
+  }
+
   /**
    * Thực thi truy vấn và trả về kết quả dưới dạng một đối tượng {@link Paginator}.
    *
@@ -381,6 +842,12 @@ public class VMCQueryBuilder {
    * @return Một đối tượng {@code Paginator} chứa dữ liệu và thông tin phân trang.
    */
   public <T extends Model> Paginator<T> paginate(int page, int perPage) {
+    VMCPaginationMode mode =
+        this.paginationMode != null ? this.paginationMode : properties.getPaginationMode();
+    if (mode == VMCPaginationMode.SINGLE_ROUND_TRIP) {
+      return paginateSingleRoundTrip(page, perPage);
+    }
+
     long total = this.count();
     if (total == 0) {
       return new Paginator<>(Collections.emptyList(), 0, perPage, page);
@@ -392,6 +859,161 @@ public class VMCQueryBuilder {
     return new Paginator<>(data, total, perPage, page);
   }
 
+  /**
+   * Phân trang mà không phải chờ một truy vấn {@code COUNT} riêng trước khi lấy dữ liệu.
+   *
+   * <p>Nếu dialect hỗ trợ hàm cửa sổ và truy vấn không có JOIN làm nhân bản hàng của thực thể gốc,
+   * tổng số bản ghi được lấy qua cột {@code COUNT(*) OVER()} của chính truy vấn dữ liệu. Ngược lại,
+   * truy vấn {@code COUNT} được thực thi trên một luồng khác song song với truy vấn dữ liệu; nếu
+   * đang trong một giao dịch, hai truy vấn được thực thi tuần tự để cùng nhìn thấy dữ liệu của giao
+   * dịch đó.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @param page Số trang hiện tại (bắt đầu từ 1).
+   * @param perPage Số lượng mục trên mỗi trang.
+   * @return Một đối tượng {@code Paginator} chứa dữ liệu và thông tin phân trang.
+   */
+  private <T extends Model> Paginator<T> paginateSingleRoundTrip(int page, int perPage) {
+    prepareJoinsForWith();
+    boolean recursive = !this.disableRecursion && findRecursiveChildRelation() != null;
+
+    if (properties.getDialect().supportsWindowFunctions()
+        && !recursive
+        && !hasRowMultiplyingJoin()) {
+      this.limit(perPage).offset((page - 1) * perPage);
+      PreparedQuery preparedQuery = createSqlBuilder().withTotalCount().build();
+      long[] total = {-1L};
+      List<T> data =
+          hydrate(
+              preparedQuery,
+              row -> {
+                if (total[0] < 0) {
+                  total[0] = readTotalCount(row);
+                }
+              });
+      if (total[0] < 0) {
+        total[0] = page > 1 ? this.count() : 0L;
+      }
+      return new Paginator<>(data, total[0], perPage, page);
+    }
+
+    PreparedQuery countQuery = createSqlBuilder().buildCountQuery();
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      long total = executeCount(countQuery);
+      this.limit(perPage).offset((page - 1) * perPage);
+      return new Paginator<>(total == 0 ? Collections.emptyList() : get(), total, perPage, page);
+    }
+
+    Future<Long> totalFuture = COUNT_EXECUTOR.submit(() -> executeCount(countQuery));
+    this.limit(perPage).offset((page - 1) * perPage);
+    List<T> data;
+    try {
+      data = get();
+    } catch (RuntimeException e) {
+      totalFuture.cancel(true);
+      throw e;
+    }
+    return new Paginator<>(data, awaitCount(totalFuture), perPage, page);
+  }
+
+  /**
+   * Chờ kết quả của một truy vấn đếm đang chạy trên luồng khác.
+   *
+   * @param totalFuture Kết quả bất đồng bộ của truy vấn đếm.
+   * @return Giá trị đếm.
+   * @throws VMCException nếu truy vấn đếm thất bại hoặc luồng hiện tại bị ngắt.
+   */
+  private static long awaitCount(Future<Long> totalFuture) {
+    try {
+      return totalFuture.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Interrupted while waiting for count query.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error during count query.", e.getCause());
+    }
+  }
+
+  /**
+   * Thực thi truy vấn với phân trang theo khóa (keyset/seek pagination).
+   *
+   * <p>Thay vì {@code OFFSET}, trang tiếp theo được xác định bằng điều kiện {@code WHERE (các cột
+   * sắp xếp) > (giá trị cuối cùng của trang trước)}, nên chi phí của mỗi trang không phụ thuộc vào
+   * độ sâu của trang. Truy vấn {@code COUNT} không được thực thi; việc còn trang tiếp theo hay
+   * không được xác định bằng cách lấy thêm một bản ghi.
+   *
+   * <p>Các cột sắp xếp được lấy từ {@code orderBy()} và phải là cột của thực thể gốc. Cột có thể
+   * chứa {@code NULL}; vị trí của {@code NULL} theo thứ tự mặc định của dialect (đầu danh sách khi
+   * tăng dần trên MySQL/MariaDB, cuối danh sách khi tăng dần trên PostgreSQL). Nếu không có {@code
+   * orderBy()}, kết quả được sắp xếp theo khóa chính. Khóa chính luôn được thêm vào cuối làm khóa
+   * phụ để thứ tự là duy nhất.
+   *
+   * @param <T> Kiểu của thực thể.
+   * @param perPage Số lượng mục trên mỗi trang.
+   * @param cursor Token {@link CursorPaginator#getNextCursor()} của trang trước, hoặc {@code null}
+   *     cho trang đầu tiên.
+   * @return Một đối tượng {@link CursorPaginator} chứa dữ liệu và token của trang tiếp theo.
+   * @throws VMCException nếu token không hợp lệ hoặc cấu hình sắp xếp không được hỗ trợ.
+   */
+  public <T extends Model> CursorPaginator<T> cursorPaginate(int perPage, String cursor) {
+    if (!this.disableRecursion && findRecursiveChildRelation() != null) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST, "Recursive relations are not supported by keyset pagination.");
+    }
+    int pageSize = perPage > 0 ? perPage : 1;
+    List<OrderByClause> sortKeys = resolveKeysetSortKeys();
+    String fingerprint =
+        modelClass.getName()
+            + sortKeys.stream()
+                .map(o -> o.getColumn() + " " + o.getDirection().getSql())
+                .collect(Collectors.joining(",", "[", "]"));
+
+    if (cursor != null && !cursor.isEmpty()) {
+      List<Object> lastValues = KeysetTokenCodec.decode(cursor, fingerprint, sortKeys.size());
+      applySeekPredicate(sortKeys, lastValues);
+    }
+    this.orderByClauses.clear();
+    this.orderByClauses.addAll(sortKeys);
+    this.limit = pageSize + 1;
+    this.offset = null;
+
+    List<T> results = getInternal();
+    if (results.size() <= pageSize) {
+      return new CursorPaginator<>(results, pageSize, null);
+    }
+
+    List<T> data = new ArrayList<>(results.subList(0, pageSize));
+    Model last = data.get(pageSize - 1);
+    List<Object> lastValues = new ArrayList<>();
+    for (OrderByClause sortKey : sortKeys) {
+      String column = sortKey.getColumn().substring(fromAlias.length() + 1);
+      lastValues.add(last.getAttribute(column));
+    }
+    return new CursorPaginator<>(data, pageSize, KeysetTokenCodec.encode(fingerprint, lastValues));
+  }
+
+  /**
+   * Thực thi truy vấn với phân trang theo khóa và chuyển đổi kết quả thành DTO.
+   *
+   * @param <D> Kiểu của DTO.
+   * @param perPage Số lượng mục trên mỗi trang.
+   * @param cursor Token của trang trước, hoặc {@code null} cho trang đầu tiên.
+   * @param dtoClass Lớp của DTO đích.
+   * @return Một đối tượng {@link CursorPaginator} chứa dữ liệu DTO.
+   * @see #cursorPaginate(int, String)
+   */
+  public <D> CursorPaginator<D> cursorPaginateDto(int perPage, String cursor, Class<D> dtoClass) {
+    CursorPaginator<Model> entityPage = cursorPaginate(perPage, cursor);
+    QueryResultMapper mapper = createResultMapper();
+    List<D> dtoList = mapper.mapEntitiesToDtos(entityPage.getData(), dtoClass);
+    return new CursorPaginator<>(dtoList, entityPage.getPerPage(), entityPage.getNextCursor());
+  }
+
   /**
    * Thực thi truy vấn, phân trang và chuyển đổi kết quả thành DTO.
    *
@@ -491,17 +1113,169 @@ public class VMCQueryBuilder {
    * @return Một instance mới của {@code SqlBuilder}.
    */
   private SqlBuilder createSqlBuilder() {
-    return new SqlBuilder(
-        modelClass,
-        fromAlias,
-        selectColumns,
-        whereClauses,
-        orderByClauses,
-        groupByColumns,
-        limit,
-        offset,
-        joinClauses,
-        withRelations);
+    return createSqlBuilder(limit, offset);
+  }
+
+  /**
+   * Tạo một instance của {@link SqlBuilder} với LIMIT/OFFSET được chỉ định.
+   *
+   * @param limit Giá trị LIMIT, có thể là {@code null}.
+   * @param offset Giá trị OFFSET, có thể là {@code null}.
+   * @return Một instance mới của {@code SqlBuilder}.
+   */
+  private SqlBuilder createSqlBuilder(Integer limit, Integer offset) {
+    SqlBuilder sqlBuilder =
+        new SqlBuilder(
+            modelClass,
+            fromAlias,
+            selectColumns,
+            whereClauses,
+            orderByClauses,
+            groupByColumns,
+            limit,
+            offset,
+            joinClauses,
+            withRelations);
+    if (seekCondition != null) {
+      sqlBuilder.appendCondition(seekCondition, seekParams);
+    }
+    return sqlBuilder.withInListPadding(properties.isInListPadding());
+  }
+
+  /**
+   * Kiểm tra xem truy vấn có JOIN nào có thể trả về nhiều hàng cho cùng một thực thể gốc hay không.
+   *
+   * @return {@code true} nếu có ít nhất một JOIN không đơn trị.
+   * @see JoinClause#isSingleValued()
+   */
+  private boolean hasRowMultiplyingJoin() {
+    return joinClauses.stream().anyMatch(jc -> !jc.isSingleValued());
+  }
+
+  /**
+   * Chuẩn hóa các mệnh đề ORDER BY thành danh sách khóa sắp xếp cho phân trang keyset.
+   *
+   * <p>Mỗi cột được gắn bí danh của bảng gốc, và khóa chính được thêm vào cuối (cùng hướng với khóa
+   * cuối cùng) nếu chưa có.
+   *
+   * @return Danh sách các khóa sắp xếp với tên cột đầy đủ.
+   * @throws VMCException nếu một cột sắp xếp không thuộc thực thể gốc.
+   */
+  private List<OrderByClause> resolveKeysetSortKeys() {
+    EntityMetadata metadata = MetadataCache.getMetadata(modelClass);
+    String pkColumn = metadata.getPrimaryKeyColumnName();
+    List<OrderByClause> sortKeys = new ArrayList<>();
+    boolean hasPrimaryKey = false;
+
+    for (OrderByClause clause : orderByClauses) {
+      String column = clause.getColumn();
+      if (column.contains(".")) {
+        if (!column.startsWith(fromAlias + ".")) {
+          throw new VMCException(
+              HttpStatus.BAD_REQUEST,
+              "Keyset pagination only supports sorting by columns of the root entity: " + column);
+        }
+        column = column.substring(fromAlias.length() + 1);
+      }
+      if (!column.equals(pkColumn) && !metadata.getFieldToColumnMap().containsValue(column)) {
+        throw new VMCException(
+            HttpStatus.BAD_REQUEST,
+            "Keyset pagination only supports sorting by columns of the root entity: " + column);
+      }
+      hasPrimaryKey |= column.equals(pkColumn);
+      sortKeys.add(new OrderByClause(fromAlias + "." + column, clause.getDirection()));
+    }
+
+    if (!hasPrimaryKey) {
+      VMCSortDirection direction =
+          sortKeys.isEmpty()
+              ? VMCSortDirection.ASC
+              : sortKeys.get(sortKeys.size() - 1).getDirection();
+      sortKeys.add(new OrderByClause(fromAlias + "." + pkColumn, direction));
+    }
+    return sortKeys;
+  }
+
+  /**
+   * Tạo điều kiện tìm kiếm theo khóa từ các giá trị cuối cùng của trang trước.
+   *
+   * <p>Nếu tất cả các khóa có cùng hướng sắp xếp, không có giá trị cuối nào là {@code null} và các
+   * cột có thể chứa {@code NULL} đều xếp {@code NULL} lên đầu theo hướng đó, điều kiện được viết
+   * dưới dạng so sánh bộ giá trị {@code (a, b) > (?, ?)} để cơ sở dữ liệu có thể dùng chỉ mục phức
+   * hợp. Ngược lại, điều kiện được khai triển thành {@code a > ? OR (a = ? AND b < ?) ...}, trong
+   * đó mỗi cột ngoài khóa chính được xử lý theo thứ tự {@code NULL} mặc định của dialect:
+   *
+   * <ul>
+   *   <li>Giá trị cuối là {@code NULL}: điều kiện bằng trở thành {@code a IS NULL}; các bản ghi
+   *       đứng sau là {@code a IS NOT NULL} nếu {@code NULL} xếp đầu, và không có bản ghi nào nếu
+   *       {@code NULL} xếp cuối.
+   *   <li>Giá trị cuối khác {@code NULL} và {@code NULL} xếp cuối: các bản ghi đứng sau là {@code
+   *       (a > ? OR a IS NULL)}.
+   * </ul>
+   *
+   * @param sortKeys Danh sách các khóa sắp xếp.
+   * @param lastValues Giá trị của các khóa tại bản ghi cuối cùng của trang trước.
+   */
+  private void applySeekPredicate(List<OrderByClause> sortKeys, List<Object> lastValues) {
+    VMCDialect dialect = properties.getDialect();
+    String pkColumn =
+        fromAlias + "." + MetadataCache.getMetadata(modelClass).getPrimaryKeyColumnName();
+    Map<String, Object> params = new HashMap<>();
+    List<String> placeholders = new ArrayList<>();
+    boolean tupleComparable =
+        sortKeys.stream().map(OrderByClause::getDirection).distinct().count() == 1;
+    for (int i = 0; i < lastValues.size(); i++) {
+      Object value = lastValues.get(i);
+      if (value == null) {
+        placeholders.add(null);
+        tupleComparable = false;
+        continue;
+      }
+      params.put("k" + i, value);
+      placeholders.add("#{params.k" + i + "}");
+      boolean descending = sortKeys.get(i).getDirection() == VMCSortDirection.DESC;
+      if (!sortKeys.get(i).getColumn().equals(pkColumn) && !dialect.nullsSortFirst(descending)) {
+        tupleComparable = false;
+      }
+    }
+
+    if (tupleComparable) {
+      String operator = sortKeys.get(0).getDirection() == VMCSortDirection.DESC ? "<" : ">";
+      this.seekCondition =
+          String.format(
+              "(%s) %s (%s)",
+              sortKeys.stream().map(OrderByClause::getColumn).collect(Collectors.joining(", ")),
+              operator,
+              String.join(", ", placeholders));
+    } else {
+      List<String> disjuncts = new ArrayList<>();
+      List<String> equalities = new ArrayList<>();
+      for (int i = 0; i < sortKeys.size(); i++) {
+        OrderByClause sortKey = sortKeys.get(i);
+        String column = sortKey.getColumn();
+        String placeholder = placeholders.get(i);
+        boolean descending = sortKey.getDirection() == VMCSortDirection.DESC;
+        boolean nullsFirst = dialect.nullsSortFirst(descending);
+
+        String after;
+        if (placeholder == null) {
+          after = nullsFirst ? column + " IS NOT NULL" : null;
+        } else {
+          after = column + (descending ? " < " : " > ") + placeholder;
+          if (!column.equals(pkColumn) && !nullsFirst) {
+            after = "(" + after + " OR " + column + " IS NULL)";
+          }
+        }
+        if (after != null) {
+          List<String> conjuncts = new ArrayList<>(equalities);
+          conjuncts.add(after);
+          disjuncts.add("(" + String.join(" AND ", conjuncts) + ")");
+        }
+        equalities.add(column + (placeholder == null ? " IS NULL" : " = " + placeholder));
+      }
+      this.seekCondition = "(" + String.join(" OR ", disjuncts) + ")";
+    }
+    this.seekParams = params;
   }
 
   /**
@@ -510,7 +1284,8 @@ public class VMCQueryBuilder {
    * @return Một instance mới của {@code QueryResultMapper}.
    */
   private QueryResultMapper createResultMapper() {
-    return new QueryResultMapper(modelClass, fromAlias, withRelations);
+    return new QueryResultMapper(
+        modelClass, fromAlias, withRelations, properties.getLazyBatchSize());
   }
 
   /**
@@ -531,7 +1306,7 @@ public class VMCQueryBuilder {
             HttpStatus.BAD_REQUEST,
             "Relation '" + relationName + "' not found in " + modelClass.getSimpleName());
 
-      if (relMeta.getTargetEntity().equals(modelClass)) {
+      if (relMeta.getTargetEntity().equals(modelClass) || isSplitFetch(relationName, relMeta)) {
         continue;
       }
 
@@ -676,14 +1451,21 @@ public class VMCQueryBuilder {
       return Collections.emptyList();
     }
 
-    VMCQueryBuilder fullTreeBuilder = VMCQueryBuilder.from(this.modelClass, this.fromAlias);
-    fullTreeBuilder.whereIn(
-        fromAlias + "." + MetadataCache.getMetadata(modelClass).getPrimaryKeyColumnName(),
-        allIdsInHierarchy);
+    // Cây lớn được tải theo từng phần để danh sách IN không vượt quá vmc.in-list-chunk-size
+    String pkColumn =
+        fromAlias + "." + MetadataCache.getMetadata(modelClass).getPrimaryKeyColumnName();
+    List<T> flatList = new ArrayList<>();
+    for (List<Object> chunk :
+        InClauseHelper.partition(allIdsInHierarchy, properties.getInListChunkSize())) {
+      VMCQueryBuilder fullTreeBuilder = VMCQueryBuilder.from(this.modelClass, this.fromAlias);
+      fullTreeBuilder.whereIn(pkColumn, chunk);
 
-    fullTreeBuilder.with(this.withRelations.toArray(new String[0]));
+      fullTreeBuilder.with(this.withRelations.toArray(new String[0]));
+      fullTreeBuilder.fetchStrategy = this.fetchStrategy;
+      fullTreeBuilder.relationFetchStrategies.putAll(this.relationFetchStrategies);
 
-    List<T> flatList = fullTreeBuilder.getInternal();
+      flatList.addAll(fullTreeBuilder.getInternal());
+    }
 
     QueryResultMapper mapper = createResultMapper();
     return mapper.buildTree(flatList, recursiveChildRel);
@@ -29,6 +29,8 @@ public class ResultProcessor<T extends Model> {
 
   private final AbstractQueryBuilder<?> builder;
   private final Class<T> modelClass;
+  private final int lazyBatchSize;
+  private BatchLoadContext batchContext;
 
   /**
    * Khởi tạo một instance mới của ResultProcessor.
@@ -36,10 +38,26 @@ public class ResultProcessor<T extends Model> {
    * @param builder Instance của query builder chứa trạng thái của truy vấn (ví dụ: các mối quan hệ
    *     cần eager load).
    */
-  @SuppressWarnings("unchecked")
   public ResultProcessor(AbstractQueryBuilder<?> builder) {
+    this(builder, 0);
+  }
+
+  /**
+   * Khởi tạo một instance mới của ResultProcessor với tải lười theo lô.
+   *
+   * <p>Các proxy ToOne của mọi thực thể được xử lý bởi instance này dùng chung một {@link
+   * BatchLoadContext}: lần truy cập đầu tiên sẽ tải thực thể đích cho tối đa {@code lazyBatchSize}
+   * proxy bằng một truy vấn.
+   *
+   * @param builder Instance của query builder chứa trạng thái của truy vấn.
+   * @param lazyBatchSize Số thực thể tối đa được tải trong một lô; giá trị {@code <= 1} tắt tính
+   *     năng tải theo lô.
+   */
+  @SuppressWarnings("unchecked")
+  public ResultProcessor(AbstractQueryBuilder<?> builder, int lazyBatchSize) {
     this.builder = builder;
     this.modelClass = (Class<T>) builder.getModelClass();
+    this.lazyBatchSize = lazyBatchSize;
   }
 
   /**
@@ -119,7 +137,11 @@ public class ResultProcessor<T extends Model> {
                         return Objects.equals(relatedPkValue, itemPk);
                       });
           if (!alreadyExists) {
-            collection.add(relatedModel);
+            if (collection instanceof AbstractLazyLoadingCollection) {
+              ((AbstractLazyLoadingCollection<Model>) collection).addLoaded(relatedModel);
+            } else {
+              collection.add(relatedModel);
+            }
           }
         }
       }
@@ -207,8 +229,8 @@ public class ResultProcessor<T extends Model> {
    * Thiết lập một mối quan hệ để tải ngay lập tức (eager loading).
    *
    * <p>Đối với các mối quan hệ dạng collection (ToMany), phương thức này khởi tạo một collection
-   * rỗng (ArrayList hoặc HashSet) để các thực thể liên quan có thể được thêm vào sau đó trong quá
-   * trình xử lý kết quả.
+   * rỗng đã được tải sẵn (LazyLoadingList hoặc LazyLoadingSet) để các thực thể liên quan có thể
+   * được thêm vào sau đó trong quá trình xử lý kết quả.
    *
    * @param modelInstance Thực thể chứa mối quan hệ.
    * @param field Trường (field) đại diện cho mối quan hệ.
@@ -220,9 +242,9 @@ public class ResultProcessor<T extends Model> {
     if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY
         || relMeta.getType() == RelationMetadata.RelationType.MANY_TO_MANY) {
       if (List.class.isAssignableFrom(field.getType())) {
-        field.set(modelInstance, new ArrayList<>());
+        field.set(modelInstance, new LazyLoadingList<>());
       } else if (Set.class.isAssignableFrom(field.getType())) {
-        field.set(modelInstance, new HashSet<>());
+        field.set(modelInstance, new LazyLoadingSet<>());
       }
     }
   }
@@ -288,14 +310,44 @@ public class ResultProcessor<T extends Model> {
     }
 
     if (foreignKeyValue != null) {
+      Class<? extends Model> targetClass = (Class<? extends Model>) relMeta.getTargetEntity();
+      BatchLoadContext context = batchContext();
+      if (context != null) {
+        context.registerReference(
+            targetClass,
+            targetColumn,
+            foreignKeyValue,
+            relMeta.getFieldName(),
+            relMeta.getFetchDepth());
+      }
       enhancer.setCallback(
           new LazyLoadInterceptor(
-              (Class<? extends Model>) relMeta.getTargetEntity(), targetColumn, foreignKeyValue, relMeta.getFieldName()));
+              targetClass,
+              targetColumn,
+              foreignKeyValue,
+              relMeta.getFieldName(),
+              relMeta.getFetchDepth(),
+              context));
       return enhancer.create();
     }
     return null;
   }
 
+  /**
+   * Lấy ngữ cảnh tải theo lô dùng chung cho các thực thể được xử lý bởi instance này.
+   *
+   * @return Ngữ cảnh tải theo lô, hoặc {@code null} nếu tải lười theo lô bị tắt.
+   */
+  private BatchLoadContext batchContext() {
+    if (lazyBatchSize <= 1) {
+      return null;
+    }
+    if (batchContext == null) {
+      batchContext = new BatchLoadContext(lazyBatchSize);
+    }
+    return batchContext;
+  }
+
   /**
    * Tạo một {@link LazyLoader} phù hợp cho một mối quan hệ dạng collection.
    *
@@ -76,4 +76,17 @@ public class JoinClause {
     this.relationName = relationName;
     this.relationType = relationType;
   }
+
+  /**
+   * Cho biết JOIN này có trả về tối đa một hàng cho mỗi hàng của bảng bên trái hay không.
+   *
+   * <p>Chỉ các JOIN tới quan hệ {@code MANY_TO_ONE}/{@code ONE_TO_ONE} được coi là đơn trị; các
+   * JOIN tới quan hệ tập hợp, bảng trung gian hoặc các JOIN thủ công đều có thể nhân bản hàng.
+   *
+   * @return {@code true} nếu JOIN là đơn trị.
+   */
+  public boolean isSingleValued() {
+    return relationType == RelationMetadata.RelationType.MANY_TO_ONE
+        || relationType == RelationMetadata.RelationType.ONE_TO_ONE;
+  }
 }
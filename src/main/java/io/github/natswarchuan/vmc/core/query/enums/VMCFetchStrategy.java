@@ -0,0 +1,20 @@
+package io.github.natswarchuan.vmc.core.query.enums;
+
+/**
+ * Định nghĩa cách các mối quan hệ dạng collection trong {@code with()} được tải ngay (eager).
+ *
+ * <p>Chiến lược chỉ áp dụng cho quan hệ One-to-Many và Many-to-Many; các quan hệ ToOne luôn được
+ * tải bằng JOIN vì chúng không làm tăng số hàng của truy vấn.
+ *
+ * @author NatswarChuan
+ */
+public enum VMCFetchStrategy {
+  /** JOIN quan hệ vào truy vấn chính (mặc định). */
+  JOIN,
+
+  /**
+   * Tải quan hệ bằng một truy vấn riêng với điều kiện {@code IN (danh sách ID gốc)} rồi ghép vào
+   * các thực thể gốc trong bộ nhớ, tránh bùng nổ tích Descartes khi có nhiều quan hệ collection.
+   */
+  SPLIT
+}
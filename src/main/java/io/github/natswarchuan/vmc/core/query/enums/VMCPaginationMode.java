@@ -0,0 +1,20 @@
+package io.github.natswarchuan.vmc.core.query.enums;
+
+/**
+ * Định nghĩa cách {@code VMCQueryBuilder.paginate} lấy tổng số bản ghi.
+ *
+ * @author NatswarChuan
+ */
+public enum VMCPaginationMode {
+  /** Thực thi truy vấn {@code COUNT} riêng, sau đó mới lấy dữ liệu của trang (mặc định). */
+  SEPARATE_COUNT,
+
+  /**
+   * Lấy tổng số bản ghi trong cùng một lượt truy vấn với dữ liệu.
+   *
+   * <p>Nếu dialect hỗ trợ hàm cửa sổ, tổng số được trả về qua cột {@code COUNT(*) OVER()} của chính
+   * truy vấn dữ liệu. Ngược lại (hoặc khi truy vấn có JOIN tới quan hệ tập hợp), truy vấn {@code
+   * COUNT} và truy vấn dữ liệu được thực thi đồng thời trên hai kết nối.
+   */
+  SINGLE_ROUND_TRIP
+}
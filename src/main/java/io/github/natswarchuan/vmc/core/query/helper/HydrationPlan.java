@@ -0,0 +1,141 @@
+package io.github.natswarchuan.vmc.core.query.helper;
+
+import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.mapping.EntityRowMapper;
+import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
+import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kế hoạch ánh xạ theo chỉ số cột cho một dạng truy vấn (query shape).
+ *
+ * <p>Với mỗi thực thể xuất hiện trong kết quả (thực thể gốc và mỗi thực thể được JOIN), kế hoạch
+ * ghi lại chỉ số của cột khóa chính và chỉ số/tên cột của các cột thuộc bí danh đó. Nhờ vậy, khi
+ * ánh xạ từng hàng chỉ cần đọc giá trị theo chỉ số, không phải duyệt và so khớp tiền tố của mọi cột
+ * cho từng bí danh.
+ *
+ * <p>Kế hoạch được cache theo lớp thực thể gốc, bí danh, danh sách JOIN và danh sách nhãn cột.
+ *
+ * @author NatswarChuan
+ */
+final class HydrationPlan {
+
+  private static final int MAX_CACHE_SIZE = 1024;
+
+  private static final Map<List<Object>, HydrationPlan> CACHE = new ConcurrentHashMap<>();
+
+  /** Vị trí của thực thể gốc. */
+  final EntitySlot root;
+
+  /** Vị trí của các thực thể được JOIN, theo thứ tự của các mệnh đề JOIN. */
+  final EntitySlot[] joined;
+
+  private HydrationPlan(EntitySlot root, EntitySlot[] joined) {
+    this.root = root;
+    this.joined = joined;
+  }
+
+  /**
+   * Lấy (hoặc tính và cache) kế hoạch ánh xạ cho một dạng truy vấn.
+   *
+   * @param rootClass Lớp thực thể gốc.
+   * @param rootAlias Bí danh của bảng gốc.
+   * @param joinClauses Các mệnh đề JOIN của truy vấn.
+   * @param labels Nhãn của các cột trong kết quả.
+   * @return Kế hoạch ánh xạ.
+   */
+  static HydrationPlan of(
+      Class<? extends Model> rootClass,
+      String rootAlias,
+      List<JoinClause> joinClauses,
+      String[] labels) {
+    List<Object> key = new ArrayList<>();
+    key.add(rootClass);
+    key.add(rootAlias);
+    for (JoinClause join : joinClauses) {
+      if (join.getRelatedClass() != null) {
+        key.add(join.getAlias());
+        key.add(join.getRelatedClass());
+        key.add(join.getRelationName());
+      }
+    }
+    key.add(Arrays.asList(labels));
+
+    HydrationPlan plan = CACHE.get(key);
+    if (plan != null) {
+      return plan;
+    }
+    if (CACHE.size() >= MAX_CACHE_SIZE) {
+      CACHE.clear();
+    }
+    return CACHE.computeIfAbsent(key, k -> compile(rootClass, rootAlias, joinClauses, labels));
+  }
+
+  private static HydrationPlan compile(
+      Class<? extends Model> rootClass,
+      String rootAlias,
+      List<JoinClause> joinClauses,
+      String[] labels) {
+    EntitySlot root = new EntitySlot(rootClass, rootAlias, null, labels);
+    List<EntitySlot> joined = new ArrayList<>();
+    for (JoinClause join : joinClauses) {
+      if (join.getRelatedClass() != null) {
+        joined.add(
+            new EntitySlot(
+                join.getRelatedClass(), join.getAlias(), join.getRelationName(), labels));
+      }
+    }
+    return new HydrationPlan(root, joined.toArray(new EntitySlot[0]));
+  }
+
+  /** Vị trí các cột của một thực thể (một bí danh) trong hàng kết quả. */
+  static final class EntitySlot {
+
+    /** Lớp của thực thể. */
+    final Class<? extends Model> entityClass;
+
+    /** Bộ ánh xạ đã biên dịch của lớp thực thể. */
+    final EntityRowMapper rowMapper;
+
+    /** Tên trường quan hệ trên thực thể gốc, hoặc {@code null} với thực thể gốc. */
+    final String relationName;
+
+    /** Chỉ số cột khóa chính, hoặc {@code -1} nếu kết quả không chứa cột này. */
+    final int pkIndex;
+
+    /** Chỉ số của các cột thuộc bí danh. */
+    final int[] columnIndexes;
+
+    /** Tên cột (đã bỏ tiền tố bí danh) tương ứng với {@link #columnIndexes}. */
+    final String[] columnNames;
+
+    private EntitySlot(
+        Class<? extends Model> entityClass, String alias, String relationName, String[] labels) {
+      this.entityClass = entityClass;
+      this.rowMapper = MetadataCache.getRowMapper(entityClass);
+      this.relationName = relationName;
+
+      String prefix = alias + "_";
+      String pkLabel = prefix + MetadataCache.getMetadata(entityClass).getPrimaryKeyColumnName();
+      int pk = -1;
+      List<Integer> indexes = new ArrayList<>();
+      List<String> names = new ArrayList<>();
+      for (int i = 0; i < labels.length; i++) {
+        if (labels[i].startsWith(prefix)) {
+          indexes.add(i);
+          names.add(labels[i].substring(prefix.length()));
+          if (labels[i].equals(pkLabel)) {
+            pk = i;
+          }
+        }
+      }
+      this.pkIndex = pk;
+      this.columnIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+      this.columnNames = names.toArray(new String[0]);
+    }
+  }
+}
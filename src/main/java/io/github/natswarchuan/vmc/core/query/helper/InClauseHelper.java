@@ -0,0 +1,75 @@
+package io.github.natswarchuan.vmc.core.query.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Các phương thức tiện ích để tạo điều kiện {@code IN} có tham số và chia nhỏ các danh sách giá trị
+ * lớn.
+ *
+ * <p>Một danh sách {@code IN} với hàng chục nghìn giá trị làm câu lệnh vượt quá giới hạn kích thước
+ * gói tin (ví dụ {@code max_allowed_packet} của MySQL) và tốn nhiều thời gian phân tích cú pháp.
+ * Các thao tác dùng danh sách ID có kích thước tùy ý (truy vấn đệ quy, tải quan hệ theo lô, đồng bộ
+ * và xóa theo tầng) chia danh sách thành các phần có kích thước tối đa {@code
+ * vmc.in-list-chunk-size} và thực thi một câu lệnh cho mỗi phần.
+ *
+ * @author NatswarChuan
+ */
+public class InClauseHelper {
+
+  /**
+   * Chia một collection thành các phần liên tiếp có kích thước tối đa {@code chunkSize}.
+   *
+   * @param values Các giá trị cần chia.
+   * @param chunkSize Kích thước tối đa của mỗi phần; giá trị nhỏ hơn hoặc bằng 0 sẽ không chia.
+   * @return Danh sách các phần theo thứ tự ban đầu (rỗng nếu {@code values} rỗng).
+   */
+  public static List<List<Object>> partition(Collection<?> values, int chunkSize) {
+    List<List<Object>> chunks = new ArrayList<>();
+    if (values.isEmpty()) {
+      return chunks;
+    }
+    if (chunkSize <= 0 || values.size() <= chunkSize) {
+      chunks.add(new ArrayList<>(values));
+      return chunks;
+    }
+    List<Object> current = new ArrayList<>(chunkSize);
+    for (Object value : values) {
+      current.add(value);
+      if (current.size() == chunkSize) {
+        chunks.add(current);
+        current = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!current.isEmpty()) {
+      chunks.add(current);
+    }
+    return chunks;
+  }
+
+  /**
+   * Tạo danh sách placeholder cho một điều kiện {@code IN} và thêm các giá trị vào map tham số.
+   *
+   * @param values Các giá trị của danh sách {@code IN}.
+   * @param prefix Tiền tố tên tham số; các tham số được đặt tên {@code prefix0}, {@code prefix1},
+   *     ...
+   * @param params Map tham số của câu lệnh, nhận thêm các giá trị.
+   * @return Chuỗi placeholder, ví dụ {@code #{params.id0},#{params.id1}}.
+   */
+  public static String placeholders(
+      Collection<?> values, String prefix, Map<String, Object> params) {
+    StringBuilder sql = new StringBuilder();
+    int index = 0;
+    for (Object value : values) {
+      String name = prefix + index++;
+      params.put(name, value);
+      if (sql.length() > 0) {
+        sql.append(',');
+      }
+      sql.append("#{params.").append(name).append('}');
+    }
+    return sql.toString();
+  }
+}
@@ -0,0 +1,205 @@
+package io.github.natswarchuan.vmc.core.query.helper;
+
+import io.github.natswarchuan.vmc.core.exception.VMCException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Mã hóa và giải mã token tiếp tục (continuation token) cho phân trang theo khóa (keyset).
+ *
+ * <p>Token chứa giá trị các khóa sắp xếp của bản ghi cuối cùng trên trang trước, kèm một dấu vân
+ * tay (fingerprint) của cấu hình sắp xếp để từ chối token được tạo ra từ một truy vấn khác. Mỗi giá
+ * trị được ghi dưới dạng {@code <kiểu><độ dài>:<văn bản>} rồi toàn bộ chuỗi được mã hóa Base64 an
+ * toàn cho URL. Giá trị {@code null} được ghi bằng ký tự kiểu {@code Z} với văn bản rỗng. Không sử
+ * dụng Java serialization, vì vậy việc giải mã một token do client gửi lên chỉ có thể tạo ra các
+ * kiểu giá trị đơn giản được liệt kê ở đây.
+ *
+ * @author NatswarChuan
+ */
+public final class KeysetTokenCodec {
+
+  private KeysetTokenCodec() {}
+
+  /**
+   * Mã hóa các giá trị khóa sắp xếp thành một token.
+   *
+   * @param fingerprint Dấu vân tay của cấu hình sắp xếp.
+   * @param values Các giá trị khóa theo đúng thứ tự của mệnh đề ORDER BY, có thể chứa {@code
+   *     null}.
+   * @return Token dạng Base64 an toàn cho URL.
+   * @throws VMCException nếu một giá trị có kiểu không được hỗ trợ.
+   */
+  public static String encode(String fingerprint, List<Object> values) {
+    StringBuilder text = new StringBuilder();
+    appendToken(text, 'S', fingerprint);
+    for (Object value : values) {
+      if (value == null) {
+        appendToken(text, 'Z', "");
+        continue;
+      }
+      appendToken(text, typeTag(value), formatValue(value));
+    }
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Giải mã một token thành danh sách các giá trị khóa sắp xếp.
+   *
+   * @param token Token do {@link #encode} tạo ra.
+   * @param fingerprint Dấu vân tay của cấu hình sắp xếp hiện tại.
+   * @param expectedSize Số lượng khóa sắp xếp mong đợi.
+   * @return Danh sách các giá trị khóa.
+   * @throws VMCException nếu token không hợp lệ hoặc không thuộc về truy vấn hiện tại.
+   */
+  public static List<Object> decode(String token, String fingerprint, int expectedSize) {
+    List<Object> values = new ArrayList<>();
+    try {
+      String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int position = 0;
+      boolean first = true;
+      while (position < text.length()) {
+        char tag = text.charAt(position);
+        int colon = text.indexOf(':', position + 1);
+        int length = Integer.parseInt(text.substring(position + 1, colon));
+        String valueText = text.substring(colon + 1, colon + 1 + length);
+        position = colon + 1 + length;
+        if (first) {
+          if (tag != 'S' || !valueText.equals(fingerprint)) {
+            throw invalidToken(null);
+          }
+          first = false;
+        } else {
+          values.add(parseValue(tag, valueText));
+        }
+      }
+    } catch (VMCException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw invalidToken(e);
+    }
+    if (values.size() != expectedSize) {
+      throw invalidToken(null);
+    }
+    return values;
+  }
+
+  /**
+   * Ghi một phần tử của token theo dạng {@code <kiểu><độ dài>:<văn bản>}.
+   *
+   * @param text Bộ đệm chứa token.
+   * @param tag Ký tự biểu diễn kiểu của giá trị.
+   * @param valueText Giá trị dưới dạng văn bản.
+   */
+  private static void appendToken(StringBuilder text, char tag, String valueText) {
+    text.append(tag).append(valueText.length()).append(':').append(valueText);
+  }
+
+  /**
+   * Xác định ký tự kiểu cho một giá trị.
+   *
+   * @param value Giá trị cần mã hóa.
+   * @return Ký tự biểu diễn kiểu.
+   * @throws VMCException nếu kiểu không được hỗ trợ.
+   */
+  private static char typeTag(Object value) {
+    if (value instanceof String) return 'S';
+    if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) return 'L';
+    if (value instanceof BigDecimal || value instanceof BigInteger) return 'N';
+    if (value instanceof Double || value instanceof Float) return 'F';
+    if (value instanceof Boolean) return 'B';
+    if (value instanceof LocalDate || value instanceof java.sql.Date) return 'D';
+    if (value instanceof LocalDateTime || value instanceof Timestamp) return 'T';
+    if (value instanceof LocalTime || value instanceof Time) return 't';
+    if (value instanceof OffsetDateTime) return 'O';
+    if (value instanceof Instant) return 'I';
+    if (value instanceof UUID) return 'U';
+    throw new VMCException(
+        HttpStatus.BAD_REQUEST,
+        "Unsupported sort key type for keyset pagination: " + value.getClass().getName());
+  }
+
+  /**
+   * Chuyển một giá trị thành dạng văn bản có thể phân tích lại.
+   *
+   * @param value Giá trị cần chuyển đổi.
+   * @return Dạng văn bản của giá trị.
+   */
+  private static String formatValue(Object value) {
+    if (value instanceof Timestamp) return ((Timestamp) value).toLocalDateTime().toString();
+    if (value instanceof java.sql.Date) return ((java.sql.Date) value).toLocalDate().toString();
+    if (value instanceof Time) return ((Time) value).toLocalTime().toString();
+    if (value instanceof BigInteger) return new BigDecimal((BigInteger) value).toString();
+    return value.toString();
+  }
+
+  /**
+   * Phân tích một giá trị từ dạng văn bản theo ký tự kiểu.
+   *
+   * @param tag Ký tự biểu diễn kiểu.
+   * @param text Dạng văn bản của giá trị.
+   * @return Giá trị đã được phân tích.
+   */
+  private static Object parseValue(char tag, String text) {
+    switch (tag) {
+      case 'S':
+        return text;
+      case 'L':
+        return Long.parseLong(text);
+      case 'N':
+        return new BigDecimal(text);
+      case 'F':
+        return Double.parseDouble(text);
+      case 'B':
+        return Boolean.parseBoolean(text);
+      case 'D':
+        return LocalDate.parse(text);
+      case 'T':
+        return LocalDateTime.parse(text);
+      case 't':
+        return LocalTime.parse(text);
+      case 'O':
+        return OffsetDateTime.parse(text);
+      case 'I':
+        return Instant.parse(text);
+      case 'U':
+        return UUID.fromString(text);
+      case 'Z':
+        if (!text.isEmpty()) {
+          throw invalidToken(null);
+        }
+        return null;
+      default:
+        throw invalidToken(null);
+    }
+  }
+
+  /**
+   * Tạo ngoại lệ cho một token không hợp lệ.
+   *
+   * @param cause Nguyên nhân gốc, có thể là {@code null}.
+   * @return Ngoại lệ tương ứng.
+   */
+  private static VMCException invalidToken(Throwable cause) {
+    return cause == null
+        ? new VMCException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor.")
+        : new VMCException(HttpStatus.BAD_REQUEST, "Invalid pagination cursor.", cause);
+  }
+}
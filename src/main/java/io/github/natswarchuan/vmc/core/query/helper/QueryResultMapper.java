@@ -4,8 +4,10 @@ import io.github.natswarchuan.vmc.core.dto.BaseDto;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
+import io.github.natswarchuan.vmc.core.mapping.EntityRowMapper;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
 import io.github.natswarchuan.vmc.core.mapping.RelationMetadata;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCResultRow;
 import io.github.natswarchuan.vmc.core.persistence.lazy.*;
 import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
 import java.lang.reflect.Field;
@@ -13,11 +15,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.http.HttpStatus;
@@ -44,6 +46,8 @@ public class QueryResultMapper {
   private final Class<? extends Model> modelClass;
   private final String fromAlias;
   private final List<String> withRelations;
+  private final int lazyBatchSize;
+  private BatchLoadContext batchContext;
 
   /**
    * Khởi tạo một instance mới của QueryResultMapper.
@@ -54,17 +58,41 @@ public class QueryResultMapper {
    */
   public QueryResultMapper(
       Class<? extends Model> modelClass, String fromAlias, List<String> withRelations) {
+    this(modelClass, fromAlias, withRelations, 0);
+  }
+
+  /**
+   * Khởi tạo một instance mới của QueryResultMapper với tải lười theo lô.
+   *
+   * <p>Các collection tải lười và proxy ToOne của mọi thực thể được ánh xạ bởi instance này dùng
+   * chung một {@link BatchLoadContext}: lần truy cập đầu tiên sẽ tải mối quan hệ cho tối đa {@code
+   * lazyBatchSize} thực thể bằng một truy vấn.
+   *
+   * @param modelClass Lớp thực thể gốc mà bộ ánh xạ này sẽ làm việc.
+   * @param fromAlias Bí danh của bảng gốc trong câu lệnh SQL.
+   * @param withRelations Danh sách các mối quan hệ cần được tải ngay lập tức (eager loading).
+   * @param lazyBatchSize Số thực thể sở hữu tối đa trong một lần tải lười theo lô; giá trị nhỏ hơn
+   *     hoặc bằng 1 sẽ tải riêng cho từng thực thể.
+   */
+  public QueryResultMapper(
+      Class<? extends Model> modelClass,
+      String fromAlias,
+      List<String> withRelations,
+      int lazyBatchSize) {
     this.modelClass = modelClass;
     this.fromAlias = fromAlias;
     this.withRelations = withRelations;
+    this.lazyBatchSize = lazyBatchSize;
   }
 
   /**
    * Xử lý một danh sách kết quả phẳng và xây dựng lại đồ thị đối tượng.
    *
-   * <p>Đây là phương thức chính của lớp. Nó duyệt qua từng hàng kết quả, tạo hoặc lấy các thực thể
-   * từ một cache tạm thời (session cache) để tránh tạo đối tượng trùng lặp cho cùng một bản ghi, và
-   * sau đó liên kết chúng lại với nhau dựa trên các mệnh đề JOIN đã được định nghĩa.
+   * <p>Mỗi hàng được nạp vào một {@link VMCResultRow} dùng lại cho mọi hàng (nhãn cột lấy từ hàng
+   * đầu tiên) và đưa qua {@link RowCollector}. Khi có
+   * thể, nên dùng trực tiếp {@link #newRowCollector(List)} với {@link
+   * io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor#query} để không phải tạo
+   * Map cho mỗi hàng.
    *
    * @param flatResults Một {@code List<Map<String, Object>>} đại diện cho kết quả thô từ cơ sở dữ
    *     liệu.
@@ -79,69 +107,132 @@ public class QueryResultMapper {
     if (flatResults.isEmpty()) {
       return Collections.emptyList();
     }
+    RowCollector<T> collector = newRowCollector(joinClauses);
+    VMCResultRow buffer = null;
+    for (Map<String, Object> row : flatResults) {
+      if (buffer == null || !buffer.fill(row)) {
+        buffer = VMCResultRow.of(row);
+      }
+      collector.accept(buffer);
+    }
+    return collector.getResults();
+  }
 
-    Map<Class<?>, Map<Object, Model>> sessionCache = new HashMap<>();
+  /**
+   * Tạo một bộ thu thập để xây dựng đồ thị đối tượng trực tiếp từ các hàng đọc theo chỉ số cột.
+   *
+   * @param joinClauses Danh sách các mệnh đề JOIN đã được sử dụng trong truy vấn.
+   * @param <T> Kiểu của thực thể gốc.
+   * @return Một {@link RowCollector} mới.
+   */
+  public <T extends Model> RowCollector<T> newRowCollector(List<JoinClause> joinClauses) {
+    return new RowCollector<>(joinClauses);
+  }
 
-    Map<Object, T> mainModelsMap = new LinkedHashMap<>();
+  /**
+   * Xây dựng lại đồ thị đối tượng từ các hàng kết quả đọc theo chỉ số cột.
+   *
+   * <p>Kế hoạch ánh xạ ({@link HydrationPlan}) chỉ được tính lại khi mảng nhãn cột của hàng thay
+   * đổi, tức là một lần cho mỗi {@code ResultSet} với các executor được cung cấp sẵn. Với mỗi hàng,
+   * thực thể chỉ được tạo khi khóa chính của nó chưa có trong cache của phiên xử lý; các cột của
+   * thực thể được đọc theo chỉ số vào thẳng Map thuộc tính của thực thể.
+   *
+   * @param <T> Kiểu của thực thể gốc.
+   */
+  public final class RowCollector<T extends Model> implements Consumer<VMCResultRow> {
 
-    for (Map<String, Object> row : flatResults) {
-      T mainModel = (T) getOrCreateEntity(modelClass, fromAlias, row, sessionCache);
+    private final List<JoinClause> joinClauses;
+    private final Map<Class<?>, Map<Object, Model>> sessionCache = new HashMap<>();
+    private final Map<Object, T> mainModelsMap = new LinkedHashMap<>();
+    private String[] planLabels;
+    private HydrationPlan plan;
+
+    private RowCollector(List<JoinClause> joinClauses) {
+      this.joinClauses = joinClauses;
+    }
+
+    @Override
+    public void accept(VMCResultRow row) {
+      if (row.getLabels() != planLabels) {
+        planLabels = row.getLabels();
+        plan = HydrationPlan.of(modelClass, fromAlias, joinClauses, planLabels);
+      }
+      T mainModel = (T) getOrCreateEntity(plan.root, row, sessionCache);
       if (mainModel == null) {
-        continue;
+        return;
       }
       mainModelsMap.put(mainModel.getPrimaryKey(), mainModel);
 
-      for (JoinClause join : joinClauses) {
-        if (join.getRelatedClass() == null) continue;
+      for (HydrationPlan.EntitySlot slot : plan.joined) {
+        Model relatedModel = getOrCreateEntity(slot, row, sessionCache);
+        if (relatedModel != null) {
+          linkEntities(mainModel, relatedModel, slot.relationName);
+        }
+      }
+    }
 
-        Model relatedModel =
-            getOrCreateEntity(join.getRelatedClass(), join.getAlias(), row, sessionCache);
-        if (relatedModel == null) continue;
+    /**
+     * Lấy danh sách các thực thể gốc đã thu thập, theo thứ tự xuất hiện đầu tiên.
+     *
+     * @return Danh sách các thực thể gốc.
+     */
+    public List<T> getResults() {
+      return new ArrayList<>(mainModelsMap.values());
+    }
 
-        linkEntities(mainModel, relatedModel, join.getRelationName());
-      }
+    /**
+     * Xóa các thực thể đã thu thập và cache của phiên xử lý nhưng giữ lại kế hoạch ánh xạ, để dùng
+     * lại bộ thu thập cho nhóm hàng tiếp theo của cùng một kết quả (ví dụ trong {@code
+     * VMCCursor}).
+     */
+    public void reset() {
+      sessionCache.clear();
+      mainModelsMap.clear();
     }
-    return new ArrayList<>(mainModelsMap.values());
   }
 
   /**
    * Lấy hoặc tạo một thực thể từ cache trong phiên xử lý.
    *
    * <p>Phương thức này kiểm tra xem một thực thể với khóa chính cụ thể đã tồn tại trong cache chưa.
-   * Nếu có, nó sẽ trả về thực thể đó. Nếu không, nó sẽ tạo một thực thể mới bằng cách gọi {@link
-   * #mapRowToModel(Class, Map, String)}, đưa vào cache, và sau đó trả về.
+   * Nếu có, nó sẽ trả về thực thể đó. Nếu không, nó sẽ tạo một thực thể mới từ các cột thuộc về
+   * vị trí {@code slot} trong hàng, đưa vào cache, và sau đó trả về.
    *
-   * @param entityClass Lớp của thực thể cần lấy hoặc tạo.
-   * @param alias Bí danh của bảng tương ứng trong câu lệnh SQL.
-   * @param row Dữ liệu của một hàng từ cơ sở dữ liệu.
+   * @param slot Vị trí các cột của thực thể trong hàng kết quả.
+   * @param row Hàng kết quả hiện tại.
    * @param sessionCache Cache của phiên xử lý để lưu trữ các thực thể đã tạo.
    * @return Thực thể đã tồn tại hoặc vừa được tạo. Trả về {@code null} nếu không có khóa chính.
    */
   private Model getOrCreateEntity(
-      Class<? extends Model> entityClass,
-      String alias,
-      Map<String, Object> row,
+      HydrationPlan.EntitySlot slot,
+      VMCResultRow row,
       Map<Class<?>, Map<Object, Model>> sessionCache) {
-    EntityMetadata metadata = MetadataCache.getMetadata(entityClass);
-    String pkAlias = alias + "_" + metadata.getPrimaryKeyColumnName();
-    Object pkValue = row.get(pkAlias);
-
+    if (slot.pkIndex < 0) {
+      return null;
+    }
+    Object pkValue = row.getObject(slot.pkIndex);
     if (pkValue == null) {
       return null;
     }
 
-    sessionCache.computeIfAbsent(entityClass, k -> new HashMap<>());
-    Map<Object, Model> entityCache = sessionCache.get(entityClass);
+    Map<Object, Model> entityCache =
+        sessionCache.computeIfAbsent(slot.entityClass, k -> new HashMap<>());
+    Model existing = entityCache.get(pkValue);
+    if (existing != null) {
+      return existing;
+    }
 
-    return entityCache.computeIfAbsent(
-        pkValue,
-        k -> {
-          Model newInstance = mapRowToModel(entityClass, row, alias);
-          if (newInstance != null) {
-            newInstance.setPrimaryKey(pkValue);
-          }
-          return newInstance;
-        });
+    // Các cột NULL cũng được đưa vào để trạng thái đã biết của thực thể ghi nhận chúng
+    Map<String, Object> attributes = new HashMap<>();
+    for (int i = 0; i < slot.columnIndexes.length; i++) {
+      attributes.put(slot.columnNames[i], row.getObject(slot.columnIndexes[i]));
+    }
+    Model newInstance = slot.rowMapper.newInstance();
+    newInstance.setAttributes(attributes);
+    setupRelations(newInstance);
+    newInstance.setPrimaryKey(pkValue);
+    entityCache.put(pkValue, newInstance);
+    return newInstance;
   }
 
   /**
@@ -154,23 +245,23 @@ public class QueryResultMapper {
    */
   private void linkEntities(Model owner, Model related, String relationName) {
     try {
-      Field relationField = findField(owner.getClass(), relationName);
-      relationField.setAccessible(true);
+      EntityRowMapper ownerMapper = MetadataCache.getRowMapper(owner.getClass());
       RelationMetadata relMeta =
           MetadataCache.getMetadata(owner.getClass()).getRelations().get(relationName);
 
       if (relMeta.isCollection()) {
-        Collection<Model> collection = (Collection<Model>) relationField.get(owner);
+        Collection<Model> collection =
+            (Collection<Model>) ownerMapper.readField(owner, relationName);
 
         Set<Object> pksInCollection =
             collection.stream().map(Model::getPrimaryKey).collect(Collectors.toSet());
         if (!pksInCollection.contains(related.getPrimaryKey())) {
-          collection.add(related);
+          addLoaded(collection, related);
           setBackReference(owner, related, relationName);
         }
       } else {
-        if (relationField.get(owner) == null) {
-          relationField.set(owner, related);
+        if (ownerMapper.readField(owner, relationName) == null) {
+          ownerMapper.writeField(owner, relationName, related);
           setBackReference(owner, related, relationName);
         }
       }
@@ -182,6 +273,66 @@ public class QueryResultMapper {
     }
   }
 
+  /**
+   * Gắn các thực thể liên quan đã được tải riêng vào collection của các thực thể sở hữu.
+   *
+   * <p>Được dùng cho chiến lược tải tách truy vấn (split fetch): mỗi thực thể sở hữu nhận các phần
+   * tử có khóa tương ứng trong {@code relatedByOwnerId}. Với quan hệ One-to-Many, trường tham chiếu
+   * ngược trên phần tử được gán trực tiếp bằng thực thể sở hữu (thay cho proxy tải lười).
+   * Collection của quan hệ phải đã được khởi tạo sẵn (quan hệ nằm trong {@code withRelations}).
+   *
+   * @param owners Danh sách các thực thể sở hữu.
+   * @param relationName Tên trường quan hệ trên thực thể sở hữu.
+   * @param relatedByOwnerId Map từ khóa chính đã chuẩn hóa của thực thể sở hữu tới các phần tử.
+   * @throws VMCException nếu không thể truy cập trường quan hệ.
+   */
+  public void attachRelation(
+      List<? extends Model> owners,
+      String relationName,
+      Map<Object, List<Model>> relatedByOwnerId) {
+    try {
+      for (Model owner : owners) {
+        List<Model> related =
+            relatedByOwnerId.get(RelationBatchLoader.normalizeKey(owner.getPrimaryKey()));
+        if (related == null) continue;
+        RelationMetadata relMeta =
+            MetadataCache.getMetadata(owner.getClass()).getRelations().get(relationName);
+        Collection<Model> collection =
+            (Collection<Model>)
+                MetadataCache.getRowMapper(owner.getClass()).readField(owner, relationName);
+        for (Model item : related) {
+          addLoaded(collection, item);
+          if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY) {
+            MetadataCache.getRowMapper(item.getClass())
+                .writeField(item, relMeta.getMappedBy(), owner);
+          }
+        }
+      }
+    } catch (Exception e) {
+      throw new VMCException(
+          HttpStatus.INTERNAL_SERVER_ERROR,
+          "Could not attach entities for relation: " + relationName,
+          e);
+    }
+  }
+
+  /**
+   * Thêm một thực thể vừa được đọc vào collection của một mối quan hệ.
+   *
+   * <p>Với collection theo dõi thay đổi ({@link AbstractLazyLoadingCollection}), phần tử trở thành
+   * một phần của trạng thái đã tải nên collection không bị coi là đã thay đổi.
+   *
+   * @param collection Collection của mối quan hệ.
+   * @param element Thực thể cần thêm.
+   */
+  private static <E> void addLoaded(Collection<E> collection, E element) {
+    if (collection instanceof AbstractLazyLoadingCollection) {
+      ((AbstractLazyLoadingCollection<E>) collection).addLoaded(element);
+    } else {
+      collection.add(element);
+    }
+  }
+
   /**
    * Thiết lập tham chiếu ngược từ thực thể liên quan (related) trở lại thực thể sở hữu (owner).
    *
@@ -198,21 +349,22 @@ public class QueryResultMapper {
 
       for (RelationMetadata backRelMeta : relatedMeta.getRelations().values()) {
         if (ownerRelationName.equals(backRelMeta.getMappedBy())) {
-          Field backRefField = findField(related.getClass(), backRelMeta.getFieldName());
-          backRefField.setAccessible(true);
+          EntityRowMapper relatedMapper = MetadataCache.getRowMapper(related.getClass());
+          String backRefField = backRelMeta.getFieldName();
 
           if (backRelMeta.isCollection()) {
-            Collection<Model> collection = (Collection<Model>) backRefField.get(related);
+            Collection<Model> collection =
+                (Collection<Model>) relatedMapper.readField(related, backRefField);
             if (collection != null) {
               Set<Object> pksInCollection =
                   collection.stream().map(Model::getPrimaryKey).collect(Collectors.toSet());
               if (!pksInCollection.contains(owner.getPrimaryKey())) {
-                collection.add(owner);
+                addLoaded(collection, owner);
               }
             }
           } else {
-            if (backRefField.get(related) == null) {
-              backRefField.set(related, owner);
+            if (relatedMapper.readField(related, backRefField) == null) {
+              relatedMapper.writeField(related, backRefField, owner);
             }
           }
           return;
@@ -226,6 +378,9 @@ public class QueryResultMapper {
   /**
    * Ánh xạ một hàng kết quả (dưới dạng Map) thành một instance của một lớp Model.
    *
+   * <p>Việc khởi tạo và gán trường được ủy quyền cho bộ ánh xạ đã biên dịch sẵn của lớp ({@link
+   * MetadataCache#getRowMapper(Class)}).
+   *
    * @param modelClass Lớp cụ thể của model cần tạo.
    * @param row Dữ liệu của một hàng từ cơ sở dữ liệu.
    * @param alias Bí danh (alias) của bảng trong câu lệnh SQL, dùng để trích xuất đúng cột.
@@ -234,34 +389,10 @@ public class QueryResultMapper {
    */
   public Model mapRowToModel(
       Class<? extends Model> modelClass, Map<String, Object> row, String alias) {
-    try {
-      Map<String, Object> modelAttributes = new HashMap<>();
-      boolean hasData = false;
-
-      String prefix = (alias != null) ? alias + "_" : "";
-      for (Map.Entry<String, Object> entry : row.entrySet()) {
-        if (alias == null || entry.getKey().startsWith(prefix)) {
-          String columnName =
-              (alias != null) ? entry.getKey().substring(prefix.length()) : entry.getKey();
-          modelAttributes.put(columnName, entry.getValue());
-          if (entry.getValue() != null) {
-            hasData = true;
-          }
-        }
-      }
-
-      if (!hasData) return null;
-
-      Model modelInstance = modelClass.getDeclaredConstructor().newInstance();
-      modelInstance.setAttributes(modelAttributes);
-      setupRelations(modelInstance);
-      return modelInstance;
-    } catch (Exception e) {
-      throw new VMCException(
-          HttpStatus.INTERNAL_SERVER_ERROR,
-          "Could not instantiate and map model: " + modelClass.getSimpleName(),
-          e);
-    }
+    Model modelInstance = MetadataCache.getRowMapper(modelClass).mapRow(row, alias);
+    if (modelInstance == null) return null;
+    setupRelations(modelInstance);
+    return modelInstance;
   }
 
   /**
@@ -274,25 +405,26 @@ public class QueryResultMapper {
    */
   private void setupRelations(Model modelInstance) {
     EntityMetadata metadata = MetadataCache.getMetadata(modelInstance.getClass());
+    EntityRowMapper rowMapper = MetadataCache.getRowMapper(modelInstance.getClass());
     for (RelationMetadata relMeta : metadata.getRelations().values()) {
       try {
-        Field field = findField(modelInstance.getClass(), relMeta.getFieldName());
-        field.setAccessible(true);
+        String fieldName = relMeta.getFieldName();
+        Class<?> fieldType = rowMapper.fieldType(fieldName);
         boolean isEager = this.withRelations.contains(relMeta.getFieldName());
 
         if (relMeta.isCollection()) {
           if (isEager) {
-            if (List.class.isAssignableFrom(field.getType())) {
-              field.set(modelInstance, new ArrayList<>());
-            } else if (Set.class.isAssignableFrom(field.getType())) {
-              field.set(modelInstance, new HashSet<>());
+            if (List.class.isAssignableFrom(fieldType)) {
+              rowMapper.writeField(modelInstance, fieldName, new LazyLoadingList<>());
+            } else if (Set.class.isAssignableFrom(fieldType)) {
+              rowMapper.writeField(modelInstance, fieldName, new LazyLoadingSet<>());
             }
           } else {
             LazyLoader<?> loader = createLoader(modelInstance, relMeta);
-            if (List.class.isAssignableFrom(field.getType())) {
-              field.set(modelInstance, new LazyLoadingList<>(loader));
-            } else if (Set.class.isAssignableFrom(field.getType())) {
-              field.set(modelInstance, new LazyLoadingSet<>(loader));
+            if (List.class.isAssignableFrom(fieldType)) {
+              rowMapper.writeField(modelInstance, fieldName, new LazyLoadingList<>(loader));
+            } else if (Set.class.isAssignableFrom(fieldType)) {
+              rowMapper.writeField(modelInstance, fieldName, new LazyLoadingSet<>(loader));
             }
           }
         } else {
@@ -326,8 +458,12 @@ public class QueryResultMapper {
             if (fkValue != null) {
               Object proxy =
                   createLazyProxy(
-                      relMeta.getTargetEntity(), pkColumn, fkValue, excludedRelationName);
-              field.set(modelInstance, proxy);
+                      relMeta.getTargetEntity(),
+                      pkColumn,
+                      fkValue,
+                      excludedRelationName,
+                      relMeta.getFetchDepth());
+              rowMapper.writeField(modelInstance, fieldName, proxy);
             }
           }
         }
@@ -347,18 +483,52 @@ public class QueryResultMapper {
    * @param pkColumn Tên cột dùng để truy vấn (thường là khóa chính hoặc khóa ngoại).
    * @param pkValue Giá trị dùng để truy vấn.
    * @param excludedRelationName Tên của mối quan hệ ngược lại cần loại trừ để tránh đệ quy vô hạn.
+   * @param fetchDepth Độ sâu tải của thực thể đích (xem {@link RelationMetadata#getFetchDepth()}).
    * @return Một đối tượng proxy của lớp đích.
    */
   private Object createLazyProxy(
-      Class<?> targetClass, String pkColumn, Object pkValue, String excludedRelationName) {
+      Class<?> targetClass,
+      String pkColumn,
+      Object pkValue,
+      String excludedRelationName,
+      int fetchDepth) {
+    BatchLoadContext context = batchContext();
+    if (context != null) {
+      context.registerReference(
+          (Class<? extends Model>) targetClass,
+          pkColumn,
+          pkValue,
+          excludedRelationName,
+          fetchDepth);
+    }
     Enhancer enhancer = new Enhancer();
     enhancer.setSuperclass(targetClass);
     enhancer.setCallback(
         new LazyLoadInterceptor(
-            (Class<? extends Model>) targetClass, pkColumn, pkValue, excludedRelationName));
+            (Class<? extends Model>) targetClass,
+            pkColumn,
+            pkValue,
+            excludedRelationName,
+            fetchDepth,
+            context));
     return enhancer.create();
   }
 
+  /**
+   * Lấy ngữ cảnh tải theo lô dùng chung cho các thực thể được ánh xạ bởi instance này.
+   *
+   * @return Ngữ cảnh tải theo lô, hoặc {@code null} nếu tải lười theo lô bị tắt.
+   */
+  private BatchLoadContext batchContext() {
+    if (lazyBatchSize <= 1) {
+      return null;
+    }
+    if (batchContext == null) {
+      batchContext = new BatchLoadContext(lazyBatchSize);
+    }
+    return batchContext;
+  }
+
   /**
    * Tạo một {@link LazyLoader} phù hợp cho một mối quan hệ dạng collection.
    *
@@ -368,10 +538,15 @@ public class QueryResultMapper {
    * @throws VMCException nếu loại quan hệ không được hỗ trợ.
    */
   private LazyLoader<?> createLoader(Model modelInstance, RelationMetadata relMeta) {
+    BatchLoadContext context = batchContext();
+    if (context != null) {
+      EntityMetadata metadata = MetadataCache.getMetadata(modelInstance.getClass());
+      context.register(relMeta, modelInstance.getAttribute(metadata.getPrimaryKeyColumnName()));
+    }
     if (relMeta.getType() == RelationMetadata.RelationType.ONE_TO_MANY)
-      return new OneToManyLoader(modelInstance, relMeta);
+      return new OneToManyLoader(modelInstance, relMeta, context);
     if (relMeta.getType() == RelationMetadata.RelationType.MANY_TO_MANY)
-      return new ManyToManyLoader(modelInstance, relMeta);
+      return new ManyToManyLoader(modelInstance, relMeta, context);
     throw new VMCException(
         HttpStatus.INTERNAL_SERVER_ERROR,
         "Cannot create loader for relation type: " + relMeta.getType());
@@ -498,7 +673,7 @@ public class QueryResultMapper {
           T parentFromMap = map.get(parentId);
           if (parentFromMap != null) {
 
-            ((List<T>) childField.get(parentFromMap)).add(item);
+            addLoaded((List<T>) childField.get(parentFromMap), item);
           } else {
 
             rootNodes.add(item);
@@ -1,5 +1,6 @@
 package io.github.natswarchuan.vmc.core.query.helper;
 
+import io.github.natswarchuan.vmc.core.config.VMCDialect;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
@@ -7,14 +8,21 @@ import io.github.natswarchuan.vmc.core.query.clause.JoinClause;
 import io.github.natswarchuan.vmc.core.query.clause.OrderByClause;
 import io.github.natswarchuan.vmc.core.query.clause.PreparedQuery;
 import io.github.natswarchuan.vmc.core.query.clause.WhereClause;
+import io.github.natswarchuan.vmc.core.query.enums.VMCSortDirection;
+import io.github.natswarchuan.vmc.core.query.enums.VMCSqlJoinType;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSqlOperator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -26,10 +34,29 @@ import java.util.stream.Collectors;
  * MyBatis. Nó đảm bảo rằng các câu lệnh được tạo ra là hợp lệ về mặt cú pháp và các tham số được
  * quản lý một cách an toàn để chống lại các cuộc tấn công SQL Injection.
  *
+ * <p>Chuỗi SQL được tạo ra được cache theo "dạng" của truy vấn (query shape): lớp thực thể, bí
+ * danh, danh sách cột, các JOIN, cột và toán tử của từng điều kiện WHERE (kèm kích thước danh sách
+ * {@code IN}), sắp xếp, nhóm và sự có mặt của LIMIT/OFFSET. Khi dạng truy vấn đã có trong cache,
+ * chỉ các giá trị tham số được gán lại. LIMIT/OFFSET cũng được truyền dưới dạng tham số, nên các
+ * trang khác nhau của cùng một truy vấn dùng chung một chuỗi SQL và driver có thể tái sử dụng
+ * prepared statement.
+ *
+ * <p>Với {@link #withInListPadding(boolean)}, các danh sách {@code IN} được làm đầy tới kích
+ * thước là lũy thừa của 2 (xem {@link #padInList(Collection)}), nên số dạng truy vấn chỉ tăng theo
+ * logarit của kích thước danh sách.
+ *
  * @author NatswarChuan
  */
 public class SqlBuilder {
 
+  /** Nhãn cột chứa tổng số bản ghi khi truy vấn được xây dựng với {@link #withTotalCount()}. */
+  public static final String TOTAL_COUNT_LABEL = "vmc__total";
+
+  private static final int MAX_CACHE_SIZE = 1024;
+
+  /** Chuỗi SQL đã tạo, theo dạng truy vấn (xem {@link #shapeKey(String)}). */
+  private static final Map<List<Object>, String> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
   private final Class<? extends Model> modelClass;
   private final String fromAlias;
   private final List<String> selectColumns;
@@ -39,6 +66,10 @@ public class SqlBuilder {
   private final Integer limit;
   private final Integer offset;
   private final List<JoinClause> joinClauses;
+  private final List<String> extraConditions = new ArrayList<>();
+  private final Map<String, Object> extraParams = new HashMap<>();
+  private boolean includeTotalCount;
+  private boolean inListPadding;
 
   /**
    * Khởi tạo một instance mới của SqlBuilder với tất cả các thành phần cần thiết.
@@ -77,6 +108,72 @@ public class SqlBuilder {
     this.joinClauses = joinClauses;
   }
 
+  /**
+   * Thêm một điều kiện SQL thô vào mệnh đề WHERE, ví dụ điều kiện tìm kiếm theo khóa (seek
+   * predicate) của phân trang keyset hoặc danh sách ID của truy vấn hai giai đoạn.
+   *
+   * <p>Điều kiện được nối vào mệnh đề WHERE bằng {@code AND}; các điều kiện WHERE hiện có được bọc
+   * trong dấu ngoặc để giữ nguyên thứ tự ưu tiên của các toán tử {@code OR}.
+   *
+   * @param condition Biểu thức SQL với các placeholder {@code #{params.ten}}.
+   * @param params Các tham số của biểu thức; tên phải khác với tiền tố {@code p} của mệnh đề WHERE.
+   * @return Chính instance này để gọi chuỗi.
+   */
+  public SqlBuilder appendCondition(String condition, Map<String, Object> params) {
+    this.extraConditions.add(condition);
+    this.extraParams.putAll(params);
+    return this;
+  }
+
+  /**
+   * Yêu cầu câu lệnh SELECT trả về thêm tổng số bản ghi qua hàm cửa sổ {@code COUNT(*) OVER()}.
+   *
+   * <p>Hàm cửa sổ được tính trước {@code LIMIT/OFFSET} (và sau {@code GROUP BY}), nên mỗi hàng
+   * chứa tổng số bản ghi thỏa mãn điều kiện trong cột {@link #TOTAL_COUNT_LABEL}. Chỉ dùng khi
+   * dialect hỗ trợ hàm cửa sổ.
+   *
+   * @return Chính instance này để gọi chuỗi.
+   */
+  public SqlBuilder withTotalCount() {
+    this.includeTotalCount = true;
+    return this;
+  }
+
+  /**
+   * Bật hoặc tắt việc làm đầy các danh sách {@code IN} của mệnh đề WHERE.
+   *
+   * @param enabled {@code true} để làm đầy danh sách tới kích thước là lũy thừa của 2.
+   * @return Chính instance này để gọi chuỗi.
+   */
+  public SqlBuilder withInListPadding(boolean enabled) {
+    this.inListPadding = enabled;
+    return this;
+  }
+
+  /**
+   * Làm đầy một danh sách giá trị tới kích thước là lũy thừa của 2 nhỏ nhất không nhỏ hơn kích
+   * thước hiện tại, bằng cách lặp lại giá trị cuối cùng. Kết quả của điều kiện {@code IN} không
+   * thay đổi vì các giá trị lặp lại không ảnh hưởng tới tập giá trị.
+   *
+   * @param values Danh sách giá trị gốc.
+   * @return Danh sách mới đã được làm đầy (giữ nguyên nếu rỗng).
+   */
+  public static List<Object> padInList(Collection<?> values) {
+    List<Object> padded = new ArrayList<>(values);
+    if (padded.isEmpty()) {
+      return padded;
+    }
+    int bucket = 1;
+    while (bucket < padded.size()) {
+      bucket <<= 1;
+    }
+    Object last = padded.get(padded.size() - 1);
+    while (padded.size() < bucket) {
+      padded.add(last);
+    }
+    return padded;
+  }
+
   /**
    * Xây dựng câu lệnh SQL SELECT hoàn chỉnh.
    *
@@ -87,6 +184,15 @@ public class SqlBuilder {
    * @return Một đối tượng {@link PreparedQuery} chứa chuỗi SQL và các tham số.
    */
   public PreparedQuery build() {
+    return cached("select", this::generateSelect);
+  }
+
+  /**
+   * Tạo câu lệnh SELECT hoàn chỉnh (không qua cache).
+   *
+   * @return Một đối tượng {@link PreparedQuery} chứa chuỗi SQL và các tham số.
+   */
+  private PreparedQuery generateSelect() {
     EntityMetadata mainMetadata = MetadataCache.getMetadata(this.modelClass);
     if (this.selectColumns.isEmpty()) {
       addDefaultSelects(mainMetadata);
@@ -113,15 +219,19 @@ public class SqlBuilder {
       }
     }
 
+    if (this.includeTotalCount) {
+      processedSelectColumns.add("COUNT(*) OVER() AS " + TOTAL_COUNT_LABEL);
+    }
+
     StringBuilder sql =
         new StringBuilder("SELECT ").append(String.join(", ", processedSelectColumns));
     sql.append(" FROM ").append(mainMetadata.getTableName()).append(" AS ").append(this.fromAlias);
 
-    appendJoins(sql);
+    appendJoins(sql, this.joinClauses);
     Map<String, Object> params = buildWhereClause(sql, this.fromAlias);
     appendGroupBy(sql);
     appendOrderBy(sql);
-    appendLimitOffset(sql);
+    appendLimitOffset(sql, params);
 
     return new PreparedQuery(sql.toString(), params);
   }
@@ -136,6 +246,15 @@ public class SqlBuilder {
    * @return Một đối tượng {@link PreparedQuery} chứa chuỗi SQL và các tham số.
    */
   public PreparedQuery buildCountQuery() {
+    return cached("count", this::generateCountQuery);
+  }
+
+  /**
+   * Tạo câu lệnh đếm số lượng bản ghi (không qua cache).
+   *
+   * @return Một đối tượng {@link PreparedQuery} chứa chuỗi SQL và các tham số.
+   */
+  private PreparedQuery generateCountQuery() {
     EntityMetadata mainMetadata = MetadataCache.getMetadata(this.modelClass);
     StringBuilder baseQuery = new StringBuilder();
     baseQuery
@@ -144,7 +263,7 @@ public class SqlBuilder {
         .append(" AS ")
         .append(this.fromAlias);
 
-    appendJoins(baseQuery);
+    appendJoins(baseQuery, this.joinClauses);
     Map<String, Object> params = buildWhereClause(baseQuery, this.fromAlias);
 
     if (!groupByColumns.isEmpty()) {
@@ -164,6 +283,332 @@ public class SqlBuilder {
     }
   }
 
+  /**
+   * Xây dựng câu lệnh chỉ lấy khóa chính của các thực thể gốc cho giai đoạn đầu của truy vấn hai
+   * giai đoạn.
+   *
+   * <p>Câu lệnh giữ nguyên các điều kiện WHERE, thứ tự sắp xếp và LIMIT/OFFSET, nhưng chỉ JOIN tới
+   * các bảng thực sự cần thiết: các bảng được tham chiếu trong WHERE/ORDER BY (cùng các bảng trung
+   * gian mà chúng phụ thuộc) và các JOIN không phải {@code LEFT JOIN} (vì chúng có thể lọc bớt bản
+   * ghi). Nếu một JOIN được giữ lại có thể nhân bản hàng, câu lệnh được nhóm theo khóa chính và các
+   * cột sắp xếp không thuộc bảng gốc được bọc trong {@code MIN}/{@code MAX}. Nhờ vậy LIMIT/OFFSET
+   * áp dụng cho thực thể gốc thay vì cho các hàng đã JOIN.
+   *
+   * @return Một đối tượng {@link PreparedQuery}; khóa chính được trả về với nhãn {@code
+   *     alias_pk}.
+   */
+  public PreparedQuery buildRootIdQuery() {
+    return cached("rootId", this::generateRootIdQuery);
+  }
+
+  /**
+   * Tạo câu lệnh chỉ lấy khóa chính của các thực thể gốc (không qua cache).
+   *
+   * @return Một đối tượng {@link PreparedQuery}.
+   */
+  private PreparedQuery generateRootIdQuery() {
+    EntityMetadata mainMetadata = MetadataCache.getMetadata(this.modelClass);
+    if (this.selectColumns.isEmpty()) {
+      addDefaultSelects(mainMetadata);
+    }
+    Map<String, String> aliasExpressions = selectAliasExpressions();
+
+    List<String> orderExpressions = new ArrayList<>();
+    for (OrderByClause clause : orderByClauses) {
+      String column = clause.getColumn();
+      if (aliasExpressions.containsKey(column)) {
+        orderExpressions.add(aliasExpressions.get(column));
+      } else if (column.contains(".") || column.contains("(")) {
+        orderExpressions.add(column);
+      } else {
+        orderExpressions.add(fromAlias + "." + column);
+      }
+    }
+
+    StringBuilder references = new StringBuilder();
+    whereClauses.forEach(w -> references.append(' ').append(w.getColumn()));
+    orderExpressions.forEach(e -> references.append(' ').append(e));
+    extraConditions.forEach(c -> references.append(' ').append(c));
+
+    Set<JoinClause> required = new HashSet<>();
+    for (JoinClause join : joinClauses) {
+      if (join.getType() != VMCSqlJoinType.LEFT_JOIN
+          || referencesAlias(references, join.getAlias())) {
+        required.add(join);
+      }
+    }
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (JoinClause join : joinClauses) {
+        if (required.contains(join)) continue;
+        for (JoinClause dependent : new ArrayList<>(required)) {
+          String condition = dependent.getFirst() + " " + dependent.getSecond();
+          if (referencesAlias(condition, join.getAlias())) {
+            required.add(join);
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+    List<JoinClause> requiredJoins =
+        joinClauses.stream().filter(required::contains).collect(Collectors.toList());
+    boolean grouped = requiredJoins.stream().anyMatch(j -> !j.isSingleValued());
+
+    String pkColumn = mainMetadata.getPrimaryKeyColumnName();
+    String pkWithAlias = fromAlias + "." + pkColumn;
+    StringBuilder sql =
+        new StringBuilder("SELECT ")
+            .append(pkWithAlias)
+            .append(" AS ")
+            .append(fromAlias)
+            .append("_")
+            .append(pkColumn)
+            .append(" FROM ")
+            .append(mainMetadata.getTableName())
+            .append(" AS ")
+            .append(fromAlias);
+    appendJoins(sql, requiredJoins);
+    Map<String, Object> params = buildWhereClause(sql, this.fromAlias);
+    if (grouped) {
+      sql.append(" GROUP BY ").append(pkWithAlias);
+    }
+    if (!orderExpressions.isEmpty()) {
+      List<String> orderParts = new ArrayList<>();
+      for (int i = 0; i < orderExpressions.size(); i++) {
+        String expression = orderExpressions.get(i);
+        VMCSortDirection direction = orderByClauses.get(i).getDirection();
+        if (grouped && !expression.startsWith(fromAlias + ".")) {
+          expression =
+              (direction == VMCSortDirection.DESC ? "MAX(" : "MIN(") + expression + ")";
+        }
+        orderParts.add(expression + " " + direction.getSql());
+      }
+      sql.append(" ORDER BY ").append(String.join(", ", orderParts));
+    }
+    appendLimitOffset(sql, params);
+
+    return new PreparedQuery(sql.toString(), params);
+  }
+
+  /**
+   * Xây dựng câu lệnh UPDATE theo tập hợp cho tất cả các bản ghi của bảng gốc thỏa mãn mệnh đề
+   * WHERE và các JOIN của truy vấn.
+   *
+   * <p>Không có JOIN, câu lệnh có dạng {@code UPDATE table AS alias SET ... WHERE ...}. Có JOIN,
+   * MySQL/MariaDB dùng cú pháp UPDATE nhiều bảng ({@code UPDATE table AS alias JOIN ... SET ...
+   * WHERE ...}); PostgreSQL lọc theo khóa chính bằng một subquery chứa các JOIN.
+   *
+   * @param values Map từ tên cột của bảng gốc tới giá trị mới, theo thứ tự của mệnh đề SET.
+   * @param dialect Dialect của cơ sở dữ liệu.
+   * @return Một đối tượng {@link PreparedQuery}; các giá trị SET được đặt tên {@code set0}, {@code
+   *     set1}, ...
+   */
+  public PreparedQuery buildUpdate(Map<String, Object> values, VMCDialect dialect) {
+    EntityMetadata mainMetadata = MetadataCache.getMetadata(this.modelClass);
+    boolean qualified = dialect != VMCDialect.POSTGRESQL;
+    Map<String, Object> setParams = new LinkedHashMap<>();
+    List<String> assignments = new ArrayList<>();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      String column = entry.getKey();
+      if (column.startsWith(fromAlias + ".")) {
+        column = column.substring(fromAlias.length() + 1);
+      }
+      String pName = "set" + setParams.size();
+      setParams.put(pName, entry.getValue());
+      assignments.add(
+          (qualified ? fromAlias + "." : "") + column + " = #{params." + pName + "}");
+    }
+
+    StringBuilder sql = new StringBuilder("UPDATE ").append(mainMetadata.getTableName());
+    Map<String, Object> params;
+    if (joinClauses.isEmpty() || qualified) {
+      sql.append(" AS ").append(fromAlias);
+      appendJoins(sql, joinClauses);
+      sql.append(" SET ").append(String.join(", ", assignments));
+      params = buildWhereClause(sql, fromAlias);
+    } else {
+      sql.append(" SET ").append(String.join(", ", assignments));
+      params = appendRootIdFilter(sql, mainMetadata);
+    }
+    params.putAll(setParams);
+    return new PreparedQuery(sql.toString(), params);
+  }
+
+  /**
+   * Xây dựng câu lệnh DELETE theo tập hợp cho tất cả các bản ghi của bảng gốc thỏa mãn mệnh đề
+   * WHERE và các JOIN của truy vấn.
+   *
+   * <p>MySQL/MariaDB dùng cú pháp {@code DELETE alias FROM table AS alias [JOIN ...] WHERE ...};
+   * PostgreSQL dùng {@code DELETE FROM table AS alias WHERE ...} và lọc theo khóa chính bằng một
+   * subquery khi có JOIN.
+   *
+   * @param dialect Dialect của cơ sở dữ liệu.
+   * @return Một đối tượng {@link PreparedQuery}.
+   */
+  public PreparedQuery buildDelete(VMCDialect dialect) {
+    EntityMetadata mainMetadata = MetadataCache.getMetadata(this.modelClass);
+    StringBuilder sql = new StringBuilder("DELETE ");
+    Map<String, Object> params;
+    if (dialect != VMCDialect.POSTGRESQL) {
+      sql.append(fromAlias)
+          .append(" FROM ")
+          .append(mainMetadata.getTableName())
+          .append(" AS ")
+          .append(fromAlias);
+      appendJoins(sql, joinClauses);
+      params = buildWhereClause(sql, fromAlias);
+    } else if (joinClauses.isEmpty()) {
+      sql.append("FROM ").append(mainMetadata.getTableName()).append(" AS ").append(fromAlias);
+      params = buildWhereClause(sql, fromAlias);
+    } else {
+      sql.append("FROM ").append(mainMetadata.getTableName());
+      params = appendRootIdFilter(sql, mainMetadata);
+    }
+    return new PreparedQuery(sql.toString(), params);
+  }
+
+  /**
+   * Nối điều kiện {@code WHERE pk IN (SELECT alias.pk FROM ... JOIN ... WHERE ...)} vào một câu
+   * lệnh UPDATE/DELETE không có bí danh, cho các dialect không hỗ trợ JOIN trong UPDATE/DELETE.
+   *
+   * @param sql StringBuilder chứa câu lệnh SQL đang được xây dựng.
+   * @param mainMetadata Metadata của thực thể gốc.
+   * @return Map các tham số của mệnh đề WHERE.
+   */
+  private Map<String, Object> appendRootIdFilter(StringBuilder sql, EntityMetadata mainMetadata) {
+    String pkColumn = mainMetadata.getPrimaryKeyColumnName();
+    StringBuilder subQuery =
+        new StringBuilder("SELECT ")
+            .append(fromAlias)
+            .append(".")
+            .append(pkColumn)
+            .append(" FROM ")
+            .append(mainMetadata.getTableName())
+            .append(" AS ")
+            .append(fromAlias);
+    appendJoins(subQuery, joinClauses);
+    Map<String, Object> params = buildWhereClause(subQuery, fromAlias);
+    sql.append(" WHERE ").append(pkColumn).append(" IN (").append(subQuery).append(")");
+    return params;
+  }
+
+  /**
+   * Lấy chuỗi SQL từ cache theo dạng truy vấn và chỉ gán lại tham số, hoặc tạo mới và cache lại.
+   *
+   * @param kind Loại câu lệnh ({@code select}, {@code count}, {@code rootId}).
+   * @param generator Hàm tạo câu lệnh khi dạng truy vấn chưa có trong cache.
+   * @return Một đối tượng {@link PreparedQuery} chứa chuỗi SQL và các tham số.
+   */
+  private PreparedQuery cached(String kind, Supplier<PreparedQuery> generator) {
+    List<Object> key = shapeKey(kind);
+    String sql = TEMPLATE_CACHE.get(key);
+    if (sql != null) {
+      Map<String, Object> params = bindWhereParams();
+      if (!"count".equals(kind)) {
+        bindLimitOffset(params);
+      }
+      return new PreparedQuery(sql, params);
+    }
+    PreparedQuery query = generator.get();
+    if (TEMPLATE_CACHE.size() >= MAX_CACHE_SIZE) {
+      TEMPLATE_CACHE.clear();
+    }
+    TEMPLATE_CACHE.put(key, query.getSql());
+    return query;
+  }
+
+  /**
+   * Tạo khóa mô tả dạng của truy vấn: mọi thành phần ảnh hưởng tới chuỗi SQL được tạo ra, nhưng
+   * không bao gồm giá trị của các tham số.
+   *
+   * @param kind Loại câu lệnh.
+   * @return Khóa của dạng truy vấn.
+   */
+  private List<Object> shapeKey(String kind) {
+    List<Object> key = new ArrayList<>();
+    key.add(kind);
+    key.add(modelClass);
+    key.add(fromAlias);
+    key.add(new ArrayList<>(selectColumns));
+    for (JoinClause join : joinClauses) {
+      key.add(
+          Arrays.asList(
+              join.getType(),
+              join.getTable(),
+              join.getAlias(),
+              join.getFirst(),
+              join.getOperator(),
+              join.getSecond(),
+              join.getRelatedClass(),
+              join.getRelationName(),
+              join.getRelationType()));
+    }
+    for (WhereClause clause : whereClauses) {
+      int inSize =
+          clause.getOperator() == VMCSqlOperator.IN && clause.getValue() instanceof Collection
+              ? inListValues(clause).size()
+              : -1;
+      key.add(
+          Arrays.asList(
+              clause.getConjunction(), clause.getColumn(), clause.getOperator(), inSize));
+    }
+    for (OrderByClause clause : orderByClauses) {
+      key.add(Arrays.asList(clause.getColumn(), clause.getDirection()));
+    }
+    key.add(new ArrayList<>(groupByColumns));
+    key.add(new ArrayList<>(extraConditions));
+    key.add(includeTotalCount);
+    key.add(limit != null);
+    key.add(offset != null);
+    return key;
+  }
+
+  /**
+   * Gán giá trị tham số của mệnh đề WHERE theo đúng thứ tự và tên mà {@link
+   * #buildWhereClause(StringBuilder, String)} sử dụng, không tạo lại chuỗi SQL.
+   *
+   * @return Map các tham số của mệnh đề WHERE (bao gồm các điều kiện bổ sung).
+   */
+  private Map<String, Object> bindWhereParams() {
+    Map<String, Object> params = new HashMap<>();
+    for (WhereClause clause : whereClauses) {
+      if (clause.getOperator() == VMCSqlOperator.IN && clause.getValue() instanceof Collection) {
+        for (Object value : inListValues(clause)) {
+          params.put("p" + params.size(), value);
+        }
+      } else if (clause.getOperator() != VMCSqlOperator.IS_NULL
+          && clause.getOperator() != VMCSqlOperator.IS_NOT_NULL) {
+        params.put("p" + params.size(), clause.getValue());
+      }
+    }
+    params.putAll(extraParams);
+    return params;
+  }
+
+  /**
+   * Lấy các giá trị của một điều kiện {@code IN}, đã được làm đầy nếu tính năng này được bật.
+   *
+   * @param clause Điều kiện {@code IN} với giá trị là một collection.
+   * @return Các giá trị sẽ được gán vào danh sách {@code IN}.
+   */
+  private Collection<?> inListValues(WhereClause clause) {
+    Collection<?> values = (Collection<?>) clause.getValue();
+    return inListPadding ? padInList(values) : values;
+  }
+
+  /**
+   * Kiểm tra xem một đoạn SQL có tham chiếu tới một bí danh bảng hay không.
+   *
+   * @param sql Đoạn SQL cần kiểm tra.
+   * @param alias Bí danh của bảng.
+   * @return {@code true} nếu đoạn SQL chứa {@code alias.} như một định danh độc lập.
+   */
+  private static boolean referencesAlias(CharSequence sql, String alias) {
+    return Pattern.compile("(?<![\\w.])" + Pattern.quote(alias) + "\\.").matcher(sql).find();
+  }
+
   /**
    * Thêm các cột select mặc định nếu người dùng không chỉ định.
    *
@@ -173,12 +618,13 @@ public class SqlBuilder {
    * @param mainMetadata Metadata của thực thể chính.
    */
   private void addDefaultSelects(EntityMetadata mainMetadata) {
-    addColumnsForEntity(mainMetadata, fromAlias);
+    Set<String> selected = new HashSet<>(selectColumns);
+    addColumnsForEntity(mainMetadata, fromAlias, selected);
 
     for (JoinClause join : joinClauses) {
       if (join.getRelatedClass() != null) {
         EntityMetadata relatedMetadata = MetadataCache.getMetadata(join.getRelatedClass());
-        addColumnsForEntity(relatedMetadata, join.getAlias());
+        addColumnsForEntity(relatedMetadata, join.getAlias(), selected);
       }
     }
   }
@@ -191,8 +637,9 @@ public class SqlBuilder {
    *
    * @param metadata Metadata của thực thể cần thêm cột.
    * @param alias Bí danh của bảng tương ứng.
+   * @param selected Tập các cột đã có trong danh sách SELECT, dùng để bỏ qua cột trùng lặp.
    */
-  private void addColumnsForEntity(EntityMetadata metadata, String alias) {
+  private void addColumnsForEntity(EntityMetadata metadata, String alias, Set<String> selected) {
     metadata
         .getFieldToColumnMap()
         .values()
@@ -200,7 +647,7 @@ public class SqlBuilder {
             columnName -> {
               String aliasedColumn =
                   String.format("%s.%s as %s_%s", alias, columnName, alias, columnName);
-              if (!selectColumns.contains(aliasedColumn)) {
+              if (selected.add(aliasedColumn)) {
                 selectColumns.add(aliasedColumn);
               }
             });
@@ -214,7 +661,7 @@ public class SqlBuilder {
                 String fkColumn = relMeta.getJoinColumnName();
                 String aliasedFk =
                     String.format("%s.%s as %s_%s", alias, fkColumn, alias, fkColumn);
-                if (!selectColumns.contains(aliasedFk)) {
+                if (selected.add(aliasedFk)) {
                   selectColumns.add(aliasedFk);
                 }
               }
@@ -225,9 +672,10 @@ public class SqlBuilder {
    * Nối các mệnh đề JOIN vào câu lệnh SQL.
    *
    * @param sql StringBuilder chứa câu lệnh SQL đang được xây dựng.
+   * @param joins Các mệnh đề JOIN cần nối.
    */
-  private void appendJoins(StringBuilder sql) {
-    for (JoinClause join : this.joinClauses) {
+  private void appendJoins(StringBuilder sql, List<JoinClause> joins) {
+    for (JoinClause join : joins) {
       sql.append(" ")
           .append(join.getType().getSql())
           .append(" ")
@@ -252,8 +700,12 @@ public class SqlBuilder {
    */
   public Map<String, Object> buildWhereClause(StringBuilder sql, String alias) {
     Map<String, Object> params = new HashMap<>();
-    if (!whereClauses.isEmpty()) {
+    boolean hasExtra = !extraConditions.isEmpty();
+    if (!whereClauses.isEmpty() || hasExtra) {
       sql.append(" WHERE ");
+      if (hasExtra && !whereClauses.isEmpty()) {
+        sql.append("(");
+      }
       for (int i = 0; i < whereClauses.size(); i++) {
         WhereClause clause = whereClauses.get(i);
         if (i > 0) {
@@ -266,7 +718,7 @@ public class SqlBuilder {
                 : alias + "." + clause.getColumn();
 
         if (clause.getOperator() == VMCSqlOperator.IN && clause.getValue() instanceof Collection) {
-          Collection<?> values = (Collection<?>) clause.getValue();
+          Collection<?> values = inListValues(clause);
           if (values.isEmpty()) {
             sql.append("1 = 0"); // Điều kiện luôn sai nếu collection IN rỗng
           } else {
@@ -292,6 +744,13 @@ public class SqlBuilder {
                   "%s %s #{params.%s}", columnWithAlias, clause.getOperator().getSql(), pName));
         }
       }
+      if (hasExtra) {
+        if (!whereClauses.isEmpty()) {
+          sql.append(") AND ");
+        }
+        sql.append(String.join(" AND ", extraConditions));
+        params.putAll(extraParams);
+      }
     }
     return params;
   }
@@ -319,14 +778,7 @@ public class SqlBuilder {
   private void appendOrderBy(StringBuilder sql) {
     if (!orderByClauses.isEmpty()) {
       sql.append(" ORDER BY ");
-      Set<String> selectAliases = new HashSet<>();
-      for (String col : this.selectColumns) {
-        String lowerCol = col.toLowerCase();
-        int asIndex = lowerCol.lastIndexOf(" as ");
-        if (asIndex != -1) {
-          selectAliases.add(col.substring(asIndex + 4).trim());
-        }
-      }
+      Set<String> selectAliases = selectAliasExpressions().keySet();
 
       sql.append(
           orderByClauses.stream()
@@ -346,16 +798,49 @@ public class SqlBuilder {
   }
 
   /**
-   * Nối các mệnh đề LIMIT và OFFSET vào câu lệnh SQL.
+   * Lấy ánh xạ từ bí danh của các cột trong mệnh đề SELECT tới biểu thức tương ứng.
+   *
+   * @return Map từ bí danh (ví dụ {@code u_name}) tới biểu thức (ví dụ {@code u.name}).
+   */
+  private Map<String, String> selectAliasExpressions() {
+    Map<String, String> aliasExpressions = new HashMap<>();
+    for (String col : this.selectColumns) {
+      String lowerCol = col.toLowerCase();
+      int asIndex = lowerCol.lastIndexOf(" as ");
+      if (asIndex != -1) {
+        aliasExpressions.put(col.substring(asIndex + 4).trim(), col.substring(0, asIndex).trim());
+      }
+    }
+    return aliasExpressions;
+  }
+
+  /**
+   * Nối các mệnh đề LIMIT và OFFSET vào câu lệnh SQL dưới dạng tham số.
    *
    * @param sql StringBuilder chứa câu lệnh SQL đang được xây dựng.
+   * @param params Map tham số của câu lệnh, nhận thêm giá trị LIMIT/OFFSET.
+   */
+  private void appendLimitOffset(StringBuilder sql, Map<String, Object> params) {
+    if (this.limit != null) {
+      sql.append(" LIMIT #{params.limit}");
+    }
+    if (this.offset != null) {
+      sql.append(" OFFSET #{params.offset}");
+    }
+    bindLimitOffset(params);
+  }
+
+  /**
+   * Gán giá trị LIMIT/OFFSET vào map tham số.
+   *
+   * @param params Map tham số của câu lệnh.
    */
-  private void appendLimitOffset(StringBuilder sql) {
+  private void bindLimitOffset(Map<String, Object> params) {
     if (this.limit != null) {
-      sql.append(" LIMIT ").append(this.limit);
+      params.put("limit", this.limit);
     }
     if (this.offset != null) {
-      sql.append(" OFFSET ").append(this.offset);
+      params.put("offset", this.offset);
     }
   }
 }
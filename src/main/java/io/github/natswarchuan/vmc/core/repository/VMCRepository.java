@@ -62,6 +62,37 @@ public interface VMCRepository<T extends Model, ID> {
    */
   <S extends T> List<S> saveAll(Iterable<S> entities);
 
+  /**
+   * Chèn hoặc cập nhật một thực thể bằng một câu lệnh upsert duy nhất.
+   *
+   * <p>Phù hợp cho các thực thể có khóa tự nhiên hoặc khóa được gán trước: không cần gọi {@link
+   * #findById} trước để biết bản ghi đã tồn tại hay chưa. Các trường null không ghi đè giá trị hiện
+   * có của bản ghi. Thực thể chưa có khóa chính chỉ được hỗ trợ trên MySQL/MariaDB; trên
+   * PostgreSQL lời gọi bị từ chối vì {@code ON CONFLICT (pk)} không thể khớp với khóa sinh mới.
+   *
+   * @param entity Thực thể cần ghi.
+   * @param <S> Kiểu của thực thể, phải là một lớp con của T.
+   * @return Thực thể đã được ghi.
+   */
+  <S extends T> S upsert(S entity);
+
+  /**
+   * Chèn hoặc cập nhật một tập hợp các thực thể bằng các câu lệnh upsert, được gửi theo lô.
+   *
+   * @param entities Một {@link Iterable} chứa các thực thể cần ghi.
+   * @param <S> Kiểu của các thực thể.
+   * @return Một danh sách các thực thể đã được ghi.
+   */
+  <S extends T> List<S> upsertAll(Iterable<S> entities);
+
+  /**
+   * Gửi ngay các thao tác ghi đang chờ của giao dịch hiện tại xuống cơ sở dữ liệu.
+   *
+   * <p>Chỉ có tác dụng khi bật {@code vmc.write-behind}; dùng khi cần khóa chính tự tăng của các
+   * thực thể vừa được {@link #save} trong cùng giao dịch.
+   */
+  void flush();
+
   /**
    * Lưu một thực thể từ một đối tượng DTO (Data Transfer Object).
    *
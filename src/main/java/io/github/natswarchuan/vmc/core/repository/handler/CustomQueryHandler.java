@@ -4,7 +4,7 @@ import io.github.natswarchuan.vmc.core.annotation.VMCParam;
 import io.github.natswarchuan.vmc.core.annotation.VMCQuery;
 import io.github.natswarchuan.vmc.core.entity.Model;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
 import io.github.natswarchuan.vmc.core.query.builder.VMCQueryBuilder;
 import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import java.lang.reflect.Method;
@@ -22,28 +22,28 @@ import org.springframework.http.HttpStatus;
  * Xử lý các phương thức repository được chú thích bằng {@link VMCQuery}.
  *
  * <p>Lớp này chịu trách nhiệm phân tích câu lệnh SQL gốc và các tham số từ annotation, thực thi
- * truy vấn thông qua MyBatis, và sau đó ánh xạ kết quả trả về thành các đối tượng Entity hoặc DTO
- * theo đúng kiểu trả về của phương thức.
+ * truy vấn thông qua {@link VMCQueryExecutor}, và sau đó ánh xạ kết quả trả về thành các đối tượng
+ * Entity hoặc DTO theo đúng kiểu trả về của phương thức.
  *
  * @author NatswarChuan
  */
 public class CustomQueryHandler {
 
-  private GenericQueryExecutorMapper queryExecutor;
+  private VMCQueryExecutor queryExecutor;
 
   /** Khởi tạo một instance mới của CustomQueryHandler. */
   public CustomQueryHandler() {}
 
   /**
-   * Lấy instance của {@code GenericQueryExecutorMapper} một cách lười biếng (lazy).
+   * Lấy instance của {@code VMCQueryExecutor} một cách lười biếng (lazy).
    *
    * <p>Phương thức này đảm bảo rằng bean chỉ được lấy từ Spring context khi cần thiết lần đầu tiên.
    *
-   * @return instance của {@code GenericQueryExecutorMapper}.
+   * @return instance của {@code VMCQueryExecutor}.
    */
-  private GenericQueryExecutorMapper getQueryExecutor() {
+  private VMCQueryExecutor getQueryExecutor() {
     if (this.queryExecutor == null) {
-      this.queryExecutor = BeanUtil.getBean(GenericQueryExecutorMapper.class);
+      this.queryExecutor = BeanUtil.getBean(VMCQueryExecutor.class);
     }
     return this.queryExecutor;
   }
@@ -1,19 +1,25 @@
 package io.github.natswarchuan.vmc.core.repository.handler;
 
 import io.github.natswarchuan.vmc.core.entity.Model;
+import io.github.natswarchuan.vmc.core.exception.VMCException;
 import io.github.natswarchuan.vmc.core.mapping.EntityMetadata;
 import io.github.natswarchuan.vmc.core.mapping.MetadataCache;
+import io.github.natswarchuan.vmc.core.persistence.VMCPersistenceManager;
+import io.github.natswarchuan.vmc.core.persistence.service.RemoveOptions;
 import io.github.natswarchuan.vmc.core.query.builder.VMCQueryBuilder;
 import io.github.natswarchuan.vmc.core.query.enums.VMCLogicalOperator;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSortDirection;
 import io.github.natswarchuan.vmc.core.query.enums.VMCSqlOperator;
+import io.github.natswarchuan.vmc.core.util.BeanUtil;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.springframework.http.HttpStatus;
 
 /**
  * Xử lý các truy vấn dẫn xuất (derived queries) bằng cách phân tích tên phương thức repository.
@@ -22,6 +28,11 @@ import java.util.regex.Pattern;
  * dụ: {@code findByNameAndStatusOrderByCreatedAtDesc}), chuyển đổi nó thành một instance {@link
  * VMCQueryBuilder} tương ứng với các mệnh đề WHERE và ORDER BY, sau đó thực thi và ánh xạ kết quả.
  *
+ * <p>Các phương thức {@code deleteBy...}/{@code removeBy...} được thực thi bằng một câu lệnh {@code
+ * DELETE ... WHERE} duy nhất và trả về số bản ghi đã xóa. Nếu đối số cuối cùng là một {@link
+ * RemoveOptions} có chỉ định quan hệ xóa theo tầng (hoặc với {@code deleteFirstBy...}), các thực
+ * thể được tải và xóa từng cái một qua {@link VMCPersistenceManager} để áp dụng các cascade.
+ *
  * @author NatswarChuan
  */
 public class DerivedQueryHandler {
@@ -43,7 +54,7 @@ public class DerivedQueryHandler {
    *     (group) đã được phân tích (hành động, tiêu chí, sắp xếp).
    * @param entityClass Lớp entity được quản lý bởi repository.
    * @return Kết quả của truy vấn, có thể là một thực thể, DTO, {@code Optional}, hoặc {@code List}
-   *     của chúng.
+   *     của chúng; với các phương thức xóa là số bản ghi đã xóa.
    */
   public Object handle(
       Method method, Object[] args, Matcher methodMatcher, Class<? extends Model> entityClass) {
@@ -53,8 +64,14 @@ public class DerivedQueryHandler {
     String criteria = methodMatcher.group(4);
     String orderBy = methodMatcher.group(6);
 
+    boolean isCount = action.startsWith("count");
+    boolean isDelete = "delete".equals(action) || "remove".equals(action);
+
+    // Chỉ các phương thức đọc mới tải kèm quan hệ; count và delete không cần JOIN
     VMCQueryBuilder builder =
-        VMCQueryBuilder.from(entityClass).with(getAllRelationNames(entityClass));
+        isCount || isDelete
+            ? VMCQueryBuilder.from(entityClass)
+            : VMCQueryBuilder.from(entityClass).with(getAllRelationNames(entityClass));
 
     if (criteria != null && !criteria.isEmpty()) {
       applyCriteria(builder, criteria, args);
@@ -64,10 +81,14 @@ public class DerivedQueryHandler {
       applyOrderBy(builder, orderBy);
     }
 
-    if (action.startsWith("count")) {
+    if (isCount) {
       return builder.count();
     }
 
+    if (isDelete) {
+      return executeDelete(builder, method, args, quantifier);
+    }
+
     return executeAndMapResults(builder, method, isDtoByName, quantifier);
   }
 
@@ -126,6 +147,55 @@ public class DerivedQueryHandler {
     }
   }
 
+  /**
+   * Thực thi một phương thức xóa dẫn xuất.
+   *
+   * @param builder Instance của {@code VMCQueryBuilder} đã có các điều kiện WHERE.
+   * @param method Phương thức repository gốc.
+   * @param args Các đối số của phương thức; đối số cuối cùng có thể là một {@link RemoveOptions}.
+   * @param quantifier Từ khóa định lượng (ví dụ: "First", "All").
+   * @return Số bản ghi đã xóa, theo kiểu trả về của phương thức ({@code int}, {@code long} hoặc
+   *     {@code void}).
+   * @throws VMCException nếu kiểu trả về của phương thức không được hỗ trợ.
+   */
+  private Object executeDelete(
+      VMCQueryBuilder builder, Method method, Object[] args, String quantifier) {
+    Class<?> returnType = method.getReturnType();
+    boolean returnsLong = returnType == long.class || returnType == Long.class;
+    boolean returnsInt = returnType == int.class || returnType == Integer.class;
+    if (!returnsLong && !returnsInt && returnType != void.class) {
+      throw new VMCException(
+          HttpStatus.BAD_REQUEST,
+          "Derived delete method " + method.getName() + " must return void, int or long.");
+    }
+
+    RemoveOptions options =
+        args != null && args.length > 0 && args[args.length - 1] instanceof RemoveOptions
+            ? (RemoveOptions) args[args.length - 1]
+            : null;
+    boolean cascade = options != null && !options.getRelationsToCascade().isEmpty();
+
+    int affected;
+    if (cascade || "First".equals(quantifier)) {
+      List<Model> targets =
+          "First".equals(quantifier)
+              ? builder.<Model>findFirst().map(Collections::singletonList).orElse(List.of())
+              : builder.get();
+      VMCPersistenceManager persistenceManager = BeanUtil.getBean(VMCPersistenceManager.class);
+      for (Model target : targets) {
+        persistenceManager.remove(target, options != null ? options : RemoveOptions.defaults());
+      }
+      affected = targets.size();
+    } else {
+      affected = builder.delete();
+    }
+
+    if (returnsLong) {
+      return (long) affected;
+    }
+    return returnsInt ? affected : null;
+  }
+
   /**
    * Thực thi truy vấn đã được xây dựng và ánh xạ kết quả theo đúng kiểu trả về của phương thức.
    *
@@ -38,7 +38,7 @@ import org.springframework.http.HttpStatus;
  *
  * <ul>
  *   <li>Thực thi các câu lệnh SQL gốc được định nghĩa bằng {@link VMCQuery}.
- *   <li>Triển khai các phương thức CRUD tiêu chuẩn (như save, findById, findAll, delete).
+ *   <li>Triển khai các phương thức CRUD tiêu chuẩn (như save, upsert, findById, findAll, delete).
  *   <li>Phân tích và thực thi các truy vấn dẫn xuất từ tên phương thức (derived queries).
  * </ul>
  *
@@ -161,6 +161,9 @@ public class VMCRepositoryProxyHandler implements InvocationHandler {
         || methodName.equals("saveAll")
         || methodName.equals("saveDto")
         || methodName.equals("saveAllDtos")
+        || methodName.equals("upsert")
+        || methodName.equals("upsertAll")
+        || methodName.equals("flush")
         || methodName.equals("findById")
         || methodName.equals("findAll")
         || methodName.equals("delete")
@@ -194,6 +197,21 @@ public class VMCRepositoryProxyHandler implements InvocationHandler {
       argIterable.forEach(resultList::add);
       return resultList;
     }
+    if ("upsert".equals(methodName)) {
+      getPersistenceManager().upsert((Model) args[0], new SaveOptions());
+      return args[0];
+    }
+    if ("upsertAll".equals(methodName)) {
+      Iterable<Model> argIterable = (Iterable<Model>) args[0];
+      getPersistenceManager().upsertAll(argIterable, new SaveOptions());
+      List<Model> resultList = new ArrayList<>();
+      argIterable.forEach(resultList::add);
+      return resultList;
+    }
+    if ("flush".equals(methodName) && (args == null || args.length == 0)) {
+      getPersistenceManager().flush();
+      return null;
+    }
     if ("saveDto".equals(methodName)) {
       return getPersistenceManager()
           .saveDto((BaseDto) args[0], createSaveOptionsFromDto((BaseDto) args[0]));
@@ -156,6 +156,16 @@ public abstract class AbstractVMCService<T extends Model, ID, R extends VMCRepos
     return repository.saveAll(entities);
   }
 
+  @Override
+  public T upsert(T entity) {
+    return repository.upsert(entity);
+  }
+
+  @Override
+  public List<T> upsertAll(Iterable<T> entities) {
+    return repository.upsertAll(entities);
+  }
+
   @Override
   public <D extends BaseDto<T, D>> D saveFromDto(D dto) {
     return repository.saveDto(dto);
@@ -183,6 +183,22 @@ public interface VMCService<T extends Model, ID> {
    */
   List<T> saveAll(Iterable<T> entities);
 
+  /**
+   * Chèn hoặc cập nhật một thực thể bằng một câu lệnh upsert, không cần truy vấn trước.
+   *
+   * @param entity Thực thể cần ghi.
+   * @return Thực thể đã được ghi.
+   */
+  T upsert(T entity);
+
+  /**
+   * Chèn hoặc cập nhật một tập hợp các thực thể bằng các câu lệnh upsert theo lô.
+   *
+   * @param entities Một {@link Iterable} chứa các thực thể cần ghi.
+   * @return Một danh sách các thực thể đã được ghi.
+   */
+  List<T> upsertAll(Iterable<T> entities);
+
   /**
    * Lưu một thực thể từ một DTO.
    *
@@ -7,6 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Map;
+import java.util.function.Function;
 import org.springframework.http.HttpStatus;
 
 import io.github.natswarchuan.vmc.core.exception.VMCException;
@@ -62,6 +63,64 @@ public class DataConverter {
     return value;
   }
 
+  /**
+   * Chọn trước một bộ chuyển đổi cho một kiểu đích cụ thể.
+   *
+   * <p>Kết quả tương đương với {@link #convertValue(Object, Class)}, nhưng nhánh chuyển đổi được
+   * quyết định một lần theo kiểu đích thay vì kiểm tra lại cho mỗi giá trị. Dùng cho các bộ ánh xạ
+   * hàng đã được biên dịch sẵn.
+   *
+   * @param targetType Lớp của kiểu dữ liệu đích.
+   * @return Hàm chuyển đổi một giá trị sang kiểu đích (giữ nguyên {@code null}).
+   */
+  public static Function<Object, Object> converterFor(Class<?> targetType) {
+    if (targetType == Long.class || targetType == long.class) {
+      return numberConverter(Long.class, Number::longValue);
+    }
+    if (targetType == Integer.class || targetType == int.class) {
+      return numberConverter(Integer.class, Number::intValue);
+    }
+    if (targetType == Double.class || targetType == double.class) {
+      return numberConverter(Double.class, Number::doubleValue);
+    }
+    if (targetType == Float.class || targetType == float.class) {
+      return numberConverter(Float.class, Number::floatValue);
+    }
+    if (targetType == Short.class || targetType == short.class) {
+      return numberConverter(Short.class, Number::shortValue);
+    }
+    if (targetType == Byte.class || targetType == byte.class) {
+      return numberConverter(Byte.class, Number::byteValue);
+    }
+    if (targetType == LocalDateTime.class) {
+      return value ->
+          (value instanceof Timestamp) ? ((Timestamp) value).toLocalDateTime() : value;
+    }
+    if (targetType == LocalDate.class) {
+      return value ->
+          (value instanceof java.sql.Date) ? ((java.sql.Date) value).toLocalDate() : value;
+    }
+    if (targetType == LocalTime.class) {
+      return value -> (value instanceof Time) ? ((Time) value).toLocalTime() : value;
+    }
+    return Function.identity();
+  }
+
+  /**
+   * Tạo bộ chuyển đổi cho một kiểu số.
+   *
+   * @param boxedType Kiểu bao (wrapper) của kiểu số đích.
+   * @param conversion Phép chuyển đổi từ {@link Number} sang kiểu đích.
+   * @return Hàm chuyển đổi.
+   */
+  private static Function<Object, Object> numberConverter(
+      Class<?> boxedType, Function<Number, Object> conversion) {
+    return value ->
+        (value instanceof Number && !boxedType.isInstance(value))
+            ? conversion.apply((Number) value)
+            : value;
+  }
+
   /**
    * Ánh xạ một hàng dữ liệu từ một {@link Map} sang một đối tượng Java (POJO).
    *
@@ -2,7 +2,7 @@ package io.github.natswarchuan.vmc.core.validation;
 
 import io.github.natswarchuan.vmc.core.annotation.validation.VMCQueryValidation;
 import io.github.natswarchuan.vmc.core.exception.VMCException;
-import io.github.natswarchuan.vmc.core.persistence.mapper.GenericQueryExecutorMapper;
+import io.github.natswarchuan.vmc.core.persistence.executor.VMCQueryExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -26,7 +26,7 @@ import org.springframework.web.servlet.HandlerMapping;
  * Triển khai logic cho annotation {@link VMCQueryValidation}.
  *
  * <p>Class này là một Spring Component, cho phép inject các dependency như {@link
- * HttpServletRequest} và {@link GenericQueryExecutorMapper}. Nó có khả năng xử lý validation ở cả
+ * HttpServletRequest} và {@link VMCQueryExecutor}. Nó có khả năng xử lý validation ở cả
  * cấp độ trường và lớp, bằng cách phân tích câu lệnh SQL tùy chỉnh và thu thập các tham số từ nhiều
  * nguồn khác nhau của một HTTP request.
  *
@@ -39,7 +39,7 @@ public class VMCQueryValidator implements ConstraintValidator<VMCQueryValidation
 
   @Autowired private HttpServletRequest request;
 
-  @Autowired private GenericQueryExecutorMapper queryExecutor;
+  @Autowired private VMCQueryExecutor queryExecutor;
 
   /**
    * Biểu thức chính quy để phân tích các tham số đặt tên trong câu lệnh SQL.